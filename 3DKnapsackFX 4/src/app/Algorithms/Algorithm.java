@@ -1,154 +1,689 @@
 package app.Algorithms;
 
-import javafx.geometry.Point3D;
+import app.Algorithms.DynamicProgramming.KnapsackBound;
+import app.Algorithms.Greedy.GreedyFirstFit;
+import app.Entities.ContainerSpec;
+import app.Entities.OccupancyGrid;
+import app.Entities.Orientation;
+import app.Entities.ParcelType;
+import app.Entities.TypeLabelGrid;
+import app.Factories.OccupancyGridFactory;
+import app.Factories.OrientationCache;
 import app.Factories.ParcelFactory;
 import app.Utilities.Constants;
 import app.Entities.Parcel;
-import app.Entities.ParcelComponent;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public abstract class Algorithm<T> {
 
     /**
      * The abstract class Algorithm is used by all the algorithms. It is in other words the centralized class which
      * contains the tools for the different algorithm variations to work with.
+     * @param spec
+     * @param initialTypeCounts
      * @param globalTypeCounts
      * @param inputParcels
      * @param allParcels
-     * @param solutionParcels
-     * @param finalSolutionParcels
+     * @param variationsByType
+     * @param ownersByType
+     * @param placementIndex
      * @param container
-     * @param bestContainer
+     * @param blockedCells
+     * @param labels
+     * @param placements
+     * @param bestPlacements
      * @param typeCounts
+     * @param knapsackBound
+     * @param firstFit
+     * @param freeCells
+     * @param maxParcelValue
+     * @param firstFitScore
+     * @param searchedNodes
+     * @param prunedNodes
+     * @param zobristKey
+     * @param inventoryKey
+     * @param transpositionTable
+     * @param tableProbes
+     * @param tableHits
+     * @param searchDepth
+     * @param colouringBound
+     * @param emptyByColour
+     * @param stopRequested
+     * @param deadline
+     * @param hasDeadline
+     * @param deadlineChecks
+     * @param outOfTime
      * @param maxScore
      * @param solutionFound
      * @since 1.0
      */
+    protected ContainerSpec spec;
+    protected int[] initialTypeCounts;
     protected int[] globalTypeCounts;
     protected List<Parcel> inputParcels;
     protected List<Parcel> allParcels;
-    protected List<Parcel> solutionParcels;
-    protected List<Parcel> finalSolutionParcels;
-    protected char[][][] container;
-    protected char[][][] bestContainer;
-    protected Map<Character, Integer> typeCounts;
+    protected Map<ParcelType, List<Parcel>> variationsByType;
+    protected Map<ParcelType, Parcel> ownersByType;
+    protected PlacementIndex placementIndex;
+    protected OccupancyGrid container;
+    protected OccupancyGrid blockedCells;
+    protected TypeLabelGrid labels;
+    protected PlacementStack placements;
+    protected PlacementStack bestPlacements;
+    protected int[] typeCounts;
+    protected KnapsackBound knapsackBound;
+    private GreedyFirstFit firstFit;
+    protected int freeCells;
+    protected int maxParcelValue;
+    protected int firstFitScore;
+    protected long searchedNodes;
+    protected long prunedNodes;
+    protected long zobristKey;
+    protected long inventoryKey;
+    protected TranspositionTable transpositionTable;
+    protected long tableProbes;
+    protected long tableHits;
+    protected int searchDepth;
+    protected ColouringBound colouringBound;
+    protected int[] emptyByColour;
+
+    private AtomicBoolean stopRequested;
+    private long deadline;
+    private boolean hasDeadline;
+    private int deadlineChecks;
+    protected boolean outOfTime;
 
     protected int maxScore;
     protected boolean solutionFound;
 
     /**
-     * the constructor for the algorithm class.
+     * the constructor for the algorithm class, the algorithm solves the container of the GUI.
      * @since 1.0
      */
     protected Algorithm(List<Parcel> inputParcels, int[] typeCounts){
+        this(inputParcels, typeCounts, ContainerSpec.DEFAULT);
+    }
+
+    /**
+     * the constructor for the algorithm class. The grids, masks and stacks are created for the given container
+     * once, so algorithms for containers of different sizes can run side by side. The list of parcels and the
+     * counts are copied, so the caller may hand the same ones to several algorithms, also on other threads.
+     * @param spec                  the shape of the container
+     * @since 1.0
+     */
+    protected Algorithm(List<Parcel> inputParcels, int[] typeCounts, ContainerSpec spec){
+        this.spec = spec;
         this.maxScore = 0;
-        this.inputParcels = inputParcels;
+        this.inputParcels = new ArrayList<>(inputParcels);
+        this.initialTypeCounts = typeCounts.clone();
         this.globalTypeCounts = new int[Constants.SIZE_OF_PARCEL_TYPES];
 
-        this.typeCounts = new HashMap<>();
+        this.typeCounts = new int[Constants.SIZE_OF_PARCEL_TYPES];
+        this.variationsByType = new EnumMap<>(ParcelType.class);
+        this.ownersByType = new EnumMap<>(ParcelType.class);
         this.allParcels = new ArrayList<>();
         for(Parcel parcel : this.inputParcels){
-            this.allParcels.addAll(parcel.getAllVariations());
+            if(this.variationsByType.containsKey(parcel.getParcelType())) continue;
+
+            List<Parcel> variations = parcel.getAllVariations();
+            this.variationsByType.put(parcel.getParcelType(), variations);
+            this.ownersByType.put(parcel.getParcelType(), parcel);
+            this.allParcels.addAll(variations);
         }
 
+        this.placementIndex = PlacementIndex.getShared(this.spec);
         this.allParcels.sort(Comparator.comparingInt(Parcel::getValue));
 
         this.adjustTypeCounts(typeCounts);
         this.saveGlobalTypeCounts();
 
-        this.solutionParcels = new ArrayList<>();
-        this.finalSolutionParcels = new ArrayList<>();
+        this.container = OccupancyGridFactory.createGrid(this.spec);
+        this.blockedCells = OccupancyGridFactory.createGrid(this.spec);
+        this.labels = new TypeLabelGrid(this.spec);
+        this.placements = new PlacementStack(this.spec.getMaxNumberOfParcels());
+        this.bestPlacements = new PlacementStack(this.spec.getMaxNumberOfParcels());
+        this.freeCells = this.spec.getVolume();
+        this.colouringBound = ColouringBound.getShared(this.placementIndex);
+        this.emptyByColour = this.colouringBound.createEmptyCounts();
+        this.stopRequested = new AtomicBoolean(false);
+    }
 
-        this.container = new char[Constants.CONTAINER_WIDTH][Constants.CONTAINER_HEIGHT][Constants.CONTAINER_LENGTH];
-        this.bestContainer = new char[Constants.CONTAINER_WIDTH][Constants.CONTAINER_HEIGHT][Constants.CONTAINER_LENGTH];
-        this.makeContainerEmpty(this.container);
-        this.makeContainerEmpty(this.bestContainer);
+    /**
+     * the constructor for a copy of an algorithm which searches a part of the same problem, e.g. on another thread.
+     * The parcels, the variations and the PlacementIndex are shared because they are only read, the containers,
+     * the stacks and the counts are copied so that the copy changes them on its own.
+     * @param other                 the algorithm in the state the copy starts from
+     * @since 1.0
+     */
+    protected Algorithm(Algorithm<T> other){
+        this.spec = other.spec;
+        this.inputParcels = other.inputParcels;
+        this.allParcels = other.allParcels;
+        this.variationsByType = other.variationsByType;
+        this.ownersByType = other.ownersByType;
+        this.placementIndex = other.placementIndex;
+
+        this.initialTypeCounts = other.initialTypeCounts;
+        this.globalTypeCounts = other.globalTypeCounts.clone();
+        this.typeCounts = other.typeCounts.clone();
+
+        this.container = OccupancyGridFactory.createGrid(this.spec);
+        this.container.copyFrom(other.container);
+        this.blockedCells = OccupancyGridFactory.createGrid(this.spec);
+        this.blockedCells.copyFrom(other.blockedCells);
+        this.labels = new TypeLabelGrid(this.spec);
+        this.labels.copyFrom(other.labels);
+        this.placements = new PlacementStack(this.spec.getMaxNumberOfParcels());
+        this.placements.copyFrom(other.placements);
+        this.bestPlacements = new PlacementStack(this.spec.getMaxNumberOfParcels());
+        this.bestPlacements.copyFrom(other.bestPlacements);
+        this.freeCells = other.freeCells;
+        this.colouringBound = other.colouringBound;
+        this.emptyByColour = other.emptyByColour.clone();
+        this.zobristKey = other.zobristKey;
+        this.inventoryKey = other.inventoryKey;
+        this.transpositionTable = other.transpositionTable;
+
+        this.knapsackBound = other.knapsackBound;
+        this.maxParcelValue = other.maxParcelValue;
+        this.firstFitScore = other.firstFitScore;
+        this.searchDepth = other.searchDepth;
+        this.stopRequested = other.stopRequested;
+        this.deadline = other.deadline;
+        this.hasDeadline = other.hasDeadline;
+        this.deadlineChecks = other.deadlineChecks;
+        this.outOfTime = other.outOfTime;
+        this.maxScore = other.maxScore;
+        this.solutionFound = other.solutionFound;
     }
 
     /**
-     * Method used to track the amount of parcels of a certain type are inserted into the Cargo space.
+     * Brings the algorithm back to the state it had after it was created: an empty container and the counts it was
+     * given. Every solve() starts with it, so the same algorithm can be solved more than once.
      * @since 1.0
      */
-    protected void adjustTypeCounts(int[] typeCounts){
-        this.typeCounts.put('p', typeCounts[0]);
-        this.typeCounts.put('l', typeCounts[1]);
-        this.typeCounts.put('t', typeCounts[2]);
-        this.typeCounts.put('a', typeCounts[3]);
-        this.typeCounts.put('b', typeCounts[4]);
-        this.typeCounts.put('c', typeCounts[5]);
+    protected void resetSolveState(){
+        this.container.clear();
+        this.blockedCells.clear();
+        this.labels.clear();
+        this.placements.clear();
+        this.bestPlacements.clear();
+        this.freeCells = this.spec.getVolume();
+        this.colouringBound.resetEmptyCounts(this.emptyByColour);
+        this.zobristKey = 0;
+        this.inventoryKey = 0;
+
+        this.adjustTypeCounts(this.initialTypeCounts);
+        this.saveGlobalTypeCounts();
+        this.maxScore = 0;
+        this.solutionFound = false;
+
+        if(!this.hasDeadline) this.stopRequested.set(false);
+        this.outOfTime = this.stopRequested.get();
     }
 
     /**
-     * Method used to clear the container for reusing purposes.
+     * Solves the problem within the given time. When the time is up or cancel() is called the search stops and the
+     * best container found so far is returned, so there is always an answer. The clock is only read every
+     * DEADLINE_CHECK_INTERVAL nodes of the search.
+     * @param budget                the time the solve may take
+     * @return                      the best solution found within the budget
+     * @see #solveWithinDeadline()
      * @since 1.0
      */
-    private void makeContainerEmpty(char[][][] container){
-        for (int i = 0; i < Constants.CONTAINER_WIDTH; i++) {
-            for (int j = 0; j < Constants.CONTAINER_HEIGHT; j++) {
-                for (int k = 0; k < Constants.CONTAINER_LENGTH; k++) {
-                    container[i][j][k] = Constants.NOT_TRAVERSED_EMPTY_SYMBOL;
-                }
+    public T solve(Duration budget){
+        this.stopRequested.set(false);
+        this.deadline = System.nanoTime() + budget.toNanos();
+        this.hasDeadline = true;
+        this.deadlineChecks = 0;
+
+        try {
+            return this.solveWithinDeadline();
+        } finally {
+            this.hasDeadline = false;
+        }
+    }
+
+    /**
+     * Stops the solve that is running, also from another thread. The solve returns the best solution it has
+     * found so far. The copies of a parallel search share the request, so they all stop.
+     * @since 1.0
+     */
+    public void cancel(){
+        this.stopRequested.set(true);
+    }
+
+    /**
+     * Solves the problem while a deadline is set. The algorithms that always finish quickly simply solve, the
+     * backtracking algorithms override it with #solveByIterativeDeepening(int).
+     * @since 1.0
+     */
+    protected T solveWithinDeadline(){
+        return this.solve();
+    }
+
+    /**
+     * Solves the problem with a search depth of 1, 2, ... up to the given one, until the time is up. Every depth
+     * is a solve() of its own and the best of them is returned, a deeper one if they have the same score. When
+     * there is time for all depths the last one is the same search as solve(). The score, the placements and the
+     * counts of the best depth are kept together, so getMaxScore() and the best container belong to the solution
+     * that is returned.
+     * @param maxDepth              the search depth of solve()
+     * @return                      the best solution of the depths that were searched
+     * @since 1.0
+     */
+    protected T solveByIterativeDeepening(int maxDepth){
+        T best = null;
+        int bestScore = -1;
+        PlacementStack bestDepthPlacements = new PlacementStack(this.bestPlacements.size());
+        int[] bestDepthCounts = new int[Constants.SIZE_OF_PARCEL_TYPES];
+
+        for(int depth = 1; depth <= maxDepth; depth++){
+            this.searchDepth = depth;
+            T result = this.solve();
+
+            if(this.maxScore >= bestScore){
+                best = result;
+                bestScore = this.maxScore;
+                bestDepthPlacements.copyFrom(this.bestPlacements);
+                System.arraycopy(this.globalTypeCounts, 0, bestDepthCounts, 0, Constants.SIZE_OF_PARCEL_TYPES);
             }
+
+            if(this.isPastDeadline()) break;
+        }
+
+        this.searchDepth = maxDepth;
+        this.maxScore = bestScore;
+        this.bestPlacements.copyFrom(bestDepthPlacements);
+        System.arraycopy(bestDepthCounts, 0, this.globalTypeCounts, 0, Constants.SIZE_OF_PARCEL_TYPES);
+
+        return best;
+    }
+
+    /**
+     * Tells the search to stop when the time is up or the solve was cancelled. It is called on every node of the
+     * search, so it only reads the clock every DEADLINE_CHECK_INTERVAL calls, once it has stopped it stays so. The
+     * stop request is read on every call, so the copies of a parallel search stop as soon as one of them finds the
+     * time is up.
+     * @return                      true if the search has to stop
+     * @since 1.0
+     */
+    protected boolean isOutOfTime(){
+        if(this.outOfTime) return true;
+        if(this.stopRequested.get()) return this.outOfTime = true;
+        if(++this.deadlineChecks % Constants.DEADLINE_CHECK_INTERVAL != 0) return false;
+
+        return this.isPastDeadline();
+    }
+
+    /**
+     * Reads the clock and the cancel request, the search stops from now on if either says so. A deadline that has
+     * passed is also set as a stop request, so that the other copies of a parallel search stop as well.
+     * @since 1.0
+     */
+    protected boolean isPastDeadline(){
+        if(this.stopRequested.get()){
+            this.outOfTime = true;
+        } else if(this.hasDeadline && System.nanoTime() - this.deadline >= 0){
+            this.outOfTime = true;
+            this.stopRequested.set(true);
         }
+
+        return this.outOfTime;
+    }
+
+    /**
+     * Returns the given budget of a part of the solve, shortened to the time that is left before the deadline. It
+     * is zero once the deadline is reached or the solve was cancelled.
+     * @param budget                the time the part may take without a deadline
+     * @since 1.0
+     */
+    protected Duration limitToDeadline(Duration budget){
+        if(this.isPastDeadline()) return Duration.ZERO;
+        if(!this.hasDeadline) return budget;
+
+        Duration left = Duration.ofNanos(this.deadline - System.nanoTime());
+        return left.compareTo(budget) < 0 ? left : budget;
     }
 
     /**
-     * used to copy the current container and store it. This is done by storing the container in the variable
-     * bestContainer.
+     * Prepares the branch and bound of the algorithms, right after resetSolveState(). The KnapsackBound of the
+     * parcels is built and the parcels are packed by GreedyFirstFit. Both only depend on the parcels, so they are
+     * built by the first solve() and reused by the next ones. The container stays empty, the container of
+     * GreedyFirstFit is only taken as the best one by keepFirstFitIfBetter(), its score is the one canBePruned()
+     * needs a container to beat.
+     * @see #canBePruned(int, int, int, int)
+     * @since 1.0
+     */
+    protected void prepareBranchAndBound(){
+        if(this.firstFit == null) this.createBranchAndBound();
+
+        this.firstFitScore = this.firstFit.getMaxScore();
+        this.searchedNodes = 0;
+        this.prunedNodes = 0;
+    }
+
+    /**
+     * The container of GreedyFirstFit becomes the best container if it scores more than the best one so far. The
+     * dynamic programming algorithms call it right after prepareBranchAndBound(), so their search starts with the
+     * greedy score as the one to beat. The backtracking algorithms grow their best container step by step and call
+     * it once they are done, so they never return less than GreedyFirstFit, their search cuts off the branches
+     * that cannot get above the greedy score in canBePruned(int, int, int, int). Only the best container is
+     * replaced, the current one is left as it is.
+     * @see #layBestPlacements()
+     * @since 1.0
+     */
+    protected void keepFirstFitIfBetter(){
+        if(this.firstFit.getMaxScore() <= this.maxScore) return;
+
+        this.maxScore = this.firstFit.getMaxScore();
+        this.bestPlacements.copyFrom(this.firstFit.placements);
+        this.blockedCells.clear();
+
+        System.arraycopy(this.initialTypeCounts, 0, this.globalTypeCounts, 0, Constants.SIZE_OF_PARCEL_TYPES);
+        for(int n = 0; n < this.bestPlacements.size(); n++){
+            this.globalTypeCounts[this.placementIndex.getOrientation(this.bestPlacements.getOrientationId(n))
+                    .getParcelType().ordinal()]--;
+        }
+    }
+
+    /**
+     * Builds the KnapsackBound and the GreedyFirstFit container of prepareBranchAndBound().
+     * @since 1.0
+     */
+    private void createBranchAndBound(){
+        int[] values = new int[Constants.SIZE_OF_PARCEL_TYPES];
+        int[] volumes = new int[Constants.SIZE_OF_PARCEL_TYPES];
+        int[] counts = new int[Constants.SIZE_OF_PARCEL_TYPES];
+        List<Parcel> parcels = new ArrayList<>();
+
+        this.maxParcelValue = 0;
+        for(Parcel owner : this.ownersByType.values()){
+            int type = owner.getParcelType().ordinal();
+            values[type] = owner.getValue();
+            volumes[type] = owner.getParcelType().getVolume();
+            counts[type] = this.initialTypeCounts[type];
+            this.maxParcelValue = Math.max(this.maxParcelValue, owner.getValue());
+
+            for(int n = 0; n < counts[type]; n++) parcels.add(owner);
+        }
+
+        this.knapsackBound = new KnapsackBound(counts, values, volumes, this.spec.getVolume());
+        this.firstFit = new GreedyFirstFit(parcels, this.initialTypeCounts, this.spec);
+        this.firstFit.packContainer();
+    }
+
+    /**
+     * Counts a node of the search and tells if the branch below it can be cut off, for a search whose current
+     * score is the one of the whole container.
+     * @see #canBePruned(int, int, int, int)
+     * @since 1.0
+     */
+    protected boolean canBePruned(int currentScore, int incumbent, int levels){
+        return this.canBePruned(currentScore, incumbent, levels, currentScore);
+    }
+
+    /**
+     * Counts a node of the search and tells if the branch below it can be cut off. The most the branch can add is
+     * the KnapsackBound of the remaining parcels in the free cells, and never more than the most valuable parcel on
+     * every level that is left. The ColouringBound lowers the free cells when the empty cells lean to one colour. A
+     * branch that cannot beat the given score is cut off, the best container is only replaced by a higher score, so
+     * cutting it off never changes the result.
+     *
+     * The backtracking algorithms only ever add parcels to their best container, so a branch is also cut off when
+     * even the KnapsackBound of all free cells, without the levels, cannot get the container above the score of
+     * GreedyFirstFit. Its container is then never returned, keepFirstFitIfBetter() takes the greedy one instead.
+     * @param currentScore              the score of the current branch
+     * @param incumbent                 the score the branch has to beat
+     * @param levels                    number of parcels the branch can still place
+     * @param containerScore            the score of the whole container, the current score included
+     * @return                          true if the branch can be cut off
+     * @since 1.0
+     */
+    protected boolean canBePruned(int currentScore, int incumbent, int levels, int containerScore){
+        this.searchedNodes++;
+
+        long levelBound = (long) levels * this.maxParcelValue;
+        if(this.canBeat(currentScore, incumbent, levelBound, containerScore, this.freeCells)){
+            int usableCells = this.colouringBound.getFillableCells(this.emptyByColour, this.typeCounts,
+                    this.freeCells);
+            if(usableCells >= this.freeCells) return false;
+            if(this.canBeat(currentScore, incumbent, levelBound, containerScore, usableCells)) return false;
+        }
+
+        this.prunedNodes++;
+        return true;
+    }
+
+    /**
+     * Tells if a branch that can fill the given cells can beat both the incumbent and GreedyFirstFit.
+     * @since 1.0
+     */
+    private boolean canBeat(int currentScore, int incumbent, long levelBound, int containerScore, int cells){
+        long fill = this.knapsackBound.getBound(this.typeCounts, cells);
+
+        return currentScore + Math.min(fill, levelBound) > incumbent && containerScore + fill > this.firstFitScore;
+    }
+
+    /**
+     * Prepares the TranspositionTable for a new search, right after prepareBranchAndBound(). The table is created
+     * by the first solve() and shared with the copies of the algorithm.
+     * @see #isTransposition(int, int, int)
+     * @since 1.0
+     */
+    protected void prepareTranspositionTable(){
+        if(this.transpositionTable == null){
+            this.transpositionTable = new TranspositionTable(Constants.TRANSPOSITION_TABLE_SIZE);
+        }
+
+        this.transpositionTable.newSearch();
+        this.tableProbes = 0;
+        this.tableHits = 0;
+    }
+
+    /**
+     * Looks the current state up in the TranspositionTable: the occupied cells, the parcels that are left and the
+     * cell the search goes on from. If the state was already searched at least as deep and the search could not
+     * reach a score above the given one, the branch below it is cut off. Branches of less than
+     * TRANSPOSITION_MIN_LEVELS levels are searched faster than they are looked up, they are neither looked up nor
+     * stored.
+     * @param cell                      the cell the search goes on from
+     * @param levels                    number of parcels the branch can still place
+     * @param incumbent                 the score the branch has to beat, counted over the whole container
+     * @return                          true if the branch can be cut off
+     * @since 1.0
+     */
+    protected boolean isTransposition(int cell, int levels, int incumbent){
+        if(levels < Constants.TRANSPOSITION_MIN_LEVELS) return false;
+
+        this.tableProbes++;
+        if(!this.transpositionTable.isBounded(this.getStateKey(cell), levels, incumbent)) return false;
+
+        this.tableHits++;
+        return true;
+    }
+
+    /**
+     * Stores the state after the branch below it was searched completely. No score of the branch is above the
+     * incumbent at its end: a higher one would have become the incumbent, and the branches that were cut off could
+     * not beat the incumbent of their time.
+     * @param cell                      the cell the search went on from
+     * @param levels                    number of parcels the branch could place
+     * @param incumbent                 the score to beat at the end of the branch, counted over the whole container
+     * @since 1.0
+     */
+    protected void storeTransposition(int cell, int levels, int incumbent){
+        if(levels < Constants.TRANSPOSITION_MIN_LEVELS) return;
+
+        this.transpositionTable.store(this.getStateKey(cell), levels, incumbent);
+    }
+
+    /**
+     * Returns the hash of the current state together with the cell the search goes on from. The Zobrist hash of the
+     * taken cells is an XOR of cell keys, the parcels that are left are hashed as the sum of the type keys of the
+     * placed parcels, an XOR would lose two parcels of the same type.
+     * @since 1.0
+     */
+    private long getStateKey(int cell){
+        return this.zobristKey ^ this.inventoryKey ^ this.placementIndex.getPositionKey(cell);
+    }
+
+    /**
+     * Prints how many of the searched nodes were cut off by the branch and bound.
+     * @since 1.0
+     */
+    protected void printPrunedNodes(){
+        System.out.println(Constants.PRINT_PRUNED_NODES_STRING + this.prunedNodes + " of " + this.searchedNodes);
+    }
+
+    /**
+     * Prints how many lookups in the TranspositionTable found a state that did not have to be searched again.
+     * @since 1.0
+     */
+    protected void printTranspositionHits(){
+        System.out.println(Constants.PRINT_TRANSPOSITION_HITS_STRING + this.tableHits + " of " + this.tableProbes);
+    }
+
+    /**
+     * Returns the indexed variations of a parcel. All parcels of one type share the same variations, which are
+     * never moved by placeParcel(), the placed coordinates are kept in the PlacementStack instead.
+     * @see #getPlacedParcels(PlacementStack)
+     * @since 1.0
+     */
+    protected List<Parcel> getVariations(Parcel parcel){
+        return this.variationsByType.get(parcel.getParcelType());
+    }
+
+    /**
+     * Method used to track the amount of parcels of a certain type are inserted into the Cargo space. The counts
+     * are indexed by the ordinal of the ParcelType.
+     * @since 1.0
+     */
+    protected void adjustTypeCounts(int[] typeCounts){
+        System.arraycopy(typeCounts, 0, this.typeCounts, 0, Constants.SIZE_OF_PARCEL_TYPES);
+    }
+
+    /**
+     * used to store the current container as the best one. Only the placements are copied, the cells of the best
+     * container are rebuilt from them when they are needed.
+     * @see #restoreContainer()
+     * @see #getSolutionContainer()
      * @since 1.0
      */
     protected void saveContainer(){
-        for (int i = 0; i < Constants.CONTAINER_WIDTH; i++) {
-            for (int j = 0; j < Constants.CONTAINER_HEIGHT; j++) {
-                System.arraycopy(this.container[i][j], 0,
-                        this.bestContainer[i][j], 0, Constants.CONTAINER_LENGTH);
-            }
+        this.bestPlacements.copyFrom(this.placements);
+    }
+
+    /**
+     * the counterpart of saveContainer(), the stored best placements become the current container. The
+     * placements both stacks have in common stay where they are, only the rest is reverted and replayed.
+     * @since 1.0
+     */
+    protected void restoreContainer(){
+        int common = 0;
+        while(common < this.placements.size() && common < this.bestPlacements.size()
+                && this.placements.getOrientationId(common) == this.bestPlacements.getOrientationId(common)
+                && this.placements.getAnchor(common) == this.bestPlacements.getAnchor(common)) common++;
+
+        while(this.placements.size() > common) this.revertPlaceParcel();
+
+        for(int n = common; n < this.bestPlacements.size(); n++){
+            this.placeOrientation(this.bestPlacements.getOrientationId(n), this.bestPlacements.getAnchor(n));
         }
     }
 
     /**
-     * method to retrieve the location of the first empty spot inside the container -cargo space-
-     * @return         returns the 3D point of the first empty point in the container array.
-     * @return         return null if there is no empty spot found.
+     * Replaces the current container by the given placements, e.g. the packing of a decoded sequence, and counts the
+     * parcels that are left of every type again. The placements both have in common stay where they are. The given
+     * placements also become the best ones, the caller saves the container once it is final.
+     * @param placements                the placements of the new container
      * @since 1.0
      */
-    protected Point3D getFirstEmpty(char[][][] container){
-        for(int k = 0;k<Constants.CONTAINER_LENGTH;k++) {
-            for (int j = 0; j < Constants.CONTAINER_HEIGHT; j++) {
-                for (int i = 0; i < Constants.CONTAINER_WIDTH; i++) {
-                    if(container[i][j][k] == Constants.NOT_TRAVERSED_EMPTY_SYMBOL)
-                        return new Point3D(i, j, k);
-                }
-            }
+    protected void replacePlacements(PlacementStack placements){
+        this.bestPlacements.copyFrom(placements);
+        this.layBestPlacements();
+    }
+
+    /**
+     * Lays the best placements as the current container and counts the parcels that are left of every type again,
+     * e.g. to start a local search from the container of GreedyFirstFit.
+     * @see #keepFirstFitIfBetter()
+     * @since 1.0
+     */
+    protected void layBestPlacements(){
+        this.restoreContainer();
+
+        this.adjustTypeCounts(this.initialTypeCounts);
+        for(int n = 0; n < this.placements.size(); n++){
+            this.typeCounts[this.placementIndex.getOrientation(this.placements.getOrientationId(n)).getParcelType()
+                    .ordinal()]--;
         }
+    }
 
-        return null;
+    /**
+     * Marks a cell which the algorithm could not fill as taken, in the current container as well as in every
+     * container that is rebuilt from the best placements.
+     * @since 1.0
+     */
+    protected void blockCell(int i, int j, int k){
+        this.blockedCells.occupy(i, j, k);
+        if(!this.container.isEmpty(i, j, k)) return;
+
+        this.container.occupy(i, j, k);
+        this.freeCells--;
+        this.colouringBound.occupyCell(this.emptyByColour, this.placementIndex.getCell(i, j, k));
+        this.zobristKey ^= this.placementIndex.getCellKey(this.placementIndex.getCell(i, j, k));
     }
 
     /**
-     * Used to copy a container to another container, source -> destination.
+     * Builds the char[][][] representation of the best container, which is what the GUI draws. The cells are
+     * rebuilt from the best placements and the blocked cells only once, here.
+     * @return                  the best container indexed by [x][y][z]
      * @since 1.0
      */
-    protected void copyFromTo(char[][][] srcContainer, char[][][] destContainer){
-        for (int i = 0; i < Constants.CONTAINER_WIDTH; i++) {
-            for (int j = 0; j < Constants.CONTAINER_HEIGHT; j++) {
-                System.arraycopy(srcContainer[i][j], 0,
-                        destContainer[i][j], 0, Constants.CONTAINER_LENGTH);
-            }
+    protected char[][][] getSolutionContainer(){
+        OccupancyGrid bestContainer = OccupancyGridFactory.createGrid(this.spec);
+        TypeLabelGrid bestLabels = new TypeLabelGrid(this.spec);
+        bestContainer.copyFrom(this.blockedCells);
+
+        for(int n = 0; n < this.bestPlacements.size(); n++){
+            int orientationId = this.bestPlacements.getOrientationId(n);
+            int anchor = this.bestPlacements.getAnchor(n);
+            this.occupyPlacement(bestContainer, bestLabels, orientationId, anchor);
         }
+
+        return bestLabels.toCharContainer(bestContainer);
+    }
+
+    /**
+     * method to retrieve the location of the first empty spot inside the container -cargo space-. All cells before
+     * the given one have to be taken already, e.g. the cell a parcel was just placed on, so that the search goes
+     * on from there instead of starting at (0, 0, 0) again.
+     * @param container         the container that is searched
+     * @param from              the number of the cell where the search starts
+     * @return                  the number of the first empty cell, use the PlacementIndex for its coordinates.
+     * @return                  NO_EMPTY_CELL if there is no empty spot found.
+     * @since 1.0
+     */
+    protected int getFirstEmptyCell(OccupancyGrid container, int from){
+        return container.nextEmptyCell(from);
     }
 
     /**
      * Prints the container to the command prompt.
      * @since 1.0
      */
-    protected void printContainer(char[][][] container) {
+    protected void printContainer(OccupancyGrid container, TypeLabelGrid labels) {
+        char[][][] cells = labels.toCharContainer(container);
+
         System.out.println("----------------------------------------------------------------");
-        for(int i = 0; i < Constants.CONTAINER_WIDTH; i++) {
-            for (int j = 0; j < Constants.CONTAINER_HEIGHT; j++) {
-                for (int k = 0; k < Constants.CONTAINER_LENGTH; k++) {
-                    System.out.print(this.container[i][j][k] + " ");
+        for(int i = 0; i < this.spec.getWidth(); i++) {
+            for (int j = 0; j < this.spec.getHeight(); j++) {
+                for (int k = 0; k < this.spec.getLength(); k++) {
+                    System.out.print(cells[i][j][k] + " ");
                 }
                 System.out.println();
             }
@@ -165,16 +700,7 @@ public abstract class Algorithm<T> {
      * @since 1.0
      */
     private boolean checkIfFull(){
-        for(int k=0; k < Constants.CONTAINER_LENGTH; k++) {
-            for (int j = 0; j < Constants.CONTAINER_HEIGHT; j++) {
-                for (int i = 0; i < Constants.CONTAINER_WIDTH; i++) {
-                    if(this.container[i][j][k] == Constants.NOT_TRAVERSED_EMPTY_SYMBOL)
-                        return false;
-                }
-            }
-        }
-
-        return true;
+        return this.container.nextEmptyCell(0) == Constants.NO_EMPTY_CELL;
     }
 
     /**
@@ -182,12 +708,7 @@ public abstract class Algorithm<T> {
      * @since 1.0
      */
     protected void saveGlobalTypeCounts() {
-        this.globalTypeCounts[0] = this.typeCounts.get('p');
-        this.globalTypeCounts[1] = this.typeCounts.get('l');
-        this.globalTypeCounts[2] = this.typeCounts.get('t');
-        this.globalTypeCounts[3] = this.typeCounts.get('a');
-        this.globalTypeCounts[4] = this.typeCounts.get('b');
-        this.globalTypeCounts[5] = this.typeCounts.get('c');
+        System.arraycopy(this.typeCounts, 0, this.globalTypeCounts, 0, Constants.SIZE_OF_PARCEL_TYPES);
     }
 
     /**
@@ -203,96 +724,141 @@ public abstract class Algorithm<T> {
      * @since 1.0
      */
     protected boolean isValidForPosition(int i, int j, int k, Parcel variationParcel) {
-        for(ParcelComponent component : variationParcel.getComponents()){
-            int nX = component.getX() + i;
-            int nY = component.getY() + j;
-            int nZ = component.getZ() + k;
-
-            if(nX < 0 || nX >= Constants.CONTAINER_WIDTH) return false;
-            if(nY < 0 || nY >= Constants.CONTAINER_HEIGHT) return false;
-            if(nZ < 0 || nZ >= Constants.CONTAINER_LENGTH) return false;
-            if(this.container[nX][nY][nZ] != Constants.NOT_TRAVERSED_EMPTY_SYMBOL) return false;
-        }
+        Orientation orientation = variationParcel.getOrientation();
 
-        return true;
+        return this.placementIndex.fits(this.container, orientation.getId(),
+                i - orientation.getLeadX(), j - orientation.getLeadY(), k - orientation.getLeadZ());
     }
 
     /**
      * The method tryToPlaceParcel tries to fit the respective parcel into the container and if possible returns
-     * the coordinate that can accommodate the parcel given.
+     * the coordinate that can accommodate the parcel given. The PlacementIndex tests all anchors of a Z-slice at
+     * once, the anchors keep the order of the coordinates, so the first fit is the same as when every coordinate
+     * is tried on its own.
+     * @see PlacementIndex#findFirstFit(OccupancyGrid, int)
      */
     protected int[] tryToPlaceParcel(Parcel parcel) {
+        Orientation orientation = parcel.getOrientation();
 
-        for(int k=0;k<Constants.CONTAINER_LENGTH;k++){
-            for(int j=0;j<Constants.CONTAINER_HEIGHT;j++){
-                for(int i=0;i<Constants.CONTAINER_WIDTH;i++){
+        int anchor = this.placementIndex.findFirstFit(this.container, orientation.getId());
+        if(anchor == Constants.NO_FITTING_ANCHOR) return new int[]{0};
 
-                    List<ParcelComponent> components = parcel.getComponents();
+        return new int[]{1,
+                this.placementIndex.getCellX(anchor) + orientation.getLeadX(),
+                this.placementIndex.getCellY(anchor) + orientation.getLeadY(),
+                this.placementIndex.getCellZ(anchor) + orientation.getLeadZ()};
+    }
 
-                    boolean canBePlaced = true;
-                    for(ParcelComponent component : components){
-                        int newX = component.getX() + i;
-                        int newY = component.getY() + j;
-                        int newZ = component.getZ() + k;
+    /**
+     * Places the variation on the given coordinates, which are covered by the lead cell of its orientation.
+     * @see #placeOrientation(int, int)
+     * @since 1.0
+     */
+    protected void placeParcel(int i, int j, int k, Parcel parcel){
+        Orientation orientation = parcel.getOrientation();
 
-                        if(newX < 0 || newX >= Constants.CONTAINER_WIDTH) canBePlaced = false;
-                        if(newY < 0 || newY >= Constants.CONTAINER_HEIGHT) canBePlaced = false;
-                        if(newZ < 0 || newZ >= Constants.CONTAINER_LENGTH) canBePlaced = false;
-                        if(canBePlaced && this.container[newX][newY][newZ] != Constants.NOT_TRAVERSED_EMPTY_SYMBOL)
-                            canBePlaced = false;
-                    }
+        this.placeOrientation(orientation.getId(), this.placementIndex.getCell(
+                i - orientation.getLeadX(), j - orientation.getLeadY(), k - orientation.getLeadZ()));
+    }
 
-                    if(!canBePlaced) continue;
+    /**
+     * Places an orientation on the anchor cell and pushes the placement on the PlacementStack. The parcel
+     * itself is not touched, so placing allocates nothing.
+     * @param orientationId             the orientation of the PlacementIndex
+     * @param anchor                    the cell of the minimum corner of the orientation
+     * @since 1.0
+     */
+    protected void placeOrientation(int orientationId, int anchor){
+        this.occupyPlacement(this.container, this.labels, orientationId, anchor);
+        this.placements.push(orientationId, anchor);
+        this.freeCells -= this.placementIndex.getOrientation(orientationId).getVolume();
+        this.colouringBound.occupy(this.emptyByColour, orientationId, anchor);
+        this.zobristKey ^= this.placementIndex.getPlacementKey(orientationId, anchor);
+        this.inventoryKey += this.placementIndex.getTypeKey(
+                this.placementIndex.getOrientation(orientationId).getParcelType().ordinal());
+    }
 
-                    return new int[]{1, i, j, k};
-                }
-            }
-        }
+    /**
+     * the counterpart of placeParcel(), the last placement is taken from the PlacementStack and its cells become
+     * free again.
+     * @since 1.0
+     */
+    protected void revertPlaceParcel(){
+        int last = this.placements.size() - 1;
 
-        return new int[]{0};
+        this.releasePlacement(this.placements.getOrientationId(last), this.placements.getAnchor(last));
+        this.placements.pop();
     }
 
     /**
-     * Places the parcel on the given coordinates.
+     * Takes the placement on the given position out of the container, wherever it is on the PlacementStack, and
+     * counts its parcel as left again. The placements above it move down by one.
+     * @param position                  the position of the placement on the PlacementStack
      * @since 1.0
      */
-    protected void placeParcel(int i, int j, int k, Parcel parcel){
-        for(ParcelComponent component : parcel.getComponents()){
-            int newX = component.getX() + i;
-            int newY = component.getY() + j;
-            int newZ = component.getZ() + k;
-
-            this.container[newX][newY][newZ] = parcel.getType();
-            component.setX(newX);
-            component.setY(newY);
-            component.setZ(newZ);
-        }
+    protected void removePlacement(int position){
+        int orientationId = this.placements.getOrientationId(position);
+
+        this.releasePlacement(orientationId, this.placements.getAnchor(position));
+        this.placements.remove(position);
+        this.typeCounts[this.placementIndex.getOrientation(orientationId).getParcelType().ordinal()]++;
     }
 
     /**
-     * works the same as the placeParcel() method but the coordinates of the component dimensions are reverted.
+     * Marks the cells of a placement as taken in the given container and labels them with the type of the parcel.
      * @since 1.0
      */
-    protected void revertPlaceParcel(int i, int j, int k, Parcel parcel){
-        for(ParcelComponent component : parcel.getComponents()){
-            int newX = component.getX();
-            int newY = component.getY();
-            int newZ = component.getZ();
+    private void occupyPlacement(OccupancyGrid container, TypeLabelGrid labels, int orientationId, int anchor){
+        ParcelType type = this.placementIndex.getOrientation(orientationId).getParcelType();
+        int k = this.placementIndex.getCellZ(anchor);
+
+        for(int d = 0; d < this.placementIndex.getDepth(orientationId); d++){
+            long mask = this.placementIndex.getAnchorMask(orientationId, anchor, d);
+            container.occupy(k + d, mask);
+            labels.mark(type, k + d, mask);
+        }
+    }
 
-            this.container[newX][newY][newZ] = Constants.NOT_TRAVERSED_EMPTY_SYMBOL;
-            component.setX(newX - i);
-            component.setY(newY - j);
-            component.setZ(newZ - k);
+    /**
+     * the counterpart of occupyPlacement(), the cells of the placement become free and lose their label.
+     * @since 1.0
+     */
+    private void releasePlacement(int orientationId, int anchor){
+        ParcelType type = this.placementIndex.getOrientation(orientationId).getParcelType();
+        int k = this.placementIndex.getCellZ(anchor);
+
+        for(int d = 0; d < this.placementIndex.getDepth(orientationId); d++){
+            long mask = this.placementIndex.getAnchorMask(orientationId, anchor, d);
+            this.container.release(k + d, mask);
+            this.labels.unmark(type, k + d, mask);
         }
+
+        this.freeCells += this.placementIndex.getOrientation(orientationId).getVolume();
+        this.colouringBound.release(this.emptyByColour, orientationId, anchor);
+        this.zobristKey ^= this.placementIndex.getPlacementKey(orientationId, anchor);
+        this.inventoryKey -= this.placementIndex.getTypeKey(type.ordinal());
     }
 
     /**
-     * copies and therefore saves the solutions inside the array list solutionParcels.
+     * Builds the parcels of the given placements with their components on the placed coordinates, which is what
+     * the GUI draws. This is the only place where a placement is turned into objects.
+     * @param placements                the placements, e.g. bestPlacements
+     * @return                          the placed parcels in the order in which they were placed
      * @since 1.0
      */
-    protected void saveSolutions(List<Parcel> solution) {
-        this.solutionParcels = new ArrayList<>();
-        for(Parcel parcel : solution) this.solutionParcels.add(new Parcel(parcel));
+    protected List<Parcel> getPlacedParcels(PlacementStack placements){
+        List<Parcel> parcels = new ArrayList<>();
+        for(int n = 0; n < placements.size(); n++){
+            Orientation orientation = this.placementIndex.getOrientation(placements.getOrientationId(n));
+            int anchor = placements.getAnchor(n);
+
+            parcels.add(new Parcel(this.ownersByType.get(orientation.getParcelType()), orientation,
+                    this.placementIndex.getCellX(anchor),
+                    this.placementIndex.getCellY(anchor),
+                    this.placementIndex.getCellZ(anchor)));
+        }
+
+        return parcels;
     }
 
     /**
@@ -310,53 +876,81 @@ public abstract class Algorithm<T> {
     }
 
     /**
-     * A method that optimizes the cargo space arrangement - finds 2 B and replases them with 3 A => +1 point
-     * @param solutionParcels
-     * @return additional points
+     * Tells if the last solve was stopped by its deadline or by cancel() before it was done, its result is then
+     * the best one it found so far.
+     * @since 1.0
      */
-    protected int optimizeCargoSpace(List<Parcel> solutionParcels) {
-        int additionalScore = 0;
-        for(int i=0; i < solutionParcels.size(); i++){
-            Parcel parcel = solutionParcels.get(i);
-            if(parcel.getType() != 'b') continue;
+    public boolean wasStoppedEarly() {
+        return this.outOfTime;
+    }
+
+    /**
+     * getters for the counters of the branch and bound: the nodes that were searched and the nodes whose branch
+     * was cut off.
+     * @since 1.0
+     */
+    public long getSearchedNodes() {
+        return this.searchedNodes;
+    }
 
-            List<ParcelComponent> components = parcel.getComponents();
+    public long getPrunedNodes() {
+        return this.prunedNodes;
+    }
 
-            int x = components.get(0).getX();
-            int y = components.get(0).getY();
-            int z = components.get(0).getZ();
+    /**
+     * getters for the counters of the TranspositionTable: the lookups and the lookups that cut a branch off.
+     * @since 1.0
+     */
+    public long getTableProbes() {
+        return this.tableProbes;
+    }
 
-            for(int j=0; j < solutionParcels.size(); j++){
-                if(i == j) continue;
+    public long getTableHits() {
+        return this.tableHits;
+    }
 
-                Parcel other = solutionParcels.get(j);
-                List<ParcelComponent> comp = other.getComponents();
+    /**
+     * A method that optimizes the cargo space arrangement - finds 2 B stacked on top of each other along the Z-axis
+     * and replaces them with 3 A => +1 point. Works on the placements of the current container.
+     * @return additional points
+     */
+    protected int optimizeCargoSpace() {
+        int additionalScore = 0;
+        for(int n = 0; n < this.placements.size(); n++){
+            int orientationId = this.placements.getOrientationId(n);
+            Orientation lower = this.placementIndex.getOrientation(orientationId);
+            if(lower.getParcelType() != ParcelType.B) continue;
+
+            int anchor = this.placements.getAnchor(n);
+            int upperAnchor = anchor + lower.getSizeZ() * this.placementIndex.getCell(0, 0, 1);
+
+            int upper = -1;
+            for(int m = 0; m < this.placements.size(); m++){
+                if(m != n && this.placements.getOrientationId(m) == orientationId
+                        && this.placements.getAnchor(m) == upperAnchor) upper = m;
+            }
 
-                int ox = comp.get(0).getX();
-                int oy = comp.get(0).getY();
-                int oz = comp.get(0).getZ();
+            Orientation replacement = null;
+            for(Orientation orientation : OrientationCache.getOrientations(ParcelType.A)){
+                if(orientation.getSizeX() == lower.getSizeX() && orientation.getSizeY() == lower.getSizeY()
+                        && 3 * orientation.getSizeZ() == 2 * lower.getSizeZ()) replacement = orientation;
+            }
 
-                if(ox == x && oy == y && oz == z + 3){
-                    Parcel a1 = ParcelFactory.getParcelByIdAndValue(3, Constants.PARCEL_A_INITIAL_SCORE)
-                            .getAllVariations().get(0);
-                    Parcel a2 = ParcelFactory.getParcelByIdAndValue(3, Constants.PARCEL_A_INITIAL_SCORE)
-                            .getAllVariations().get(0);
-                    Parcel a3 = ParcelFactory.getParcelByIdAndValue(3, Constants.PARCEL_A_INITIAL_SCORE)
-                            .getAllVariations().get(0);
+            if(upper < 0 || replacement == null) continue;
 
-                    this.placeParcel(x, y, z, a1);
-                    this.placeParcel(x, y, z + 2, a2);
-                    this.placeParcel(x, y, z + 4, a3);
+            this.ownersByType.putIfAbsent(ParcelType.A,
+                    ParcelFactory.getParcel(ParcelType.A, ParcelType.A.getDefaultScore()));
 
-                    additionalScore++;
+            this.releasePlacement(orientationId, anchor);
+            this.releasePlacement(orientationId, upperAnchor);
+            this.placements.remove(Math.max(n, upper));
+            this.placements.remove(Math.min(n, upper));
 
-                    solutionParcels.add(a1);
-                    solutionParcels.add(a2);
-                    solutionParcels.add(a3);
+            int step = replacement.getSizeZ() * this.placementIndex.getCell(0, 0, 1);
+            for(int a = 0; a < 3; a++) this.placeOrientation(replacement.getId(), anchor + a * step);
 
-                    solutionParcels.removeIf(e -> e.getId() == other.getId() || e.getId() == parcel.getId());
-                }
-            }
+            additionalScore++;
+            n = -1;
         }
 
         return additionalScore;
@@ -1,8 +1,8 @@
 package app.Algorithms.Backtracking;
 
-import javafx.geometry.Point3D;
 import app.Algorithms.Algorithm;
 import app.Utilities.Constants;
+import app.Entities.ContainerSpec;
 import app.Entities.Parcel;
 
 import java.util.List;
@@ -22,6 +22,17 @@ public class DivideAndConquerBacktracking extends Algorithm<char[][][]> {
      */
     public DivideAndConquerBacktracking(List<Parcel> inputParcels, int[] typeCounts) {
         super(inputParcels, typeCounts);
+        this.searchDepth = Constants.DIVIDE_AND_CONQUER_BACKTRACKING_DEPTH;
+    }
+
+    /**
+     * Constructor for the DivideAndConquerBacktracking class for a container of the given shape.
+     * @param spec                  the shape of the container
+     * @since 1.0
+     */
+    public DivideAndConquerBacktracking(List<Parcel> inputParcels, int[] typeCounts, ContainerSpec spec) {
+        super(inputParcels, typeCounts, spec);
+        this.searchDepth = Constants.DIVIDE_AND_CONQUER_BACKTRACKING_DEPTH;
     }
 
     /**
@@ -30,27 +41,29 @@ public class DivideAndConquerBacktracking extends Algorithm<char[][][]> {
      */
     @Override
     public char[][][] solve() {
+        this.resetSolveState();
+        this.prepareBranchAndBound();
+        this.prepareTranspositionTable();
         int currentScore = 0;
+        int empty = 0;
 
-        while (true) {
-            Point3D empty = this.getFirstEmpty(this.container);
-            if (empty == null) break;
+        while (!this.outOfTime) {
+            empty = this.getFirstEmptyCell(this.container, empty);
+            if (empty == Constants.NO_EMPTY_CELL) break;
 
-            int x = (int) empty.getX();
-            int y = (int) empty.getY();
-            int z = (int) empty.getZ();
+            int x = this.placementIndex.getCellX(empty);
+            int y = this.placementIndex.getCellY(empty);
+            int z = this.placementIndex.getCellZ(empty);
 
-            leveledBacktrackingRecursion(currentScore, x, y, z,
-                    Constants.INITIAL_DEPTH, Constants.DIVIDE_AND_CONQUER_BACKTRACKING_DEPTH);
+            leveledBacktrackingRecursion(currentScore, x, y, z, empty,
+                    Constants.INITIAL_DEPTH, this.searchDepth);
 
             this.solutionFound = false;
 
-            if (this.bestContainer[x][y][z] == Constants.NOT_TRAVERSED_EMPTY_SYMBOL)
-                this.bestContainer[x][y][z] = Constants.ALREADY_TRAVERSED_SYMBOL;
+            this.restoreContainer();
+            this.blockCell(x, y, z);
 
             this.adjustTypeCounts(this.globalTypeCounts);
-
-            this.copyFromTo(this.bestContainer, this.container);
             currentScore = 0;
             this.maxScore += currentMaxScore;
             currentMaxScore = 0;
@@ -58,57 +71,74 @@ public class DivideAndConquerBacktracking extends Algorithm<char[][][]> {
             System.out.println(this.maxScore);
         }
 
+        this.keepFirstFitIfBetter();
         System.out.println(Constants.PRINT_MAX_SCORE_STRING + this.maxScore);
+        this.printPrunedNodes();
+        this.printTranspositionHits();
+
+        return this.getSolutionContainer();
+    }
 
-        return this.bestContainer;
+    /**
+     * Searches with iterative deepening up to DIVIDE_AND_CONQUER_BACKTRACKING_DEPTH until the deadline.
+     * @see #solveByIterativeDeepening(int)
+     * @since 1.0
+     */
+    @Override
+    protected char[][][] solveWithinDeadline() {
+        return this.solveByIterativeDeepening(Constants.DIVIDE_AND_CONQUER_BACKTRACKING_DEPTH);
     }
 
     /**
-     * The recursive method for Divide and Conquer Backtracking
+     * The recursive method for Divide and Conquer Backtracking. The score is the one of the current segment, a
+     * branch that cannot beat the best score of the segment is cut off by #canBePruned(int, int, int, int), which
+     * is given the score of the whole container to compare with GreedyFirstFit. The same state can be reached in
+     * another segment, so the TranspositionTable is given the scores of the whole container.
      * @param currentScore          the current score
      * @param x         X coordinate
      * @param y         Y coordinate
      * @param z         Z coordinate
+     * @param cell      the number of the cell (x, y, z), the first empty cell of the container
      * @param depth     current depth of the recursion
      * @param maxDepth  maximum depth of the recursion
      */
-    private void leveledBacktrackingRecursion(int currentScore, int x, int y, int z, int depth, int maxDepth){
-        if(depth == maxDepth) return;
+    private void leveledBacktrackingRecursion(int currentScore, int x, int y, int z, int cell, int depth, int maxDepth){
+        if(depth == maxDepth || this.isOutOfTime()) return;
+        if(this.canBePruned(currentScore, this.currentMaxScore, maxDepth - depth, this.maxScore + currentScore)){
+            return;
+        }
+        if(this.isTransposition(cell, maxDepth - depth, this.maxScore + this.currentMaxScore)) return;
 
         for (Parcel currentParcel : this.allParcels) {
-            Character type = currentParcel.getType();
+            int type = currentParcel.getParcelType().ordinal();
 
-            if(this.typeCounts.get(type) == 0) continue;
+            if(this.typeCounts[type] == 0) continue;
 
             if (isValidForPosition(x, y, z, currentParcel)) {
 
                 this.placeParcel(x, y, z, currentParcel);
-                this.typeCounts.put(type, this.typeCounts.get(type) - 1);
+                this.typeCounts[type]--;
                 currentScore+= currentParcel.getValue();
 
                 if(this.currentMaxScore < currentScore) {
-                    this.copyFromTo(this.container, this.bestContainer);
+                    this.saveContainer();
                     this.currentMaxScore = currentScore;
                     this.saveGlobalTypeCounts();
                 }
 
-                boolean found = false;
-                for (int k = 0; k < Constants.CONTAINER_LENGTH && !found; k++) {
-                    for (int i = 0; i < Constants.CONTAINER_WIDTH && !found; i++) {
-                        for (int j = 0; j < Constants.CONTAINER_HEIGHT && !found; j++) {
-                            if (container[i][j][k] == ' ') {
-                                found = true;
-
-                                leveledBacktrackingRecursion(currentScore, k, j, i, depth+1, maxDepth);
-                            }
-                        }
-                    }
+                int next = this.getFirstEmptyCell(this.container, cell);
+                if (next != Constants.NO_EMPTY_CELL) {
+                    leveledBacktrackingRecursion(currentScore, this.placementIndex.getCellX(next),
+                            this.placementIndex.getCellY(next), this.placementIndex.getCellZ(next), next,
+                            depth+1, maxDepth);
                 }
 
-                this.revertPlaceParcel(x, y, z, currentParcel);
-                this.typeCounts.put(type, this.typeCounts.get(type) + 1);
+                this.revertPlaceParcel();
+                this.typeCounts[type]++;
                 currentScore-= currentParcel.getValue();
             }
         }
+
+        if(!this.outOfTime) this.storeTransposition(cell, maxDepth - depth, this.maxScore + this.currentMaxScore);
     }
 }
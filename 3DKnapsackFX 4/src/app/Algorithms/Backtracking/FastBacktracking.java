@@ -2,16 +2,41 @@ package app.Algorithms.Backtracking;
 
 import app.Algorithms.Algorithm;
 import app.Utilities.Constants;
+import app.Entities.ContainerSpec;
 import app.Entities.Parcel;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Class which conducts the FastBackTracking algorithm.
+ *
+ * With a parallelism above 1 the first FAST_BACKTRACKING_SPLIT_DEPTH levels of every search are split into tasks of
+ * a ForkJoinPool, each with its own copy of the container and the counts. The workers publish their scores in one
+ * shared best score and cut off the branches whose bound cannot reach it. Only branches that cannot even tie are
+ * cut off and the results of the branches are combined in the order the single threaded search visits them, so
+ * the parallel search returns the same container. The workers share the stop request of the search, so a deadline
+ * or a cancel() one of them notices stops all of them.
+ *
+ * Unlike DancingLinks, the search does not skip the mirror images of its first placements. It always fills the first
+ * empty cell in Z/Y/X order and never leaves a cell empty, so the mirror image of a packing it reaches is mostly a
+ * packing it cannot reach, and skipping a placement because its mirror image was searched loses that packing.
+ * @see app.Algorithms.DancingLinks.DancingLinks
  * @since 1.0
  */
 public class FastBacktracking extends Algorithm<char[][][]> {
 
+    /**
+     * @param parallelism           number of threads the search uses, 1 searches on the calling thread only
+     * @param sharedBest            the best score any worker has found, null if the search runs on one thread
+     * @since 1.0
+     */
+    private final int parallelism;
+    private AtomicInteger sharedBest;
+
     /**
      * Constructor for the FastBacktracking class.
      * @param inputParcels          array list containing the input types of the parcels
@@ -20,6 +45,39 @@ public class FastBacktracking extends Algorithm<char[][][]> {
      */
     public FastBacktracking(List<Parcel> inputParcels, int[] typeCounts) {
         super(inputParcels, typeCounts);
+        this.parallelism = 1;
+        this.searchDepth = Constants.FAST_BACKTRACKING_DEPTH;
+    }
+
+    /**
+     * Constructor for the FastBacktracking class for a container of the given shape.
+     * @param spec                  the shape of the container
+     * @since 1.0
+     */
+    public FastBacktracking(List<Parcel> inputParcels, int[] typeCounts, ContainerSpec spec) {
+        this(inputParcels, typeCounts, spec, 1);
+    }
+
+    /**
+     * Constructor for the FastBacktracking class which searches on the given number of threads.
+     * @param spec                  the shape of the container
+     * @param parallelism           number of threads, 1 searches on the calling thread only
+     * @since 1.0
+     */
+    public FastBacktracking(List<Parcel> inputParcels, int[] typeCounts, ContainerSpec spec, int parallelism) {
+        super(inputParcels, typeCounts, spec);
+        this.parallelism = Math.max(1, parallelism);
+        this.searchDepth = Constants.FAST_BACKTRACKING_DEPTH;
+    }
+
+    /**
+     * Constructor for a worker of the parallel search, which goes on from the current state of the other one.
+     * @since 1.0
+     */
+    private FastBacktracking(FastBacktracking other) {
+        super(other);
+        this.parallelism = 1;
+        this.sharedBest = other.sharedBest;
     }
 
     /**
@@ -31,79 +89,240 @@ public class FastBacktracking extends Algorithm<char[][][]> {
      */
     @Override
     public char[][][] solve() {
-        int currentScore = 0;
+        this.resetSolveState();
+        this.prepareBranchAndBound();
+        this.prepareTranspositionTable();
+        int currentScore = this.maxScore;
         this.allParcels.sort((p, q) -> Integer.compare(q.getValue(), p.getValue()));
 
-        for (int k = 0; k < Constants.CONTAINER_LENGTH; k++) {
-            for (int j = 0; j < Constants.CONTAINER_HEIGHT; j++) {
-                for (int i = 0; i < Constants.CONTAINER_WIDTH; i++) {
-                    if (this.bestContainer[i][j][k] != ' ') continue;
+        ForkJoinPool pool = this.parallelism > 1 ? new ForkJoinPool(this.parallelism) : null;
+        this.sharedBest = pool != null ? new AtomicInteger(this.maxScore) : null;
 
-                    this.copyFromTo(this.bestContainer, this.container);
+        try {
+            for (int k = 0; k < this.spec.getLength(); k++) {
+                for (int j = 0; j < this.spec.getHeight(); j++) {
+                    for (int i = 0; i < this.spec.getWidth(); i++) {
+                        this.restoreContainer();
 
-                    backtrackingRecursionFast(0, Constants.FAST_BACKTRACKING_DEPTH, i, j, k, currentScore);
+                        if (this.isPastDeadline() || !this.container.isEmpty(i, j, k)) continue;
+
+                        int cursor = this.getFirstEmptyCell(this.container, 0);
+                        if (pool == null) {
+                            backtrackingRecursionFast(0, this.searchDepth, i, j, k, cursor,
+                                    currentScore);
+                        } else {
+                            FastBacktracking worker = pool.invoke(new SearchTask(this, 0, this.searchDepth,
+                                    i, j, k, cursor, currentScore));
+                            this.outOfTime |= worker.outOfTime;
+                            this.adoptBest(worker);
+                        }
 
-                    this.adjustTypeCounts(this.globalTypeCounts);
-                    currentScore = this.maxScore;
+                        this.adjustTypeCounts(this.globalTypeCounts);
+                        currentScore = this.maxScore;
+                    }
                 }
             }
+        } finally {
+            if (pool != null) pool.shutdown();
         }
 
+        this.keepFirstFitIfBetter();
         System.out.println(Constants.PRINT_MAX_SCORE_STRING + this.maxScore);
+        this.printPrunedNodes();
+        this.printTranspositionHits();
+
+        return this.getSolutionContainer();
+    }
 
-        return this.bestContainer;
+    /**
+     * Searches with iterative deepening up to FAST_BACKTRACKING_DEPTH until the deadline.
+     * @see #solveByIterativeDeepening(int)
+     * @since 1.0
+     */
+    @Override
+    protected char[][][] solveWithinDeadline() {
+        return this.solveByIterativeDeepening(Constants.FAST_BACKTRACKING_DEPTH);
     }
 
     /**
      * Recursive method which is used for the backtracking algorithm.
      * First the validity gets checked, where after the parcel gets placed and recorded that it has been used.
      *
-     * Simultaneously, the score gets updated if the current score is higher. The next empty space is found by the
-     * For()loops and the recursion of the method happens. When
-     * however the For()loops do not find an empty space the parcel gets deleted.
+     * Simultaneously, the score gets updated if the current score is higher, branches that cannot beat the best
+     * score are cut off by #canBePruned(int, int, int) beforehand, as are states that were already searched, see
+     * #isTransposition(int, int, int). The next empty space is found by #getFirstEmptyCell(OccupancyGrid, int),
+     * starting at the cursor, and the recursion of the method happens. When however no empty space is found the
+     * parcel gets deleted.
      * @param idx                                       counter for the number of iterations the method can make
      * @param end                                       the maximum iterations the method can make
      * @param ni                                        dimension of parcel
      * @param nj                                        dimension of parcel
      * @param nk                                        dimension of parcel
+     * @param cursor                                    the first empty cell of the container, all cells before
+     *                                                  it are taken
      * @param currentScore                              the current score of the algorithm
      * @since 1.0
      */
-    private void backtrackingRecursionFast(int idx, int end, int ni, int nj, int nk, int currentScore) {
-        if(idx > end) return;
+    private void backtrackingRecursionFast(int idx, int end, int ni, int nj, int nk, int cursor, int currentScore) {
+        if(idx > end || this.isOutOfTime()) return;
+        if(this.canBePruned(currentScore, this.getIncumbent(), end - idx + 1)) return;
+
+        int cell = this.placementIndex.getCell(ni, nj, nk);
+        if(this.isTransposition(cell, end - idx + 1, this.getIncumbent())) return;
 
         for(Parcel currentParcel : this.allParcels){
-            Character type = currentParcel.getType();
+            int type = currentParcel.getParcelType().ordinal();
 
-            if(this.typeCounts.get(type) == 0) continue;
+            if(this.typeCounts[type] == 0) continue;
 
             if(isValidForPosition(ni, nj, nk, currentParcel)){
                 currentScore += currentParcel.getValue();
-                this.typeCounts.put(type, this.typeCounts.get(type) - 1);
+                this.typeCounts[type]--;
                 this.placeParcel(ni, nj, nk, currentParcel);
 
-                if(currentScore > this.maxScore){
-                    this.maxScore = currentScore;
-                    this.saveContainer();
-                    this.saveGlobalTypeCounts();
-                }
+                this.saveIfBetter(currentScore);
 
-                boolean found = false;
-                for(int k = 0;k<Constants.CONTAINER_LENGTH && !found;k++) {
-                    for (int j = 0; j < Constants.CONTAINER_HEIGHT && !found; j++) {
-                        for (int i = 0; i < Constants.CONTAINER_WIDTH && !found; i++) {
-                            if(this.container[i][j][k] == Constants.NOT_TRAVERSED_EMPTY_SYMBOL){
-                                found = true;
-                                backtrackingRecursionFast(idx + 1, end, i, j, k, currentScore);
-                            }
-                        }
-                    }
+                int next = this.getFirstEmptyCell(this.container, cursor);
+                if(next != Constants.NO_EMPTY_CELL){
+                    backtrackingRecursionFast(idx + 1, end, this.placementIndex.getCellX(next),
+                            this.placementIndex.getCellY(next), this.placementIndex.getCellZ(next), next, currentScore);
                 }
 
                 currentScore -= currentParcel.getValue();
-                this.typeCounts.put(type, this.typeCounts.get(type) + 1);
-                this.revertPlaceParcel(ni, nj, nk, currentParcel);
+                this.typeCounts[type]++;
+                this.revertPlaceParcel();
+            }
+        }
+
+        if(!this.outOfTime) this.storeTransposition(cell, end - idx + 1, this.getIncumbent());
+    }
+
+    /**
+     * Returns the score a branch has to beat: the best score of this worker, or one less than the best score of
+     * all workers, since a branch that ties with another worker can still be the first one in the order.
+     * @since 1.0
+     */
+    private int getIncumbent() {
+        if(this.sharedBest == null) return this.maxScore;
+
+        return Math.max(this.maxScore, this.sharedBest.get() - 1);
+    }
+
+    /**
+     * Stores the current container as the best one if its score is higher, and publishes the score to the other
+     * workers of a parallel search.
+     * @since 1.0
+     */
+    private void saveIfBetter(int currentScore) {
+        if(currentScore <= this.maxScore) return;
+
+        this.maxScore = currentScore;
+        this.saveContainer();
+        this.saveGlobalTypeCounts();
+        if(this.sharedBest != null) this.sharedBest.accumulateAndGet(currentScore, Math::max);
+    }
+
+    /**
+     * One level of the parallel search, the counterpart of one call of backtrackingRecursionFast(). Every parcel
+     * that fits is placed on a copy of this worker and the level below is searched as a task of its own.
+     * @return                          the worker with the best container of this level and the levels below it,
+     *                                  the first one in the order of the parcels if several have the same score
+     * @since 1.0
+     */
+    private FastBacktracking searchLevelInParallel(int idx, int end, int ni, int nj, int nk, int cursor,
+                                                   int currentScore) {
+        if(idx > end || this.isOutOfTime()) return this;
+        if(this.canBePruned(currentScore, this.getIncumbent(), end - idx + 1)) return this;
+
+        List<SearchTask> tasks = new ArrayList<>();
+        for(Parcel currentParcel : this.allParcels){
+            int type = currentParcel.getParcelType().ordinal();
+
+            if(this.typeCounts[type] == 0) continue;
+
+            if(isValidForPosition(ni, nj, nk, currentParcel)){
+                FastBacktracking branch = new FastBacktracking(this);
+                int score = currentScore + currentParcel.getValue();
+                branch.typeCounts[type]--;
+                branch.placeParcel(ni, nj, nk, currentParcel);
+                branch.saveIfBetter(score);
+
+                int next = branch.getFirstEmptyCell(branch.container, cursor);
+                tasks.add(new SearchTask(branch, idx + 1, end, branch.placementIndex.getCellX(next),
+                        branch.placementIndex.getCellY(next), branch.placementIndex.getCellZ(next), next, score));
             }
         }
+
+        RecursiveTask.invokeAll(tasks);
+
+        FastBacktracking best = this;
+        for(SearchTask task : tasks){
+            FastBacktracking result = task.join();
+            this.searchedNodes += task.worker.searchedNodes;
+            this.prunedNodes += task.worker.prunedNodes;
+            this.tableProbes += task.worker.tableProbes;
+            this.tableHits += task.worker.tableHits;
+            this.outOfTime |= task.worker.outOfTime;
+            if(result.maxScore > best.maxScore) best = result;
+        }
+
+        return best;
+    }
+
+    /**
+     * Takes over the best container of a worker if it is better than the one of this algorithm.
+     * @since 1.0
+     */
+    private void adoptBest(FastBacktracking worker) {
+        if(worker == this || worker.maxScore <= this.maxScore) return;
+
+        this.maxScore = worker.maxScore;
+        this.bestPlacements.copyFrom(worker.bestPlacements);
+        System.arraycopy(worker.globalTypeCounts, 0, this.globalTypeCounts, 0, Constants.SIZE_OF_PARCEL_TYPES);
+    }
+
+    /**
+     * A task of the parallel search: the first levels are split further, the levels below them are searched by
+     * backtrackingRecursionFast() on the worker of the task.
+     * @since 1.0
+     */
+    private static final class SearchTask extends RecursiveTask<FastBacktracking> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final FastBacktracking worker;
+        private final int idx;
+        private final int end;
+        private final int ni;
+        private final int nj;
+        private final int nk;
+        private final int cursor;
+        private final int currentScore;
+
+        private SearchTask(FastBacktracking worker, int idx, int end, int ni, int nj, int nk, int cursor,
+                           int currentScore) {
+            this.worker = worker;
+            this.idx = idx;
+            this.end = end;
+            this.ni = ni;
+            this.nj = nj;
+            this.nk = nk;
+            this.cursor = cursor;
+            this.currentScore = currentScore;
+        }
+
+        @Override
+        protected FastBacktracking compute() {
+            if(this.cursor == Constants.NO_EMPTY_CELL) return this.worker;
+
+            if(this.idx < Constants.FAST_BACKTRACKING_SPLIT_DEPTH){
+                return this.worker.searchLevelInParallel(this.idx, this.end, this.ni, this.nj, this.nk, this.cursor,
+                        this.currentScore);
+            }
+
+            this.worker.backtrackingRecursionFast(this.idx, this.end, this.ni, this.nj, this.nk, this.cursor,
+                    this.currentScore);
+            return this.worker;
+        }
     }
 }
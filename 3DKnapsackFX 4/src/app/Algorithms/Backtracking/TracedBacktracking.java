@@ -1,16 +1,18 @@
 package app.Algorithms.Backtracking;
 
-import javafx.geometry.Point3D;
 import app.Algorithms.Algorithm;
 import app.Utilities.Constants;
+import app.Entities.ContainerSpec;
 import app.Entities.Parcel;
-import app.Entities.ParcelComponent;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Class which conducts the TraceBackTracking algorithm.
+ *
+ * The search fills the first empty cell in Z/Y/X order like FastBacktracking, so it does not skip mirror images of
+ * its placements either, see FastBacktracking.
+ * @see FastBacktracking
  * @since 1.0
  */
 public class TracedBacktracking extends Algorithm<List<Parcel>> {
@@ -23,6 +25,17 @@ public class TracedBacktracking extends Algorithm<List<Parcel>> {
      */
     public TracedBacktracking(List<Parcel> inputParcels, int[] typeCounts) {
         super(inputParcels, typeCounts);
+        this.searchDepth = Constants.TRACEABLE_BACKTRACKING_DEPTH;
+    }
+
+    /**
+     * Constructor for the TracedBacktracking class for a container of the given shape.
+     * @param spec                  the shape of the container
+     * @since 1.0
+     */
+    public TracedBacktracking(List<Parcel> inputParcels, int[] typeCounts, ContainerSpec spec) {
+        super(inputParcels, typeCounts, spec);
+        this.searchDepth = Constants.TRACEABLE_BACKTRACKING_DEPTH;
     }
 
     /**
@@ -34,92 +47,93 @@ public class TracedBacktracking extends Algorithm<List<Parcel>> {
      */
     @Override
     public List<Parcel> solve() {
-        List<Parcel> solutionParcels = new ArrayList<>();
-        int currentScore = 0;
+        this.resetSolveState();
+        this.prepareBranchAndBound();
+        int currentScore = this.maxScore;
 
-        for(int k = 0; k< Constants.CONTAINER_LENGTH; k++) {
-            for (int j = 0; j < Constants.CONTAINER_HEIGHT; j++) {
-                for (int i = 0; i < Constants.CONTAINER_WIDTH; i++) {
-                    if(this.bestContainer[i][j][k] != ' ') continue;
+        for(int k = 0; k< this.spec.getLength(); k++) {
+            for (int j = 0; j < this.spec.getHeight(); j++) {
+                for (int i = 0; i < this.spec.getWidth(); i++) {
+                    this.restoreContainer();
 
-                    this.copyFromTo(this.bestContainer, this.container);
+                    if(this.outOfTime || !this.container.isEmpty(i, j, k)) continue;
 
-                    for(Parcel parcel : this.solutionParcels){
-                        this.inputParcels.stream()
-                                .filter(p -> p.getId() == parcel.getId())
-                                .forEach(p -> p.setUsed(true));
-                    }
-
-                    backtrackingRecursion(solutionParcels, Constants.INITIAL_DEPTH,
-                            Constants.TRACEABLE_BACKTRACKING_DEPTH, i, j, k, currentScore);
-
-                    for(Parcel parcel : this.solutionParcels){
-                        if(this.finalSolutionParcels.stream()
-                                .noneMatch(p -> p.getId() == parcel.getId()))
-                            this.finalSolutionParcels.add(parcel);
-                    }
+                    backtrackingRecursion(Constants.INITIAL_DEPTH, this.searchDepth, i, j, k,
+                            this.getFirstEmptyCell(this.container, 0), currentScore);
 
+                    this.adjustTypeCounts(this.globalTypeCounts);
                     currentScore = this.maxScore;
                 }
             }
         }
 
+        this.keepFirstFitIfBetter();
         System.out.println(Constants.PRINT_MAX_SCORE_STRING + this.maxScore);
+        this.printPrunedNodes();
 
-        return this.finalSolutionParcels;
+        return this.getPlacedParcels(this.bestPlacements);
+    }
+
+    /**
+     * Searches with iterative deepening up to TRACEABLE_BACKTRACKING_DEPTH until the deadline.
+     * @see #solveByIterativeDeepening(int)
+     * @since 1.0
+     */
+    @Override
+    protected List<Parcel> solveWithinDeadline() {
+        return this.solveByIterativeDeepening(Constants.TRACEABLE_BACKTRACKING_DEPTH);
     }
 
     /**
      * Recursive method which is used for the backtracking algorithm.
      * First the validity gets checked, where after the parcel gets placed and recorded that it has been used.
      *
-     * Simultaneously, the score gets updated if the current score is higher. The next empty space is found by the
-     * #getFirstEmpty(container) method its coordinates are saved and the recursion of the method happens. When
-     * however the #getFirstEmpty(container) method does not find an empty space the parcel tries a variation of
-     * itself after which it gets deleted -when the variation also does not find itself to be placeable.
+     * Simultaneously, the score gets updated if the current score is higher, the placements of the best container
+     * are the traced solution. Branches that cannot beat the best score are cut off by #canBePruned(int, int, int).
+     * The next empty space is found by the #getFirstEmptyCell(OccupancyGrid, int) method, starting at the cursor,
+     * its coordinates are saved and the recursion of the method happens. When however no empty space is found the
+     * parcel tries a variation of itself after which it gets deleted -when the variation also does not find itself
+     * to be placeable.
      * @param idx                                       counter for the number of iterations the method can make
      * @param end                                       the maximum iterations the method can make
      * @param ni                                        dimension of parcel
      * @param nj                                        dimension of parcel
      * @param nk                                        dimension of parcel
+     * @param cursor                                    the first empty cell of the container, all cells before
+     *                                                  it are taken
      * @param currentScore                              the current score of the algorithm
      * @since 1.0
      */
-    private void backtrackingRecursion(List<Parcel> solution, int idx, int end, int ni, int nj, int nk, int currentScore) {
-        if(idx > end) return;
+    private void backtrackingRecursion(int idx, int end, int ni, int nj, int nk, int cursor, int currentScore) {
+        if(idx > end || this.isOutOfTime()) return;
+        if(this.canBePruned(currentScore, this.maxScore, end - idx + 1)) return;
 
-        for(Parcel currentParcel : this.inputParcels){
+        for(Parcel variationParcel : this.allParcels){
+            int type = variationParcel.getParcelType().ordinal();
 
-            if(currentParcel.isUsed()) continue;
+            if(this.typeCounts[type] == 0) continue;
 
-            for(Parcel variationParcel : currentParcel.getAllVariations()){
+            if(isValidForPosition(ni, nj, nk, variationParcel)){
+                currentScore += variationParcel.getValue();
+                this.typeCounts[type]--;
+                this.placeParcel(ni, nj, nk, variationParcel);
 
-                if(isValidForPosition(ni, nj, nk, variationParcel)){
-                    currentScore += variationParcel.getValue();
-                    currentParcel.setUsed(true);
-                    this.placeParcel(ni, nj, nk, variationParcel);
-                    solution.add(new Parcel(variationParcel));
-
-                    if(currentScore > this.maxScore){
-                        this.maxScore = currentScore;
-                        this.saveSolutions(solution);
-                        this.saveContainer();
-                    }
-
-                    Point3D found = this.getFirstEmpty(this.container);
-                    int x = (int) found.getX();
-                    int y = (int) found.getY();
-                    int z = (int) found.getZ();
+                if(currentScore > this.maxScore){
+                    this.maxScore = currentScore;
+                    this.saveContainer();
+                    this.saveGlobalTypeCounts();
+                }
 
-                    if(x >= 0){
-                        backtrackingRecursion(solution,idx + 1, end, x, y, z, currentScore);
-                    }
+                int next = this.getFirstEmptyCell(this.container, cursor);
 
-                    currentScore -= variationParcel.getValue();
-                    currentParcel.setUsed(false);
-                    this.revertPlaceParcel(ni, nj, nk, variationParcel);
-                    solution.removeIf(p -> p.getId() == variationParcel.getId());
+                if(next != Constants.NO_EMPTY_CELL){
+                    backtrackingRecursion(idx + 1, end, this.placementIndex.getCellX(next),
+                            this.placementIndex.getCellY(next), this.placementIndex.getCellZ(next), next, currentScore);
                 }
+
+                currentScore -= variationParcel.getValue();
+                this.typeCounts[type]++;
+                this.revertPlaceParcel();
             }
         }
     }
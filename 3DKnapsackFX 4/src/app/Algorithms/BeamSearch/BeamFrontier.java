@@ -0,0 +1,135 @@
+package app.Algorithms.BeamSearch;
+
+import app.Entities.ContainerSpec;
+
+/**
+ * The class BeamFrontier stores the states of one level of the BeamSearch. A state is its container as one long per
+ * Z-slice, the parcels that are left of every type packed into one long, its score, its first empty cell, the last
+ * entry of its placements in the history of the search and its hash. All states lie one after the other in
+ * primitive arrays, so a state of the default container takes about 300 bytes and a frontier of thousands of states
+ * a few hundred kilobytes.
+ * @see BeamSearch
+ * @since 1.0
+ */
+public class BeamFrontier {
+
+    /**
+     * @param stride                    the number of longs of the container of one state
+     * @param slices                    per state the occupied cells of every Z-slice
+     * @param inventories               per state the packed counts of the parcels that are left
+     * @param scores                    per state the score of its placements
+     * @param cursors                   per state its first empty cell
+     * @param histories                 per state the history entry of its last placement
+     * @param keys                      per state the hash of its container and its counts
+     * @param size                      the number of states
+     * @since 1.0
+     */
+    private final int stride;
+    private final long[] slices;
+    private final long[] inventories;
+    private final int[] scores;
+    private final int[] cursors;
+    private final int[] histories;
+    private final long[] keys;
+    private int size;
+
+    /**
+     * Constructor for the BeamFrontier class.
+     * @param spec                      the shape of the container
+     * @param capacity                  the most states the frontier holds, the width of the beam
+     * @since 1.0
+     */
+    public BeamFrontier(ContainerSpec spec, int capacity) {
+        this.stride = spec.getLength();
+        this.slices = new long[capacity * this.stride];
+        this.inventories = new long[capacity];
+        this.scores = new int[capacity];
+        this.cursors = new int[capacity];
+        this.histories = new int[capacity];
+        this.keys = new long[capacity];
+    }
+
+    /**
+     * Sets the state on the given position.
+     * @since 1.0
+     */
+    public void set(int state, long inventory, int score, int cursor, int history, long key) {
+        this.inventories[state] = inventory;
+        this.scores[state] = score;
+        this.cursors[state] = cursor;
+        this.histories[state] = history;
+        this.keys[state] = key;
+    }
+
+    /**
+     * Copies the container of a state of another frontier to the given position.
+     * @since 1.0
+     */
+    public void copySlices(BeamFrontier from, int fromState, int state) {
+        System.arraycopy(from.slices, fromState * this.stride, this.slices, state * this.stride, this.stride);
+    }
+
+    /**
+     * Empties the container of the state on the given position.
+     * @since 1.0
+     */
+    public void clearSlices(int state) {
+        for (int k = 0; k < this.stride; k++) this.slices[state * this.stride + k] = 0;
+    }
+
+    /**
+     * Marks the cells of the mask as taken in a Z-slice of the state.
+     * @since 1.0
+     */
+    public void occupy(int state, int k, long mask) {
+        this.slices[state * this.stride + k] |= mask;
+    }
+
+    /**
+     * Returns the occupied cells of a Z-slice of the state.
+     * @since 1.0
+     */
+    public long getSlice(int state, int k) {
+        return this.slices[state * this.stride + k];
+    }
+
+    /**
+     * Sets the number of states.
+     * @since 1.0
+     */
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    /**
+     * getters for the BeamFrontier class.
+     * @since 1.0
+     */
+    public int size() {
+        return this.size;
+    }
+
+    public int getCapacity() {
+        return this.scores.length;
+    }
+
+    public long getInventory(int state) {
+        return this.inventories[state];
+    }
+
+    public int getScore(int state) {
+        return this.scores[state];
+    }
+
+    public int getCursor(int state) {
+        return this.cursors[state];
+    }
+
+    public int getHistory(int state) {
+        return this.histories[state];
+    }
+
+    public long getKey(int state) {
+        return this.keys[state];
+    }
+}
@@ -0,0 +1,620 @@
+package app.Algorithms.BeamSearch;
+
+import app.Algorithms.Algorithm;
+import app.Algorithms.PlacementStack;
+import app.Entities.ContainerSpec;
+import app.Entities.Orientation;
+import app.Entities.Parcel;
+import app.Entities.ParcelType;
+import app.Factories.OrientationCache;
+import app.Utilities.Constants;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Class which conducts the Beam Search. Like the backtracking algorithms it fills the container from the first empty
+ * cell on, with the lead cell of a parcel on that cell, or leaves the cell empty. Instead of going down one branch
+ * at a time it advances all states of the frontier by one step and keeps the BEAM_WIDTH states with the highest
+ * score plus the KnapsackBound of the parcels that are left in the cells that are still free. A state whose bound
+ * cannot beat the best score is dropped, and of the states with the same container and the same parcels left only
+ * the first is kept.
+ *
+ * The states are stored in two BeamFrontier instances, one for the current level and one for the next, and the
+ * placements of a state are a chain of entries in the history of the search, so a state takes a few hundred bytes.
+ * The states of a level are expanded in chunks on a ForkJoinPool. The children are selected in the order of the
+ * states they come from, so the search returns the same container on any number of threads.
+ *
+ * The container of GreedyFirstFit is the first best container, so the result never scores below it, and the best
+ * container is optimized like the ones of the greedy algorithms, see Algorithm#optimizeCargoSpace(). Once the time
+ * of solve(Duration) is up the beam narrows to its best state, which is completed like a greedy search.
+ * @see BeamFrontier
+ * @since 1.0
+ */
+public class BeamSearch extends Algorithm<List<Parcel>> {
+
+    /**
+     * @param width                 the number of states that are kept per level
+     * @param parallelism           number of threads the expansion uses, 1 expands on the calling thread only
+     * @param values                per type the score of one parcel
+     * @param volumes               per type the volume of one parcel
+     * @param orientationsByType    per type the ids of its orientations
+     * @param inventoryBits         the number of bits of the count of one type in a packed inventory
+     * @param current               the states of the current level
+     * @param next                  the states of the next level
+     * @param chunks                per chunk of the current level the children of its states
+     * @param candidates            the children of all chunks, in the order of the states they come from
+     * @param historyParents        per history entry the entry of the placement before it
+     * @param historyPlacements     per history entry its placement, orientationId * cells + anchor
+     * @param historySize           the number of history entries
+     * @param seenKeys              the hashes of the states of the next level, an open addressing set
+     * @param seenStamps            per slot of seenKeys the level that filled it
+     * @param level                 the number of the current level
+     * @param bestScore             the best score of all states so far
+     * @param bestHistory           the history entry of the best state, NO_HISTORY if it is GreedyFirstFit
+     * @param expandedStates        the number of states that were expanded in the last solve
+     * @param duplicateStates       the number of children that were dropped as duplicates in the last solve
+     * @since 1.0
+     */
+    private final int width;
+    private final int parallelism;
+    private int[] values;
+    private int[] volumes;
+    private int[][] orientationsByType;
+    private int inventoryBits;
+    private BeamFrontier current;
+    private BeamFrontier next;
+    private Expansion[] chunks;
+    private Expansion candidates;
+    private int[] historyParents;
+    private int[] historyPlacements;
+    private int historySize;
+    private long[] seenKeys;
+    private int[] seenStamps;
+    private int level;
+    private int bestScore;
+    private int bestHistory;
+    private long expandedStates;
+    private long duplicateStates;
+
+    /**
+     * @param NO_HISTORY            the history of a state without placements
+     * @param BLOCKED               the placement of a child that leaves its cell empty
+     * @param INVENTORY_MIX         odd constant which spreads a packed inventory over the bits of the hash
+     * @since 1.0
+     */
+    private static final int NO_HISTORY = -1;
+    private static final int BLOCKED = -1;
+    private static final long INVENTORY_MIX = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Constructor for the BeamSearch class.
+     * @param inputParcels          array list containing the input types of the parcels
+     * @param typeCounts            integer which tracks how often parcel types are used.
+     * @since 1.0
+     */
+    public BeamSearch(List<Parcel> inputParcels, int[] typeCounts) {
+        this(inputParcels, typeCounts, ContainerSpec.DEFAULT);
+    }
+
+    /**
+     * Constructor for the BeamSearch class for a container of the given shape.
+     * @param spec                  the shape of the container
+     * @since 1.0
+     */
+    public BeamSearch(List<Parcel> inputParcels, int[] typeCounts, ContainerSpec spec) {
+        this(inputParcels, typeCounts, spec, Constants.BEAM_WIDTH, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor for the BeamSearch class with the given width on the given number of threads.
+     * @param spec                  the shape of the container
+     * @param width                 the number of states that are kept per level
+     * @param parallelism           number of threads, 1 expands on the calling thread only
+     * @since 1.0
+     */
+    public BeamSearch(List<Parcel> inputParcels, int[] typeCounts, ContainerSpec spec, int width, int parallelism) {
+        super(inputParcels, typeCounts, spec);
+        this.width = Math.max(1, width);
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Advances the beam from the empty container until no state is left, and lays the best state that was reached
+     * if it beats the container of GreedyFirstFit.
+     * @return                          returns the array list of the placed parcels of the best container.
+     * @since 1.0
+     */
+    @Override
+    public List<Parcel> solve() {
+        this.resetSolveState();
+        this.prepareBranchAndBound();
+        this.keepFirstFitIfBetter();
+        this.layBestPlacements();
+        this.prepareBeam();
+
+        ForkJoinPool pool = this.parallelism > 1 ? new ForkJoinPool(this.parallelism) : null;
+
+        try {
+            while (this.current.size() > 0) {
+                int levelWidth = this.isPastDeadline() ? 1 : this.width;
+
+                this.expandLevel(pool);
+                this.selectChildren(levelWidth);
+                this.buildChildren(pool);
+
+                BeamFrontier level = this.current;
+                this.current = this.next;
+                this.next = level;
+                this.level++;
+            }
+        } finally {
+            if (pool != null) pool.shutdown();
+        }
+
+        this.layBestState();
+
+        System.out.println(Constants.PRINT_MAX_SCORE_STRING + this.maxScore);
+        System.out.println(Constants.PRINT_BEAM_STATES_STRING + this.expandedStates);
+        System.out.println(Constants.PRINT_DUPLICATE_STATES_STRING + this.duplicateStates);
+
+        return this.getPlacedParcels(this.bestPlacements);
+    }
+
+    /**
+     * Creates the tables and the frontiers of the search, the first frontier holds the empty container.
+     * @since 1.0
+     */
+    private void prepareBeam() {
+        this.values = new int[Constants.SIZE_OF_PARCEL_TYPES];
+        this.volumes = new int[Constants.SIZE_OF_PARCEL_TYPES];
+        this.orientationsByType = new int[Constants.SIZE_OF_PARCEL_TYPES][0];
+
+        int maxCount = 0;
+        int[] counts = new int[Constants.SIZE_OF_PARCEL_TYPES];
+        for (ParcelType type : this.ownersByType.keySet()) {
+            int t = type.ordinal();
+            this.values[t] = this.ownersByType.get(type).getValue();
+            this.volumes[t] = type.getVolume();
+            this.orientationsByType[t] = OrientationCache.getOrientations(type).stream()
+                    .mapToInt(Orientation::getId).toArray();
+            counts[t] = Math.min(this.initialTypeCounts[t], this.spec.getVolume() / type.getVolume());
+            maxCount = Math.max(maxCount, counts[t]);
+        }
+
+        this.inventoryBits = Math.min(Long.SIZE / Constants.SIZE_OF_PARCEL_TYPES,
+                Integer.SIZE - Integer.numberOfLeadingZeros(maxCount));
+        long inventory = 0;
+        for (int t = 0; t < Constants.SIZE_OF_PARCEL_TYPES; t++) {
+            int count = Math.min(counts[t], (1 << this.inventoryBits) - 1);
+            inventory |= (long) count << t * this.inventoryBits;
+        }
+
+        if (this.current == null) {
+            this.current = new BeamFrontier(this.spec, this.width);
+            this.next = new BeamFrontier(this.spec, this.width);
+            this.candidates = new Expansion();
+            this.historyParents = new int[this.width];
+            this.historyPlacements = new int[this.width];
+
+            int slots = Integer.highestOneBit(Math.max(1, 2 * this.width - 1)) * 2;
+            this.seenKeys = new long[slots];
+            this.seenStamps = new int[slots];
+        }
+        Arrays.fill(this.seenStamps, -1);
+
+        this.current.clearSlices(0);
+        this.current.set(0, inventory, 0, 0, NO_HISTORY, inventory * INVENTORY_MIX);
+        this.current.setSize(1);
+        this.historySize = 0;
+        this.level = 0;
+        this.bestScore = this.maxScore;
+        this.bestHistory = NO_HISTORY;
+        this.expandedStates = 0;
+        this.duplicateStates = 0;
+    }
+
+    /**
+     * Lists the children of all states of the current level, in chunks of BEAM_CHUNK_STATES states which are
+     * expanded in parallel, and puts them together in the order of the states.
+     * @since 1.0
+     */
+    private void expandLevel(ForkJoinPool pool) {
+        int size = this.current.size();
+        int chunkCount = (size + Constants.BEAM_CHUNK_STATES - 1) / Constants.BEAM_CHUNK_STATES;
+        if (this.chunks == null || this.chunks.length < chunkCount) {
+            Expansion[] grown = new Expansion[chunkCount];
+            for (int c = 0; c < chunkCount; c++) {
+                grown[c] = this.chunks != null && c < this.chunks.length ? this.chunks[c] : new Expansion();
+            }
+            this.chunks = grown;
+        }
+
+        int incumbent = this.bestScore;
+        if (pool == null || chunkCount == 1) {
+            for (int c = 0; c < chunkCount; c++) this.expandChunk(c, incumbent);
+        } else {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (int c = 0; c < chunkCount; c++) {
+                int chunk = c;
+                tasks.add(ForkJoinTask.adapt(() -> this.expandChunk(chunk, incumbent)));
+            }
+            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        }
+
+        this.candidates.clear();
+        for (int c = 0; c < chunkCount; c++) this.candidates.addAll(this.chunks[c]);
+        this.expandedStates += size;
+    }
+
+    /**
+     * Lists the children of the states of one chunk: every orientation of a type that is left whose lead cell fits
+     * on the first empty cell, and the state with that cell left empty. A child whose bound cannot beat the
+     * incumbent is not listed.
+     * @since 1.0
+     */
+    private void expandChunk(int chunk, int incumbent) {
+        Expansion expansion = this.chunks[chunk];
+        expansion.clear();
+
+        int[] counts = new int[Constants.SIZE_OF_PARCEL_TYPES];
+        int first = chunk * Constants.BEAM_CHUNK_STATES;
+        int last = Math.min(this.current.size(), first + Constants.BEAM_CHUNK_STATES);
+        long countMask = (1L << this.inventoryBits) - 1;
+
+        for (int state = first; state < last; state++) {
+            int cursor = this.current.getCursor(state);
+            if (cursor == Constants.NO_EMPTY_CELL) continue;
+
+            long inventory = this.current.getInventory(state);
+            int score = this.current.getScore(state);
+            int freeCells = this.countFreeCells(state);
+            boolean left = false;
+            for (int t = 0; t < Constants.SIZE_OF_PARCEL_TYPES; t++) {
+                counts[t] = (int) (inventory >>> t * this.inventoryBits & countMask);
+                left |= counts[t] > 0 && this.values[t] > 0;
+            }
+            if (!left) continue;
+
+            int i = this.placementIndex.getCellX(cursor);
+            int j = this.placementIndex.getCellY(cursor);
+            int k = this.placementIndex.getCellZ(cursor);
+
+            for (int t = 0; t < Constants.SIZE_OF_PARCEL_TYPES; t++) {
+                if (counts[t] == 0 || this.values[t] == 0) continue;
+
+                counts[t]--;
+                int priority = score + this.values[t]
+                        + this.knapsackBound.getBound(counts, freeCells - this.volumes[t]);
+                counts[t]++;
+                if (priority <= incumbent) continue;
+
+                for (int orientationId : this.orientationsByType[t]) {
+                    int anchor = this.getAnchor(orientationId, i, j, k);
+                    if (anchor < 0 || !this.fits(state, orientationId, anchor)) continue;
+
+                    int placement = orientationId * this.spec.getVolume() + anchor;
+                    long key = this.current.getKey(state) ^ this.placementIndex.getPlacementKey(orientationId, anchor)
+                            ^ inventory * INVENTORY_MIX ^ (inventory - (1L << t * this.inventoryBits)) * INVENTORY_MIX;
+                    expansion.add(state, placement, priority, key);
+                }
+            }
+
+            int priority = score + this.knapsackBound.getBound(counts, freeCells - 1);
+            if (priority > incumbent) {
+                expansion.add(state, BLOCKED, priority,
+                        this.current.getKey(state) ^ this.placementIndex.getCellKey(cursor));
+            }
+        }
+    }
+
+    /**
+     * Selects the children with the highest priority, at most the given number, the first one of equal children.
+     * The children are sorted by counting their priorities, which keeps children of equal priority in the order
+     * of the states they come from. The selected children are moved to the front of the candidates.
+     * @since 1.0
+     */
+    private void selectChildren(int levelWidth) {
+        int count = this.candidates.size;
+        int maxPriority = 0;
+        for (int n = 0; n < count; n++) maxPriority = Math.max(maxPriority, this.candidates.priorities[n]);
+
+        int[] starts = new int[maxPriority + 2];
+        for (int n = 0; n < count; n++) starts[maxPriority - this.candidates.priorities[n] + 1]++;
+        for (int p = 1; p < starts.length; p++) starts[p] += starts[p - 1];
+
+        int[] sorted = new int[count];
+        for (int n = 0; n < count; n++) sorted[starts[maxPriority - this.candidates.priorities[n]]++] = n;
+
+        int selected = 0;
+        for (int n = 0; n < count && selected < levelWidth; n++) {
+            int candidate = sorted[n];
+            if (!this.markSeen(this.candidates.keys[candidate])) {
+                this.duplicateStates++;
+                continue;
+            }
+
+            sorted[selected++] = candidate;
+        }
+
+        this.candidates.select(sorted, selected);
+    }
+
+    /**
+     * Builds the selected children in the next frontier, in chunks in parallel. The history entries of their
+     * placements are added first, in the order of the children.
+     * @since 1.0
+     */
+    private void buildChildren(ForkJoinPool pool) {
+        int size = this.candidates.size;
+        int[] histories = new int[size];
+        for (int n = 0; n < size; n++) {
+            int parentHistory = this.current.getHistory(this.candidates.parents[n]);
+            histories[n] = this.candidates.placements[n] == BLOCKED ? parentHistory
+                    : this.addHistory(parentHistory, this.candidates.placements[n]);
+        }
+
+        int chunkCount = (size + Constants.BEAM_CHUNK_STATES - 1) / Constants.BEAM_CHUNK_STATES;
+        if (pool == null || chunkCount <= 1) {
+            this.buildChunk(0, size, histories);
+        } else {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (int c = 0; c < chunkCount; c++) {
+                int from = c * Constants.BEAM_CHUNK_STATES;
+                int to = Math.min(size, from + Constants.BEAM_CHUNK_STATES);
+                tasks.add(ForkJoinTask.adapt(() -> this.buildChunk(from, to, histories)));
+            }
+            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        }
+        this.next.setSize(size);
+
+        for (int n = 0; n < size; n++) {
+            if (this.next.getScore(n) > this.bestScore) {
+                this.bestScore = this.next.getScore(n);
+                this.bestHistory = this.next.getHistory(n);
+            }
+        }
+    }
+
+    /**
+     * Builds the children on the given positions: the container of the parent with the placement or the empty
+     * cell taken, the counts, the score and the next empty cell.
+     * @since 1.0
+     */
+    private void buildChunk(int from, int to, int[] histories) {
+        for (int n = from; n < to; n++) {
+            int parent = this.candidates.parents[n];
+            int placement = this.candidates.placements[n];
+            int cursor = this.current.getCursor(parent);
+            long inventory = this.current.getInventory(parent);
+            int score = this.current.getScore(parent);
+
+            this.next.copySlices(this.current, parent, n);
+            if (placement == BLOCKED) {
+                this.next.occupy(n, cursor / this.spec.getSliceCells(), 1L << cursor % this.spec.getSliceCells());
+            } else {
+                int orientationId = placement / this.spec.getVolume();
+                int anchor = placement % this.spec.getVolume();
+                int type = this.placementIndex.getOrientation(orientationId).getParcelType().ordinal();
+
+                int k = this.placementIndex.getCellZ(anchor);
+                for (int d = 0; d < this.placementIndex.getDepth(orientationId); d++) {
+                    this.next.occupy(n, k + d, this.placementIndex.getAnchorMask(orientationId, anchor, d));
+                }
+                inventory -= 1L << type * this.inventoryBits;
+                score += this.values[type];
+            }
+
+            this.next.set(n, inventory, score, this.getFirstEmptyCell(n, cursor), histories[n],
+                    this.candidates.keys[n]);
+        }
+    }
+
+    /**
+     * Lays the placements of the best state as the best container, if it beats the container of GreedyFirstFit.
+     * Both are optimized like the containers of the greedy algorithms first.
+     * @since 1.0
+     */
+    private void layBestState() {
+        this.maxScore += this.optimizeCargoSpace();
+        this.saveContainer();
+        if (this.bestHistory == NO_HISTORY || this.bestScore <= this.maxScore) return;
+
+        int count = 0;
+        for (int entry = this.bestHistory; entry != NO_HISTORY; entry = this.historyParents[entry]) count++;
+
+        int[] chain = new int[count];
+        for (int entry = this.bestHistory; entry != NO_HISTORY; entry = this.historyParents[entry]) {
+            chain[--count] = this.historyPlacements[entry];
+        }
+
+        PlacementStack placements = new PlacementStack(chain.length);
+        for (int placement : chain) {
+            placements.push(placement / this.spec.getVolume(), placement % this.spec.getVolume());
+        }
+
+        this.replacePlacements(placements);
+        this.maxScore = this.bestScore + this.optimizeCargoSpace();
+        this.saveContainer();
+        this.saveGlobalTypeCounts();
+    }
+
+    /**
+     * Returns the anchor of the orientation with its lead cell on the given cell, -1 if it sticks out of the
+     * container.
+     * @since 1.0
+     */
+    private int getAnchor(int orientationId, int i, int j, int k) {
+        Orientation orientation = this.placementIndex.getOrientation(orientationId);
+        int ai = i - orientation.getLeadX();
+        int aj = j - orientation.getLeadY();
+        int ak = k - orientation.getLeadZ();
+        if (ai < 0 || aj < 0 || ak < 0) return -1;
+
+        int anchor = this.placementIndex.getCell(ai, aj, ak);
+        return this.placementIndex.isInBounds(orientationId, anchor) ? anchor : -1;
+    }
+
+    /**
+     * checks if the placement only covers empty cells of the state.
+     * @since 1.0
+     */
+    private boolean fits(int state, int orientationId, int anchor) {
+        int k = this.placementIndex.getCellZ(anchor);
+        for (int d = 0; d < this.placementIndex.getDepth(orientationId); d++) {
+            if ((this.current.getSlice(state, k + d) & this.placementIndex.getAnchorMask(orientationId, anchor, d))
+                    != 0) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the number of empty cells of the state.
+     * @since 1.0
+     */
+    private int countFreeCells(int state) {
+        int cells = this.spec.getVolume();
+        for (int k = 0; k < this.spec.getLength(); k++) cells -= Long.bitCount(this.current.getSlice(state, k));
+
+        return cells;
+    }
+
+    /**
+     * Returns the first empty cell of a state of the next frontier from the given cell on, NO_EMPTY_CELL if
+     * it is full.
+     * @since 1.0
+     */
+    private int getFirstEmptyCell(int state, int from) {
+        int sliceCells = this.spec.getSliceCells();
+
+        for (int k = from / sliceCells; k < this.spec.getLength(); k++) {
+            long free = ~this.next.getSlice(state, k) & this.spec.getFullSliceMask();
+            if (k == from / sliceCells) free &= -1L << from % sliceCells;
+            if (free != 0) return k * sliceCells + Long.numberOfTrailingZeros(free);
+        }
+
+        return Constants.NO_EMPTY_CELL;
+    }
+
+    /**
+     * Adds a history entry and returns its index.
+     * @since 1.0
+     */
+    private int addHistory(int parent, int placement) {
+        if (this.historySize == this.historyParents.length) {
+            this.historyParents = Arrays.copyOf(this.historyParents, 2 * this.historySize);
+            this.historyPlacements = Arrays.copyOf(this.historyPlacements, 2 * this.historySize);
+        }
+
+        this.historyParents[this.historySize] = parent;
+        this.historyPlacements[this.historySize] = placement;
+        return this.historySize++;
+    }
+
+    /**
+     * Adds the hash to the states of the next level.
+     * @return                          false if a state with the same hash was already added
+     * @since 1.0
+     */
+    private boolean markSeen(long key) {
+        int mask = this.seenKeys.length - 1;
+        int slot = (int) (key ^ key >>> 32) & mask;
+
+        while (this.seenStamps[slot] == this.level) {
+            if (this.seenKeys[slot] == key) return false;
+            slot = (slot + 1) & mask;
+        }
+
+        this.seenKeys[slot] = key;
+        this.seenStamps[slot] = this.level;
+        return true;
+    }
+
+    /**
+     * getters for the statistics of the last solve.
+     * @since 1.0
+     */
+    public long getExpandedStates() {
+        return this.expandedStates;
+    }
+
+    public long getDuplicateStates() {
+        return this.duplicateStates;
+    }
+
+    /**
+     * The children of a part of a level: per child its parent state, its placement, its priority and its hash,
+     * in primitive arrays that grow with the level and are reused by the next one.
+     * @since 1.0
+     */
+    private static final class Expansion {
+
+        private int[] parents = new int[Constants.BEAM_CHUNK_STATES];
+        private int[] placements = new int[Constants.BEAM_CHUNK_STATES];
+        private int[] priorities = new int[Constants.BEAM_CHUNK_STATES];
+        private long[] keys = new long[Constants.BEAM_CHUNK_STATES];
+        private int size;
+
+        private void add(int parent, int placement, int priority, long key) {
+            if (this.size == this.parents.length) this.grow(2 * this.size);
+
+            this.parents[this.size] = parent;
+            this.placements[this.size] = placement;
+            this.priorities[this.size] = priority;
+            this.keys[this.size] = key;
+            this.size++;
+        }
+
+        private void addAll(Expansion other) {
+            if (this.parents.length < this.size + other.size) {
+                this.grow(Math.max(2 * this.parents.length, this.size + other.size));
+            }
+
+            System.arraycopy(other.parents, 0, this.parents, this.size, other.size);
+            System.arraycopy(other.placements, 0, this.placements, this.size, other.size);
+            System.arraycopy(other.priorities, 0, this.priorities, this.size, other.size);
+            System.arraycopy(other.keys, 0, this.keys, this.size, other.size);
+            this.size += other.size;
+        }
+
+        /**
+         * Keeps the children on the given positions, in the given order. The positions are taken from sorted,
+         * which may be overwritten.
+         * @since 1.0
+         */
+        private void select(int[] sorted, int count) {
+            int[] parents = new int[count];
+            int[] placements = new int[count];
+            int[] priorities = new int[count];
+            long[] keys = new long[count];
+
+            for (int n = 0; n < count; n++) {
+                parents[n] = this.parents[sorted[n]];
+                placements[n] = this.placements[sorted[n]];
+                priorities[n] = this.priorities[sorted[n]];
+                keys[n] = this.keys[sorted[n]];
+            }
+
+            System.arraycopy(parents, 0, this.parents, 0, count);
+            System.arraycopy(placements, 0, this.placements, 0, count);
+            System.arraycopy(priorities, 0, this.priorities, 0, count);
+            System.arraycopy(keys, 0, this.keys, 0, count);
+            this.size = count;
+        }
+
+        private void clear() {
+            this.size = 0;
+        }
+
+        private void grow(int capacity) {
+            this.parents = Arrays.copyOf(this.parents, capacity);
+            this.placements = Arrays.copyOf(this.placements, capacity);
+            this.priorities = Arrays.copyOf(this.priorities, capacity);
+            this.keys = Arrays.copyOf(this.keys, capacity);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package app.Algorithms;
+
+import app.Entities.ContainerSpec;
+import app.Entities.Orientation;
+import app.Utilities.Constants;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The class ColouringBound bounds the volume the remaining parcels can fill by colourings of the container. A
+ * colouring gives cell (i, j, k) the colour (wi * i + wj * j + wk * k) mod m, with the weights and the modulus of
+ * one row of COLOURINGS, e.g. the checkerboard (i + j + k) mod 2.
+ *
+ * Wherever a parcel is placed it covers at least minCover cells of every colour, so every parcel of volume v fills
+ * at most v - m * minCover cells more than m times its cells of the rarest colour. If the rarest colour has E empty
+ * cells, the parcels that are left fill at most m * E plus that slack of every parcel. A pentomino on the
+ * checkerboard covers 3 cells of one colour and 2 of the other, its slack is 1, and an 'a' box covers 4 and 4 of
+ * every slice, its slack is 0. A container whose empty cells lean to one colour is therefore cut off as soon as the
+ * parcels that are left have too little slack to make up for it.
+ *
+ * The tables only depend on the shape of the container, they are built once and shared like the PlacementIndex.
+ * The empty cells of every colour are an int[] of the algorithm, which is updated for every placement.
+ * @see Algorithm#canBePruned(int, int, int, int)
+ * @since 1.0
+ */
+public class ColouringBound {
+
+    /**
+     * @param spec                      the shape of the container
+     * @param moduli                    per colouring the number of colours
+     * @param firstColour               per colouring the position of its first colour in the counts
+     * @param colours                   the number of colours of all colourings together
+     * @param cellColours               per colouring and cell the colour of the cell
+     * @param covers                    per orientation, colouring, colour of the anchor and colour the number of
+     *                                  cells of the colour the orientation covers
+     * @param coverStart                per orientation the start of its covers
+     * @param slack                     per colouring and type the volume of a parcel minus the modulus times the
+     *                                  fewest cells of one colour it covers
+     * @param volumes                   per type the volume of a parcel
+     * @param emptyCells                per colour the cells of the empty container
+     * @since 1.0
+     */
+    private final ContainerSpec spec;
+    private final int[] moduli;
+    private final int[] firstColour;
+    private final int colours;
+    private final byte[][] cellColours;
+    private final int[] covers;
+    private final int[] coverStart;
+    private final int[][] slack;
+    private final int[] volumes;
+    private final int[] emptyCells;
+
+    /**
+     * @param sharedBounds              the bound per container shape
+     * @since 1.0
+     */
+    private static final Map<ContainerSpec, ColouringBound> sharedBounds = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the bound for the shape of the PlacementIndex, shared by all solvers of that shape.
+     * @since 1.0
+     */
+    public static ColouringBound getShared(PlacementIndex index) {
+        return sharedBounds.computeIfAbsent(index.getSpec(), s -> new ColouringBound(index));
+    }
+
+    /**
+     * Constructor for the ColouringBound class, which colours the cells and counts the colours every orientation
+     * covers for every colour of its anchor.
+     * @param index                     the PlacementIndex of the container
+     * @since 1.0
+     */
+    public ColouringBound(PlacementIndex index) {
+        this.spec = index.getSpec();
+
+        int count = Constants.COLOURINGS.length;
+        this.moduli = new int[count];
+        this.firstColour = new int[count];
+        int total = 0;
+        for (int c = 0; c < count; c++) {
+            this.moduli[c] = Constants.COLOURINGS[c][3];
+            this.firstColour[c] = total;
+            total += this.moduli[c];
+        }
+        this.colours = total;
+
+        this.cellColours = new byte[count][this.spec.getVolume()];
+        this.emptyCells = new int[this.colours];
+        for (int cell = 0; cell < this.spec.getVolume(); cell++) {
+            for (int c = 0; c < count; c++) {
+                this.cellColours[c][cell] = (byte) this.getColour(c, index.getCellX(cell), index.getCellY(cell),
+                        index.getCellZ(cell));
+                this.emptyCells[this.firstColour[c] + this.cellColours[c][cell]]++;
+            }
+        }
+
+        int orientations = index.getOrientationCount();
+        int perOrientation = 0;
+        for (int c = 0; c < count; c++) perOrientation += this.moduli[c] * this.moduli[c];
+        this.coverStart = new int[orientations];
+        this.covers = new int[orientations * perOrientation];
+
+        this.volumes = new int[Constants.SIZE_OF_PARCEL_TYPES];
+        this.slack = new int[count][Constants.SIZE_OF_PARCEL_TYPES];
+        int[][] minCover = new int[count][Constants.SIZE_OF_PARCEL_TYPES];
+        for (int[] row : minCover) Arrays.fill(row, Integer.MAX_VALUE);
+
+        for (int o = 0; o < orientations; o++) {
+            Orientation orientation = index.getOrientation(o);
+            int type = orientation.getParcelType().ordinal();
+            this.volumes[type] = orientation.getVolume();
+            this.coverStart[o] = o * perOrientation;
+
+            int start = this.coverStart[o];
+            for (int c = 0; c < count; c++) {
+                int m = this.moduli[c];
+                for (int phase = 0; phase < m; phase++) {
+                    for (int cell = 0; cell < orientation.getVolume(); cell++) {
+                        int colour = Math.floorMod(phase + this.getColour(c, orientation.getX(cell),
+                                orientation.getY(cell), orientation.getZ(cell)), m);
+                        this.covers[start + phase * m + colour]++;
+                    }
+                    for (int colour = 0; colour < m; colour++) {
+                        minCover[c][type] = Math.min(minCover[c][type], this.covers[start + phase * m + colour]);
+                    }
+                }
+                start += m * m;
+            }
+        }
+
+        for (int c = 0; c < count; c++) {
+            for (int type = 0; type < Constants.SIZE_OF_PARCEL_TYPES; type++) {
+                if (this.volumes[type] == 0) continue;
+                this.slack[c][type] = this.volumes[type] - this.moduli[c] * minCover[c][type];
+            }
+        }
+    }
+
+    /**
+     * Returns the empty cells of every colour of the empty container, the counts an algorithm keeps up to date.
+     * @since 1.0
+     */
+    public int[] createEmptyCounts() {
+        return this.emptyCells.clone();
+    }
+
+    /**
+     * Sets the counts back to the empty container.
+     * @since 1.0
+     */
+    public void resetEmptyCounts(int[] empty) {
+        System.arraycopy(this.emptyCells, 0, empty, 0, this.colours);
+    }
+
+    /**
+     * Takes the cells of a placement from the empty cells of their colours.
+     * @param empty                     the empty cells of every colour
+     * @param orientationId             the orientation of the placement
+     * @param anchor                    the cell of the minimum corner of the orientation
+     * @since 1.0
+     */
+    public void occupy(int[] empty, int orientationId, int anchor) {
+        this.update(empty, orientationId, anchor, -1);
+    }
+
+    /**
+     * the counterpart of occupy(), the cells of the placement are empty again.
+     * @since 1.0
+     */
+    public void release(int[] empty, int orientationId, int anchor) {
+        this.update(empty, orientationId, anchor, 1);
+    }
+
+    /**
+     * Takes a single cell from the empty cells of its colours.
+     * @since 1.0
+     */
+    public void occupyCell(int[] empty, int cell) {
+        for (int c = 0; c < this.moduli.length; c++) empty[this.firstColour[c] + this.cellColours[c][cell]]--;
+    }
+
+    /**
+     * Returns the most cells the remaining parcels can fill in the empty cells, the lowest bound of all colourings.
+     * A type never counts more parcels than fit in the free cells.
+     * @param empty                     the empty cells of every colour
+     * @param counts                    the number of parcels that are left of every type
+     * @param freeCells                 the number of empty cells
+     * @return                          at most freeCells
+     * @since 1.0
+     */
+    public int getFillableCells(int[] empty, int[] counts, int freeCells) {
+        int fillable = freeCells;
+
+        for (int c = 0; c < this.moduli.length; c++) {
+            int rarest = Integer.MAX_VALUE;
+            for (int colour = this.firstColour[c]; colour < this.firstColour[c] + this.moduli[c]; colour++) {
+                rarest = Math.min(rarest, empty[colour]);
+            }
+
+            long cells = (long) this.moduli[c] * rarest;
+            for (int type = 0; type < Constants.SIZE_OF_PARCEL_TYPES && cells < fillable; type++) {
+                if (this.volumes[type] == 0 || counts[type] == 0) continue;
+                cells += (long) Math.min(counts[type], freeCells / this.volumes[type]) * this.slack[c][type];
+            }
+
+            fillable = (int) Math.min(fillable, cells);
+        }
+
+        return fillable;
+    }
+
+    /**
+     * Adds the sign to the empty cells of every colour the placement covers.
+     * @since 1.0
+     */
+    private void update(int[] empty, int orientationId, int anchor, int sign) {
+        int start = this.coverStart[orientationId];
+
+        for (int c = 0; c < this.moduli.length; c++) {
+            int m = this.moduli[c];
+            int phase = this.cellColours[c][anchor];
+            for (int colour = 0; colour < m; colour++) {
+                empty[this.firstColour[c] + colour] += sign * this.covers[start + phase * m + colour];
+            }
+            start += m * m;
+        }
+    }
+
+    /**
+     * Returns the colour of the coordinates in a colouring.
+     * @since 1.0
+     */
+    private int getColour(int colouring, int i, int j, int k) {
+        int[] row = Constants.COLOURINGS[colouring];
+
+        return Math.floorMod(row[0] * i + row[1] * j + row[2] * k, row[3]);
+    }
+}
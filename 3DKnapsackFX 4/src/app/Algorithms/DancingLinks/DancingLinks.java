@@ -0,0 +1,454 @@
+package app.Algorithms.DancingLinks;
+
+import app.Algorithms.Algorithm;
+import app.Entities.ContainerSpec;
+import app.Entities.Orientation;
+import app.Entities.Parcel;
+import app.Entities.ParcelType;
+import app.Factories.OrientationCache;
+import app.Utilities.Constants;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Class which conducts Knuth's Algorithm X on a Dancing Links structure. Packing the container is modelled as an
+ * exact cover problem: every cell of the container is a column, every in-bounds placement of the PlacementIndex is
+ * a row covering the cells of the parcel. The number of parcels per type is limited by the typeCounts, a row of a
+ * used up type is skipped.
+ *
+ * Because a packing does not have to fill the container, a cell may also be left empty, which covers its column
+ * without a row. How many cells may be left empty is limited by a waste budget: the search runs in passes with a
+ * growing budget, starting with the cells the parcels cannot fill anyway. In the first passes a cell without
+ * candidate rows ends the branch at once, which is what makes Algorithm X fast on dense packings, in the last pass
+ * every cell may be left empty. Every pass, the last one too, ends after DANCING_LINKS_PASS_NODE_LIMIT rows, so
+ * that solve() without a deadline ends on large containers as well. A cover is saved as soon as it scores more
+ * than the best one, so the best packing the passes reached is returned even if no pass was searched to its
+ * end.
+ *
+ * The search always branches on the cell with the fewest candidate rows, the placements are tried from the most
+ * valuable type per cell to the least and leaving the cell empty is tried last. Branches that cannot beat the best
+ * score, even if the remaining cells were filled with the densest type left, are cut off.
+ *
+ * The container is a box, so every mirror image of a packing along the X, Y or Z axis is a packing with the same
+ * score. Once the search has tried a row on the first cell it branches on, every packing with that row has been
+ * searched, and so has every packing with one of its mirror images: the mirror images of the row are skipped in
+ * the rest of the search. Mirrors that turn a parcel into a shape its type does not have are not used.
+ *
+ * The links are kept in primitive arrays instead of node objects: node 0 is the root, nodes 1 up to the number of
+ * cells are the column headers and the nodes after them belong to the rows.
+ * @see app.Algorithms.PlacementIndex
+ * @since 1.0
+ */
+public class DancingLinks extends Algorithm<List<Parcel>> {
+
+    /**
+     * @param ROOT                  the node of the root, the column headers are linked to it
+     * @param left                  per node the node on its left in its row, or column header on its left
+     * @param right                 per node the node on its right in its row, or column header on its right
+     * @param up                    per node the node above it in its column
+     * @param down                  per node the node below it in its column
+     * @param column                per node the header of its column
+     * @param rowOf                 per node its row
+     * @param size                  per column header the number of rows that are still linked in the column
+     * @param rowOrientation        per row the orientationId of the placement
+     * @param rowAnchor             per row the anchor cell of the placement
+     * @param rowType               per row the ordinal of the ParcelType
+     * @param rowVolume             per row the number of cells it covers
+     * @param rowOfPlacement        per placement id of the PlacementIndex its row, or -1 if it has none
+     * @param mirrors               the mirrors that map every row onto a row, bit 0 for X, bit 1 for Y and bit 2
+     *                              for Z
+     * @param symmetric             per row true if a mirror image of it was tried on the first cell
+     * @param symmetricRows         the number of rows that were skipped because they are symmetric
+     * @param values                per ordinal of the ParcelType the score of one parcel
+     * @param volumes               per ordinal of the ParcelType the number of cells of one parcel
+     * @param remainingCells        the number of cells that are not covered yet
+     * @param upperBound            the best score the container can have, the search stops when it is reached
+     * @param passNodes             the number of rows and empty cells tried in the current pass
+     * @param passStopped           true if the current pass has reached DANCING_LINKS_PASS_NODE_LIMIT
+     * @param stopped               true if the search has reached the upper bound
+     * @since 1.0
+     */
+    private static final int ROOT = 0;
+
+    private int[] left;
+    private int[] right;
+    private int[] up;
+    private int[] down;
+    private int[] column;
+    private int[] rowOf;
+    private int[] size;
+    private int[] rowOrientation;
+    private int[] rowAnchor;
+    private int[] rowType;
+    private int[] rowVolume;
+    private int[] rowOfPlacement;
+    private int[] mirrors;
+    private boolean[] symmetric;
+    private long symmetricRows;
+    private int[] values;
+    private int[] volumes;
+    private int remainingCells;
+    private int upperBound;
+    private long passNodes;
+    private boolean passStopped;
+    private boolean stopped;
+
+    /**
+     * Constructor for the DancingLinks class.
+     * @param inputParcels          array list containing the input types of the parcels
+     * @param typeCounts            integer which tracks how often parcel types are used.
+     * @since 1.0
+     */
+    public DancingLinks(List<Parcel> inputParcels, int[] typeCounts) {
+        super(inputParcels, typeCounts);
+    }
+
+    /**
+     * Constructor for the DancingLinks class for a container of the given shape.
+     * @param spec                  the shape of the container
+     * @since 1.0
+     */
+    public DancingLinks(List<Parcel> inputParcels, int[] typeCounts, ContainerSpec spec) {
+        super(inputParcels, typeCounts, spec);
+    }
+
+    /**
+     * Builds the Dancing Links structure and searches for the cover with the highest score. The waste budget
+     * grows by 1, 2, 4, ... cells from pass to pass, a pass ends when it has tried DANCING_LINKS_PASS_NODE_LIMIT
+     * rows and the search ends when the score reaches the upper bound or the pass in which every cell may be left
+     * empty is done.
+     * @return                          returns the array list of the placed parcels of the best cover.
+     * @since 1.0
+     */
+    @Override
+    public List<Parcel> solve() {
+        this.resetSolveState();
+        this.buildLinks();
+        this.searchedNodes = 0;
+        this.prunedNodes = 0;
+        this.symmetricRows = 0;
+
+        int cellCount = this.placementIndex.getCellCount();
+        this.remainingCells = cellCount;
+        this.upperBound = this.getScoreBound();
+        this.stopped = this.upperBound == 0;
+
+        int fillable = 0;
+        for(int type = 0; type < Constants.SIZE_OF_PARCEL_TYPES; type++){
+            if(this.values[type] > 0) fillable += this.typeCounts[type] * this.volumes[type];
+        }
+
+        int budget = Math.max(0, cellCount - fillable);
+        for(int step = 1; !this.stopped; step *= 2){
+            this.passNodes = 0;
+            this.passStopped = false;
+            this.search(0, budget);
+
+            if(budget == cellCount) break;
+            budget = Math.min(cellCount, budget + step);
+        }
+
+        System.out.println(Constants.PRINT_MAX_SCORE_STRING + this.maxScore);
+        this.printPrunedNodes();
+        System.out.println(Constants.PRINT_SYMMETRIC_ROWS_STRING + this.symmetricRows);
+
+        return this.getPlacedParcels(this.bestPlacements);
+    }
+
+    /**
+     * Creates a row for every in-bounds placement of the types that are available. There are no rows for empty
+     * cells, a cell is left empty by the search within the waste budget. The types are added from the highest score
+     * per cell to the lowest, so that the rows of a column are tried in that order.
+     * @since 1.0
+     */
+    private void buildLinks() {
+        int cellCount = this.placementIndex.getCellCount();
+
+        this.values = new int[Constants.SIZE_OF_PARCEL_TYPES];
+        this.volumes = new int[Constants.SIZE_OF_PARCEL_TYPES];
+        List<ParcelType> types = new ArrayList<>();
+        for(ParcelType type : ParcelType.values()){
+            this.volumes[type.ordinal()] = type.getVolume();
+            if(this.typeCounts[type.ordinal()] == 0 || !this.ownersByType.containsKey(type)) continue;
+
+            this.values[type.ordinal()] = this.ownersByType.get(type).getValue();
+            types.add(type);
+        }
+        types.sort(Comparator.comparingDouble((ParcelType type) ->
+                (double) this.values[type.ordinal()] / type.getVolume()).reversed());
+
+        int rows = 0;
+        int nodes = 1 + cellCount;
+        for(ParcelType type : types){
+            for(Orientation orientation : OrientationCache.getOrientations(type)){
+                for(int anchor = 0; anchor < cellCount; anchor++){
+                    if(!this.placementIndex.isInBounds(orientation.getId(), anchor)) continue;
+
+                    rows++;
+                    nodes += orientation.getVolume();
+                }
+            }
+        }
+
+        this.left = new int[nodes];
+        this.right = new int[nodes];
+        this.up = new int[nodes];
+        this.down = new int[nodes];
+        this.column = new int[nodes];
+        this.rowOf = new int[nodes];
+        this.size = new int[cellCount + 1];
+        this.rowOrientation = new int[rows];
+        this.rowAnchor = new int[rows];
+        this.rowType = new int[rows];
+        this.rowVolume = new int[rows];
+        this.rowOfPlacement = new int[this.placementIndex.getOrientationCount() * cellCount];
+        this.symmetric = new boolean[rows];
+        Arrays.fill(this.rowOfPlacement, -1);
+
+        for(int header = ROOT; header <= cellCount; header++){
+            this.left[header] = header == ROOT ? cellCount : header - 1;
+            this.right[header] = header == cellCount ? ROOT : header + 1;
+            this.up[header] = header;
+            this.down[header] = header;
+            this.column[header] = header;
+        }
+
+        int row = 0;
+        int node = cellCount + 1;
+        for(ParcelType type : types){
+            for(Orientation orientation : OrientationCache.getOrientations(type)){
+                for(int anchor = 0; anchor < cellCount; anchor++){
+                    if(!this.placementIndex.isInBounds(orientation.getId(), anchor)) continue;
+
+                    this.rowOrientation[row] = orientation.getId();
+                    this.rowAnchor[row] = anchor;
+                    this.rowType[row] = type.ordinal();
+                    this.rowVolume[row] = orientation.getVolume();
+                    this.rowOfPlacement[orientation.getId() * cellCount + anchor] = row;
+
+                    int first = node;
+                    for(int cell = 0; cell < orientation.getVolume(); cell++){
+                        int covered = anchor + this.placementIndex.getCell(
+                                orientation.getX(cell), orientation.getY(cell), orientation.getZ(cell));
+                        this.addNode(node++, row, first, covered + 1);
+                    }
+                    row++;
+                }
+            }
+        }
+
+        this.mirrors = this.findMirrors(types);
+    }
+
+    /**
+     * Returns the mirrors of the container under which every orientation of the given types has a mirror image of
+     * its own type, so that every packing has its mirror images among the packings that are searched.
+     * @since 1.0
+     */
+    private int[] findMirrors(List<ParcelType> types) {
+        int[] found = new int[Constants.NUMBER_OF_MIRRORS - 1];
+        int count = 0;
+
+        for(int mirror = 1; mirror < Constants.NUMBER_OF_MIRRORS; mirror++){
+            boolean closed = true;
+            for(ParcelType type : types){
+                for(Orientation orientation : OrientationCache.getOrientations(type)){
+                    if(OrientationCache.getMirroredOrientation(orientation.getId(), mirror)
+                            == Constants.NO_MIRRORED_ORIENTATION) closed = false;
+                }
+            }
+
+            if(closed) found[count++] = mirror;
+        }
+
+        return Arrays.copyOf(found, count);
+    }
+
+    /**
+     * Marks the mirror images of a row that was tried on the first cell, they are skipped from now on.
+     * @since 1.0
+     */
+    private void markMirrorImages(int row) {
+        for(int mirror : this.mirrors){
+            int placement = this.placementIndex.getMirroredPlacement(this.rowOrientation[row], this.rowAnchor[row],
+                    mirror);
+            if(placement != Constants.NO_MIRRORED_ORIENTATION && this.rowOfPlacement[placement] >= 0){
+                this.symmetric[this.rowOfPlacement[placement]] = true;
+            }
+        }
+    }
+
+    /**
+     * Appends a node to the bottom of a column and to the right end of the row that starts with the first node.
+     * @since 1.0
+     */
+    private void addNode(int node, int row, int first, int header) {
+        this.rowOf[node] = row;
+        this.column[node] = header;
+
+        this.up[node] = this.up[header];
+        this.down[node] = header;
+        this.down[this.up[header]] = node;
+        this.up[header] = node;
+        this.size[header]++;
+
+        if(node == first){
+            this.left[node] = node;
+            this.right[node] = node;
+        }else{
+            this.left[node] = this.left[first];
+            this.right[node] = first;
+            this.right[this.left[first]] = node;
+            this.left[first] = node;
+        }
+    }
+
+    /**
+     * Algorithm X: covers the cell with the fewest candidate rows and tries every row of it, the rows of that
+     * cover the other cells of the row are unlinked while the branch is searched. If the budget allows it, the
+     * cell is left empty after all its rows have been tried. On the first cell the mirror images of every row that
+     * was tried are marked, the marks hold until the first cell is done.
+     * @param score                 the score of the rows chosen so far
+     * @param wasteLeft             the number of cells that may still be left empty
+     * @since 1.0
+     */
+    private void search(int score, int wasteLeft) {
+        this.searchedNodes++;
+        boolean first = this.remainingCells == this.placementIndex.getCellCount();
+
+        if(score > this.maxScore){
+            this.maxScore = score;
+            this.saveContainer();
+            this.saveGlobalTypeCounts();
+            if(score >= this.upperBound) this.stopped = true;
+        }
+
+        if(this.stopped || this.passStopped || this.right[ROOT] == ROOT) return;
+        if(score + this.getScoreBound() <= this.maxScore){
+            this.prunedNodes++;
+            return;
+        }
+
+        int header = this.chooseColumn();
+        if(this.size[header] == 0 && wasteLeft == 0) return;
+        this.cover(header);
+
+        for(int node = this.down[header]; node != header && this.isSearching(); node = this.down[node]){
+            int row = this.rowOf[node];
+            int type = this.rowType[row];
+            if(this.typeCounts[type] == 0) continue;
+            if(this.symmetric[row]){
+                this.symmetricRows++;
+                continue;
+            }
+
+            for(int other = this.right[node]; other != node; other = this.right[other]) this.cover(this.column[other]);
+            this.remainingCells -= this.rowVolume[row];
+            this.typeCounts[type]--;
+            this.placeOrientation(this.rowOrientation[row], this.rowAnchor[row]);
+
+            this.search(score + this.values[type], wasteLeft);
+
+            this.revertPlaceParcel();
+            this.typeCounts[type]++;
+            this.remainingCells += this.rowVolume[row];
+            for(int other = this.left[node]; other != node; other = this.left[other]) this.uncover(this.column[other]);
+            if(first) this.markMirrorImages(row);
+        }
+
+        if(wasteLeft > 0 && this.isSearching()){
+            this.remainingCells--;
+            this.search(score, wasteLeft - 1);
+            this.remainingCells++;
+        }
+
+        this.uncover(header);
+        if(first) Arrays.fill(this.symmetric, false);
+    }
+
+    /**
+     * Counts a row or empty cell that is about to be tried against the node limit of the pass, the search stops
+     * for good when the deadline of solve(Duration) is reached.
+     * @return                      true, if the search goes on. / false, if it has stopped.
+     * @since 1.0
+     */
+    private boolean isSearching() {
+        if(this.isOutOfTime()) this.stopped = true;
+        if(this.stopped || this.passStopped) return false;
+        if(++this.passNodes > Constants.DANCING_LINKS_PASS_NODE_LIMIT) this.passStopped = true;
+
+        return !this.passStopped;
+    }
+
+    /**
+     * Returns the column header of the uncovered cell with the fewest rows, the first cell if several have as
+     * few.
+     * @since 1.0
+     */
+    private int chooseColumn() {
+        int best = this.right[ROOT];
+        for(int header = this.right[best]; header != ROOT; header = this.right[header]){
+            if(this.size[header] < this.size[best]){
+                best = header;
+                if(this.size[best] <= 1) break;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Unlinks the column from the header list and every row of the column from the other columns it is in.
+     * @since 1.0
+     */
+    private void cover(int header) {
+        this.right[this.left[header]] = this.right[header];
+        this.left[this.right[header]] = this.left[header];
+
+        for(int row = this.down[header]; row != header; row = this.down[row]){
+            for(int node = this.right[row]; node != row; node = this.right[node]){
+                this.down[this.up[node]] = this.down[node];
+                this.up[this.down[node]] = this.up[node];
+                this.size[this.column[node]]--;
+            }
+        }
+    }
+
+    /**
+     * the counterpart of cover(), the links are restored in the reverse order.
+     * @since 1.0
+     */
+    private void uncover(int header) {
+        for(int row = this.up[header]; row != header; row = this.up[row]){
+            for(int node = this.left[row]; node != row; node = this.left[node]){
+                this.size[this.column[node]]++;
+                this.down[this.up[node]] = node;
+                this.up[this.down[node]] = node;
+            }
+        }
+
+        this.right[this.left[header]] = header;
+        this.left[this.right[header]] = header;
+    }
+
+    /**
+     * Returns the most the uncovered cells can still add to the score: the remaining cells filled with the type
+     * with the highest score per cell, but never more than all parcels that are left together.
+     * @since 1.0
+     */
+    private int getScoreBound() {
+        long available = 0;
+        double density = 0;
+        for(int type = 0; type < Constants.SIZE_OF_PARCEL_TYPES; type++){
+            if(this.typeCounts[type] == 0 || this.values[type] == 0) continue;
+
+            available += (long) this.typeCounts[type] * this.values[type];
+            density = Math.max(density, (double) this.values[type] / this.volumes[type]);
+        }
+
+        return (int) Math.min(available, (long) Math.floor(this.remainingCells * density + 1e-9));
+    }
+}
@@ -0,0 +1,290 @@
+package app.Algorithms.DynamicProgramming;
+
+import app.Algorithms.Algorithm;
+import app.Entities.ContainerSpec;
+import app.Entities.Orientation;
+import app.Entities.Parcel;
+import app.Entities.ParcelType;
+import app.Factories.OrientationCache;
+import app.Utilities.Constants;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Class which conducts the broken-profile dynamic programming, an exact algorithm. The container is swept cell by
+ * cell in the order of getFirstEmptyCell(), Z first, then Y, then X. Every empty cell is either covered by a parcel
+ * whose first cell it is, or left empty for good: a parcel never covers a cell before its first cell, so every
+ * cell before the sweep is decided.
+ *
+ * What is left to decide only depends on the frontier: the cell of the sweep, the taken cells from there on, which
+ * lie in the few Z-slices one parcel can reach, and the parcels that are left. The best score that can still be
+ * added from a frontier is stored in a FrontierMap, so a frontier that is reached again through other parcels
+ * before it is not searched again. The frontier is small because the cross-section of the container is small,
+ * the length of the container only adds frontiers, not bits to them.
+ *
+ * A frontier stops trying parcels when it reaches the KnapsackBound of the parcels that are left in the free cells,
+ * no packing can score more. A frontier is also only searched as far as it can beat the best packing around it, the
+ * container of GreedyFirstFit at first: if it cannot, the memo keeps the score it cannot exceed instead of its
+ * exact score. The best packing is only built from exact scores, so the answer is the optimum.
+ * @see FrontierMap
+ * @since 1.0
+ */
+public class FrontierDynamicProgramming extends Algorithm<List<Parcel>> {
+
+    /**
+     * @param values                the score of one parcel of every type, indexed by the ordinal of the type
+     * @param volumes               the number of cells of one parcel of every type
+     * @param orientationOrder      the orientations that are tried on a cell, from the type with the highest score
+     *                              per cell to the lowest
+     * @param reach                 the number of Z-slices of the frontier, the most slices one orientation touches
+     * @param memo                  per frontier that was searched twice the best score that can be added from it,
+     *                              plus 1 if it is the exact score and not only a score it cannot exceed
+     * @param key                   the frontier of the current state, see #fillKey(int)
+     * @param memoHits              the number of frontiers that were found in the memo
+     * @since 1.0
+     */
+    private int[] values;
+    private int[] volumes;
+    private int[] orientationOrder;
+    private int reach;
+    private FrontierMap memo;
+    private long[] key;
+    private long memoHits;
+
+    /**
+     * Constructor for the FrontierDynamicProgramming class.
+     * @param inputParcels          array list containing the input types of the parcels
+     * @param typeCounts            integer which tracks how often parcel types are used.
+     * @since 1.0
+     */
+    public FrontierDynamicProgramming(List<Parcel> inputParcels, int[] typeCounts) {
+        super(inputParcels, typeCounts);
+    }
+
+    /**
+     * Constructor for the FrontierDynamicProgramming class for a container of the given shape.
+     * @param spec                  the shape of the container
+     * @since 1.0
+     */
+    public FrontierDynamicProgramming(List<Parcel> inputParcels, int[] typeCounts, ContainerSpec spec) {
+        super(inputParcels, typeCounts, spec);
+    }
+
+    /**
+     * Sweeps the container from its first cell and builds the packing of the best score. The container of
+     * GreedyFirstFit is the answer until the sweep is done, so solve(Duration) always has one, and it stays the
+     * answer if the sweep finds no higher score or the time is up while the parcels of the best score are placed.
+     * @return                          returns the array list of the placed parcels of the best packing.
+     * @since 1.0
+     */
+    @Override
+    public List<Parcel> solve() {
+        this.resetSolveState();
+        this.prepareBranchAndBound();
+        this.keepFirstFitIfBetter();
+        this.prepareSweep();
+
+        int first = this.container.nextEmptyCell(0);
+        int best = this.sweep(first, this.maxScore);
+
+        if(!this.outOfTime && best > this.maxScore){
+            this.rebuild(first, best);
+
+            if(this.outOfTime){
+                this.layBestPlacements();
+            } else {
+                this.maxScore = best;
+                this.saveContainer();
+                this.saveGlobalTypeCounts();
+            }
+        }
+
+        System.out.println(Constants.PRINT_MAX_SCORE_STRING + this.maxScore);
+        System.out.println(Constants.PRINT_FRONTIER_STATES_STRING + this.memo.size() + ", found again "
+                + this.memoHits);
+
+        return this.getPlacedParcels(this.bestPlacements);
+    }
+
+    /**
+     * Collects the scores and the orientations of the types that are available and creates the memo, which
+     * starts empty on every solve().
+     * @since 1.0
+     */
+    private void prepareSweep() {
+        this.values = new int[Constants.SIZE_OF_PARCEL_TYPES];
+        this.volumes = new int[Constants.SIZE_OF_PARCEL_TYPES];
+        List<ParcelType> types = new ArrayList<>();
+        for(ParcelType type : ParcelType.values()){
+            this.volumes[type.ordinal()] = type.getVolume();
+            if(this.typeCounts[type.ordinal()] == 0 || !this.ownersByType.containsKey(type)) continue;
+
+            this.values[type.ordinal()] = this.ownersByType.get(type).getValue();
+            if(this.values[type.ordinal()] > 0) types.add(type);
+        }
+        types.sort(Comparator.comparingDouble((ParcelType type) ->
+                (double) this.values[type.ordinal()] / type.getVolume()).reversed());
+
+        List<Integer> order = new ArrayList<>();
+        this.reach = 1;
+        for(ParcelType type : types){
+            for(Orientation orientation : OrientationCache.getOrientations(type)){
+                order.add(orientation.getId());
+                this.reach = Math.max(this.reach, orientation.getSizeZ());
+            }
+        }
+        this.orientationOrder = order.stream().mapToInt(Integer::intValue).toArray();
+
+        this.key = new long[1 + (Constants.SIZE_OF_PARCEL_TYPES + 3) / 4 + this.reach];
+        this.memo = new FrontierMap(this.key.length, Constants.FRONTIER_MAP_INITIAL_ENTRIES,
+                Constants.FRONTIER_MAP_MAX_ENTRIES);
+        this.memoHits = 0;
+        this.searchedNodes = 0;
+    }
+
+    /**
+     * Returns the best score that can be added from the current state, in which every cell before the given one
+     * is decided. The parcels whose first cell is the given one are tried and the cell is left empty last. Only a
+     * score above the given one matters: a branch that cannot beat it is cut off, and so is the frontier as soon as
+     * its KnapsackBound cannot beat it.
+     * @param cell                      the first empty cell of the sweep, or NO_EMPTY_CELL
+     * @param alpha                     the score that has to be beaten
+     * @return                          the exact best score of the parcels that can still be placed if it is above
+     *                                  alpha, otherwise a score at most alpha that it cannot exceed
+     * @since 1.0
+     */
+    private int sweep(int cell, int alpha) {
+        if(cell == Constants.NO_EMPTY_CELL || this.isOutOfTime()) return 0;
+        this.searchedNodes++;
+
+        int freeCells = this.fillKey(cell);
+        int known = this.memo.get(this.key);
+        if(known != FrontierMap.EMPTY && ((known & 1) != 0 || known >> 1 <= alpha)){
+            this.memoHits++;
+            return known >> 1;
+        }
+
+        int bound = this.knapsackBound.getBound(this.typeCounts, freeCells);
+        if(bound <= alpha){
+            this.prunedNodes++;
+            return bound;
+        }
+
+        int best = 0;
+        int i = this.placementIndex.getCellX(cell);
+        int j = this.placementIndex.getCellY(cell);
+        int k = this.placementIndex.getCellZ(cell);
+
+        for(int n = 0; n < this.orientationOrder.length && best < bound; n++){
+            int score = this.tryOrientation(this.orientationOrder[n], i, j, k, cell, Math.max(alpha, best));
+            if(score > best) best = score;
+        }
+
+        if(best < bound){
+            best = Math.max(best, this.sweep(this.container.nextEmptyCell(cell + 1), Math.max(alpha, best)));
+        }
+
+        if(!this.outOfTime){
+            this.fillKey(cell);
+            this.memo.put(this.key, best << 1 | (best > alpha ? 1 : 0));
+        }
+
+        return best;
+    }
+
+    /**
+     * Places the orientation with its first cell on the given cell and sweeps on from the next empty cell.
+     * @param alpha                     the score the parcel and the packing after it have to beat
+     * @return                          the score of the parcel and of the best packing after it, see
+     *                                  #sweep(int, int), or -1 if the orientation does not fit or no parcel of its
+     *                                  type is left
+     * @since 1.0
+     */
+    private int tryOrientation(int orientationId, int i, int j, int k, int cell, int alpha) {
+        Orientation orientation = this.placementIndex.getOrientation(orientationId);
+        int type = orientation.getParcelType().ordinal();
+        int ai = i - orientation.getLeadX();
+        int aj = j - orientation.getLeadY();
+        int ak = k - orientation.getLeadZ();
+
+        if(this.typeCounts[type] == 0 || !this.placementIndex.fits(this.container, orientationId, ai, aj, ak)){
+            return -1;
+        }
+
+        this.placeOrientation(orientationId, this.placementIndex.getCell(ai, aj, ak));
+        this.typeCounts[type]--;
+        int next = this.container.nextEmptyCell(cell + 1);
+        int score = this.values[type] + this.sweep(next, alpha - this.values[type]);
+        this.typeCounts[type]++;
+        this.revertPlaceParcel();
+
+        return score;
+    }
+
+    /**
+     * Places the parcels of the best score again, going the sweep once more and picking on every cell the parcel
+     * whose score and the exact score after it add up to what is left. The scores after it are mostly in the
+     * memo.
+     * @param cell                      the first cell of the sweep
+     * @param score                     the best score of the sweep
+     * @since 1.0
+     */
+    private void rebuild(int cell, int score) {
+        while(cell != Constants.NO_EMPTY_CELL && score > 0){
+            int i = this.placementIndex.getCellX(cell);
+            int j = this.placementIndex.getCellY(cell);
+            int k = this.placementIndex.getCellZ(cell);
+
+            for(int orientationId : this.orientationOrder){
+                Orientation orientation = this.placementIndex.getOrientation(orientationId);
+                int type = orientation.getParcelType().ordinal();
+                if(this.tryOrientation(orientationId, i, j, k, cell, score - 1) != score) continue;
+
+                this.placeOrientation(orientationId, this.placementIndex.getCell(
+                        i - orientation.getLeadX(), j - orientation.getLeadY(), k - orientation.getLeadZ()));
+                this.typeCounts[type]--;
+                score -= this.values[type];
+                break;
+            }
+
+            cell = this.container.nextEmptyCell(cell + 1);
+        }
+    }
+
+    /**
+     * Writes the frontier of the current state into the key: the cell of the sweep, the parcels that are left,
+     * 16 bits per type, and the taken cells of the Z-slices a parcel can still reach, without the cells before the
+     * sweep. A type counts at most as many parcels as fit in the free cells, more of them do not change the score.
+     * @param cell                      the cell of the sweep
+     * @return                          the number of free cells from the cell of the sweep on
+     * @since 1.0
+     */
+    private int fillKey(int cell) {
+        int sliceCells = this.spec.getSliceCells();
+        int k = cell / sliceCells;
+        int frontier = 1 + (Constants.SIZE_OF_PARCEL_TYPES + 3) / 4;
+        int taken = 0;
+
+        for(int d = 0; d < this.reach; d++){
+            long slice = k + d < this.spec.getLength() ? this.container.getSlice(k + d) : 0;
+            if(d == 0) slice &= -1L << (cell % sliceCells);
+
+            this.key[frontier + d] = slice;
+            taken += Long.bitCount(slice);
+        }
+
+        int freeCells = this.placementIndex.getCellCount() - cell - taken;
+
+        this.key[0] = cell;
+        for(int type = 0; type < Constants.SIZE_OF_PARCEL_TYPES; type++){
+            long count = this.values[type] == 0 ? 0
+                    : Math.min(this.typeCounts[type], freeCells / this.volumes[type]);
+            if((type & 3) == 0) this.key[1 + (type >> 2)] = 0;
+            this.key[1 + (type >> 2)] |= count << 16 * (type & 3);
+        }
+
+        return freeCells;
+    }
+}
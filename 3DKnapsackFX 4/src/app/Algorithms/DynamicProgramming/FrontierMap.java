@@ -0,0 +1,152 @@
+package app.Algorithms.DynamicProgramming;
+
+import java.util.Arrays;
+
+/**
+ * The class FrontierMap is the memo of the FrontierDynamicProgramming: a hash map from a state of the sweep, which
+ * is a fixed number of longs, to the best score that can still be added from it. The keys are stored one after the
+ * other in one long array and the scores in an int array, so a lookup allocates nothing. Collisions are resolved by
+ * looking at the next entry.
+ *
+ * The map grows up to the given number of entries, after that new states are not stored anymore. The solver stays
+ * exact then, it only searches more states again.
+ * @see FrontierDynamicProgramming
+ * @since 1.0
+ */
+public class FrontierMap {
+
+    /**
+     * @param EMPTY                     the score of an entry that holds no state
+     * @param stride                    the number of longs of a key
+     * @param maxEntries                the number of entries the map does not grow beyond
+     * @param keys                      the keys of all entries, stride longs per entry
+     * @param scores                    the score of every entry, EMPTY if the entry holds no state
+     * @param mask                      the number of entries minus one
+     * @param size                      the number of states in the map
+     * @since 1.0
+     */
+    public static final int EMPTY = -1;
+
+    private final int stride;
+    private final int maxEntries;
+    private long[] keys;
+    private int[] scores;
+    private int mask;
+    private int size;
+
+    /**
+     * Constructor for the FrontierMap class.
+     * @param stride                    the number of longs of a key
+     * @param initialEntries            the number of entries to start with, a power of two
+     * @param maxEntries                the number of entries the map does not grow beyond, a power of two
+     * @since 1.0
+     */
+    public FrontierMap(int stride, int initialEntries, int maxEntries) {
+        this.stride = stride;
+        this.maxEntries = maxEntries;
+        this.allocate(Math.min(initialEntries, maxEntries));
+    }
+
+    /**
+     * Returns the score stored for the key, or EMPTY if the state is not in the map.
+     * @param key                       the state, stride longs
+     * @since 1.0
+     */
+    public int get(long[] key) {
+        for (int entry = this.hash(key) & this.mask; this.scores[entry] != EMPTY; entry = (entry + 1) & this.mask) {
+            if (this.matches(entry, key)) return this.scores[entry];
+        }
+
+        return EMPTY;
+    }
+
+    /**
+     * Stores the score of the state. The map grows when it is half full, a full map at its largest size keeps the
+     * states it has.
+     * @param key                       the state, stride longs
+     * @param score                     the best score that can be added from the state, at least 0
+     * @since 1.0
+     */
+    public void put(long[] key, int score) {
+        if (2 * (this.size + 1) > this.scores.length) {
+            if (this.scores.length >= this.maxEntries) return;
+            this.grow();
+        }
+
+        int entry = this.hash(key) & this.mask;
+        while (this.scores[entry] != EMPTY) {
+            if (this.matches(entry, key)) {
+                this.scores[entry] = score;
+                return;
+            }
+            entry = (entry + 1) & this.mask;
+        }
+
+        System.arraycopy(key, 0, this.keys, entry * this.stride, this.stride);
+        this.scores[entry] = score;
+        this.size++;
+    }
+
+    /**
+     * Removes all states, the map keeps its size.
+     * @since 1.0
+     */
+    public void clear() {
+        Arrays.fill(this.scores, EMPTY);
+        this.size = 0;
+    }
+
+    /**
+     * Returns the number of states in the map.
+     * @since 1.0
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Doubles the number of entries and stores the states again.
+     * @since 1.0
+     */
+    private void grow() {
+        long[] oldKeys = this.keys;
+        int[] oldScores = this.scores;
+        long[] key = new long[this.stride];
+
+        this.allocate(2 * oldScores.length);
+        for (int entry = 0; entry < oldScores.length; entry++) {
+            if (oldScores[entry] == EMPTY) continue;
+
+            System.arraycopy(oldKeys, entry * this.stride, key, 0, this.stride);
+            this.put(key, oldScores[entry]);
+        }
+    }
+
+    private void allocate(int entries) {
+        this.keys = new long[entries * this.stride];
+        this.scores = new int[entries];
+        this.mask = entries - 1;
+        this.size = 0;
+        Arrays.fill(this.scores, EMPTY);
+    }
+
+    private boolean matches(int entry, long[] key) {
+        int base = entry * this.stride;
+        for (int n = 0; n < this.stride; n++) {
+            if (this.keys[base + n] != key[n]) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Mixes the longs of the key into one hash, the high bits are folded onto the low ones the mask keeps.
+     * @since 1.0
+     */
+    private int hash(long[] key) {
+        long hash = 0;
+        for (long word : key) hash = (hash + word) * 0x9E3779B97F4A7C15L;
+
+        return (int) (hash ^ hash >>> 29 ^ hash >>> 43);
+    }
+}
@@ -0,0 +1,152 @@
+package app.Algorithms.DynamicProgramming;
+
+import app.Utilities.Constants;
+
+import java.util.Arrays;
+
+/**
+ * The class KnapsackBound answers how many points the parcels that are left can score at most in the volume that is
+ * left. It is the knapsack of the DynamicProgramming algorithm, which ignores the shapes of the parcels and only
+ * looks at their volume, so the score it gives is never below the score of a real packing. The backtracking
+ * algorithms use it as the upper bound of a branch.
+ * @since 1.0
+ */
+public class KnapsackBound {
+
+    /**
+     * @param values                    the value of a parcel of every type, indexed by the ordinal of the type
+     * @param volumes                   the volume of a parcel of every type
+     * @param densityOrder              the ordinals of the types from the highest value per cell to the lowest
+     * @param bestScores                the best score of the counts the bound was created with for every volume
+     *                                  from 0 up to the capacity
+     * @param itemTypes                 the type of every item the counts are split into
+     * @param itemCounts                the number of parcels of every item
+     * @param taken                     one bit per item and volume, set if the item is part of the best score of
+     *                                  that volume once the items before it are known
+     * @since 1.0
+     */
+    private final int[] values;
+    private final int[] volumes;
+    private final int[] densityOrder;
+    private final int[] bestScores;
+    private final int[] itemTypes;
+    private final int[] itemCounts;
+    private final long[][] taken;
+
+    /**
+     * Constructor for the KnapsackBound class, solves the bounded knapsack of the counts for every volume up to the
+     * capacity at once. The count of every type is split into items of 1, 2, 4, ... parcels and the rest, every
+     * number of parcels up to the count is a sum of some of them, so the 0/1 knapsack of the items on one rolling
+     * row solves the bounded one in (number of types) * log(count) * capacity steps.
+     * @param counts                    number of parcels of every type
+     * @param values                    the value of a parcel of every type
+     * @param volumes                   the volume of a parcel of every type
+     * @param capacity                  the volume of the container
+     * @since 1.0
+     */
+    public KnapsackBound(int[] counts, int[] values, int[] volumes, int capacity) {
+        this.values = values.clone();
+        this.volumes = volumes.clone();
+        this.bestScores = new int[capacity + 1];
+
+        int[] types = new int[Constants.SIZE_OF_PARCEL_TYPES * Integer.SIZE];
+        int[] parcels = new int[types.length];
+        int items = 0;
+        for (int type = 0; type < Constants.SIZE_OF_PARCEL_TYPES; type++) {
+            int left = Math.min(counts[type], capacity / Math.max(1, volumes[type]));
+
+            for (int chunk = 1; left > 0; chunk *= 2) {
+                types[items] = type;
+                parcels[items] = Math.min(chunk, left);
+                left -= parcels[items++];
+            }
+        }
+
+        this.itemTypes = Arrays.copyOf(types, items);
+        this.itemCounts = Arrays.copyOf(parcels, items);
+        this.taken = new long[items][(capacity >> 6) + 1];
+
+        for (int item = 0; item < items; item++) {
+            int itemVolume = this.itemCounts[item] * volumes[this.itemTypes[item]];
+            int itemValue = this.itemCounts[item] * values[this.itemTypes[item]];
+
+            for (int volume = capacity; volume >= itemVolume; volume--) {
+                int score = this.bestScores[volume - itemVolume] + itemValue;
+                if (score <= this.bestScores[volume]) continue;
+
+                this.bestScores[volume] = score;
+                this.taken[item][volume >> 6] |= 1L << volume;
+            }
+        }
+
+        this.densityOrder = new int[Constants.SIZE_OF_PARCEL_TYPES];
+        for (int type = 0; type < Constants.SIZE_OF_PARCEL_TYPES; type++) {
+            int position = type;
+            while (position > 0 && (long) values[type] * volumes[this.densityOrder[position - 1]]
+                    > (long) values[this.densityOrder[position - 1]] * volumes[type]) {
+                this.densityOrder[position] = this.densityOrder[position - 1];
+                position--;
+            }
+            this.densityOrder[position] = type;
+        }
+    }
+
+    /**
+     * Returns the best score of the counts the bound was created with, which is the score the DynamicProgramming
+     * algorithm computes.
+     * @param volume                    the free volume
+     * @since 1.0
+     */
+    public int getBestScore(int volume) {
+        return this.bestScores[Math.max(0, Math.min(volume, this.bestScores.length - 1))];
+    }
+
+    /**
+     * Returns the parcels of the best score of the given volume, walking back through the items from the last one.
+     * @param volume                    the free volume
+     * @return                          the number of parcels of every type, indexed by the ordinal of the type
+     * @since 1.0
+     */
+    public int[] getSelection(int volume) {
+        int[] selection = new int[Constants.SIZE_OF_PARCEL_TYPES];
+        int left = Math.max(0, Math.min(volume, this.bestScores.length - 1));
+
+        for (int item = this.itemTypes.length - 1; item >= 0; item--) {
+            if ((this.taken[item][left >> 6] & 1L << left) == 0) continue;
+
+            selection[this.itemTypes[item]] += this.itemCounts[item];
+            left -= this.itemCounts[item] * this.volumes[this.itemTypes[item]];
+        }
+
+        return selection;
+    }
+
+    /**
+     * Returns the most the remaining parcels can score in the free volume. It is the lower of two bounds: the
+     * knapsack of all parcels, which only shrinks with the volume, and the fractional knapsack of the remaining
+     * parcels, which fills the volume from the densest type down and takes a part of the last one.
+     * @param counts                    number of parcels of every type that is left
+     * @param volume                    the free volume
+     * @since 1.0
+     */
+    public int getBound(int[] counts, int volume) {
+        int bound = 0;
+        int left = volume;
+
+        for (int type : this.densityOrder) {
+            if (left <= 0) break;
+            if (counts[type] == 0 || this.values[type] == 0) continue;
+
+            int taken = Math.min(counts[type], left / this.volumes[type]);
+            bound += taken * this.values[type];
+            left -= taken * this.volumes[type];
+
+            if (taken < counts[type]) {
+                bound += left * this.values[type] / this.volumes[type];
+                left = 0;
+            }
+        }
+
+        return Math.min(bound, this.getBestScore(volume));
+    }
+}
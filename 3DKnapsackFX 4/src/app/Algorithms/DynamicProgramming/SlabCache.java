@@ -0,0 +1,275 @@
+package app.Algorithms.DynamicProgramming;
+
+import app.Algorithms.DancingLinks.DancingLinks;
+import app.Entities.ContainerSpec;
+import app.Entities.Orientation;
+import app.Entities.Parcel;
+import app.Entities.ParcelComponent;
+import app.Factories.OrientationCache;
+import app.Utilities.Constants;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The class SlabCache keeps the fillings of slabs, containers of the cross-section of the container that are only
+ * a few Z-slices long, for the SlabComposition. A filling is keyed by the shape of the slab, the scores of the types
+ * and the number of parcels of every type that was available, and it is solved by DancingLinks within the budget of
+ * the solver that asks for it, at most SLAB_SOLVE_BUDGET_MILLIS. A filling whose search was stopped by the budget is
+ * only returned to that solver and not kept, the next solver solves it again.
+ *
+ * The cache is stored in a file, so the fillings outlive the program. Every line holds one filling: its key, its
+ * score and its placements as orientation id and anchor cell in the numbering of the slab. The first line holds the
+ * fingerprint of the OrientationCache, a file of other orientations is not read.
+ * @see SlabComposition
+ * @since 1.0
+ */
+public class SlabCache {
+
+    /**
+     * @param shared                    the cache of the program, stored in the file of the system property
+     *                                  SLAB_CACHE_PROPERTY, or else in SLAB_CACHE_FILE_NAME in the home directory
+     *                                  of the user
+     * @param file                      the file the fillings are read from and stored to
+     * @param fillings                  per key the score of the filling followed by its placements, orientation
+     *                                  id and anchor after each other
+     * @param loaded                    true once the file was read
+     * @param changed                   true if a filling was solved since the file was read or stored
+     * @param solvedSlabs               the number of fillings that were solved and not read from the file
+     * @since 1.0
+     */
+    private static final SlabCache shared = new SlabCache(getSharedFile());
+
+    private final Path file;
+    private final Map<String, int[]> fillings;
+    private boolean loaded;
+    private volatile boolean changed;
+    private final AtomicInteger solvedSlabs;
+
+    /**
+     * Constructor for the SlabCache class, the file is read when the first filling is asked for.
+     * @param file                      the file the fillings are read from and stored to
+     * @since 1.0
+     */
+    public SlabCache(Path file) {
+        this.file = file;
+        this.fillings = new ConcurrentHashMap<>();
+        this.solvedSlabs = new AtomicInteger();
+    }
+
+    /**
+     * Returns the cache of the program, which all solvers share.
+     * @since 1.0
+     */
+    public static SlabCache getShared() {
+        return shared;
+    }
+
+    /**
+     * Returns the filling of a slab, which is solved within the budget if it is not in the cache yet. The slab is
+     * solved outside the map, so solvers that ask for other fillings never wait for it. Two solvers that ask for the
+     * same filling at the same time may both solve it, both get the filling that was stored first.
+     * @param inputParcels              one parcel per type, which carries the score of the type
+     * @param values                    the score of one parcel of every type, indexed by the ordinal of the type
+     * @param counts                    the number of parcels of every type that may be used
+     * @param width                     the width of the slab
+     * @param height                    the height of the slab
+     * @param length                    the number of Z-slices of the slab
+     * @param budget                    the time the slab may be solved for if it is not cached
+     * @return                          the score of the filling followed by its placements, orientation id and
+     *                                  anchor after each other, null if it is not cached and the budget is zero
+     * @since 1.0
+     */
+    public int[] getFilling(List<Parcel> inputParcels, int[] values, int[] counts, int width, int height, int length,
+                            Duration budget) {
+        this.load();
+
+        String key = getKey(values, counts, width, height, length);
+        int[] cached = this.fillings.get(key);
+        if (cached != null || budget.isZero() || budget.isNegative()) return cached;
+
+        return this.solveSlab(key, inputParcels, counts, new ContainerSpec(width, height, length), budget);
+    }
+
+    /**
+     * Stores the fillings in the file if a filling was solved since it was read. The file is written next to
+     * the old one and then moved over it, so a program that stops while it writes leaves the old file.
+     * @since 1.0
+     */
+    public synchronized void save() {
+        if (!this.changed) return;
+        this.changed = false;
+
+        Path written = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(written, StandardCharsets.UTF_8)) {
+            writer.write(getFingerprint());
+            writer.newLine();
+
+            for (Map.Entry<String, int[]> entry : this.fillings.entrySet()) {
+                int[] filling = entry.getValue();
+                StringBuilder line = new StringBuilder(entry.getKey()).append(' ').append(filling[0]);
+                for (int n = 1; n < filling.length; n += 2) line.append(' ').append(filling[n]).append(':')
+                        .append(filling[n + 1]);
+
+                writer.write(line.toString());
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            System.out.println(Constants.SLAB_CACHE_NOT_SAVED_MSG + this.file);
+            return;
+        }
+
+        try {
+            Files.move(written, this.file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.out.println(Constants.SLAB_CACHE_NOT_SAVED_MSG + this.file);
+        }
+    }
+
+    /**
+     * Returns the number of fillings in the cache.
+     * @since 1.0
+     */
+    public int size() {
+        this.load();
+
+        return this.fillings.size();
+    }
+
+    /**
+     * Returns the number of fillings that were solved and not read from the file.
+     * @since 1.0
+     */
+    public int getSolvedSlabs() {
+        return this.solvedSlabs.get();
+    }
+
+    /**
+     * Reads the fillings of the file once. A file that is missing, cannot be read or belongs to other
+     * orientations leaves the cache empty, it is written anew by the next save().
+     * @since 1.0
+     */
+    private synchronized void load() {
+        if (this.loaded) return;
+        this.loaded = true;
+        if (!Files.exists(this.file)) return;
+
+        try (BufferedReader reader = Files.newBufferedReader(this.file, StandardCharsets.UTF_8)) {
+            if (!getFingerprint().equals(reader.readLine())) return;
+
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                String[] fields = line.split(" ");
+                int[] filling = new int[2 * fields.length - 3];
+                filling[0] = Integer.parseInt(fields[1]);
+
+                for (int n = 2; n < fields.length; n++) {
+                    int separator = fields[n].indexOf(':');
+                    filling[2 * n - 3] = Integer.parseInt(fields[n].substring(0, separator));
+                    filling[2 * n - 2] = Integer.parseInt(fields[n].substring(separator + 1));
+                }
+                this.fillings.put(fields[0], filling);
+            }
+        } catch (IOException | RuntimeException e) {
+            this.fillings.clear();
+        }
+    }
+
+    /**
+     * Returns the file of the shared cache: the file of the system property SLAB_CACHE_PROPERTY if it is set, e.g. a
+     * temporary file for a benchmark, and else SLAB_CACHE_FILE_NAME in the home directory of the user.
+     * @since 1.0
+     */
+    private static Path getSharedFile() {
+        String file = System.getProperty(Constants.SLAB_CACHE_PROPERTY);
+        if (file != null && !file.isEmpty()) return Paths.get(file);
+
+        return Paths.get(System.getProperty("user.home"), Constants.SLAB_CACHE_FILE_NAME);
+    }
+
+    /**
+     * Solves the slab with DancingLinks within the budget and turns the placed parcels back into placements: the
+     * anchor of a parcel is the cell of its minimum corner. A filling that was not stopped by the budget is stored
+     * under the key, unless another solver stored one first, which is then returned instead.
+     * @param key                       the key the filling is stored under
+     * @return                          the filling
+     * @since 1.0
+     */
+    private int[] solveSlab(String key, List<Parcel> inputParcels, int[] counts, ContainerSpec slab,
+                            Duration budget) {
+        DancingLinks dancingLinks = new DancingLinks(inputParcels, counts.clone(), slab);
+        List<Parcel> parcels = dancingLinks.solve(budget);
+
+        int[] filling = new int[1 + 2 * parcels.size()];
+        filling[0] = dancingLinks.getMaxScore();
+        for (int n = 0; n < parcels.size(); n++) {
+            int i = Integer.MAX_VALUE;
+            int j = Integer.MAX_VALUE;
+            int k = Integer.MAX_VALUE;
+            for (ParcelComponent component : parcels.get(n).getComponents()) {
+                i = Math.min(i, component.getX());
+                j = Math.min(j, component.getY());
+                k = Math.min(k, component.getZ());
+            }
+
+            filling[1 + 2 * n] = parcels.get(n).getOrientationId();
+            filling[2 + 2 * n] = i + slab.getWidth() * j + slab.getSliceCells() * k;
+        }
+
+        if (dancingLinks.wasStoppedEarly()) return filling;
+
+        int[] stored = this.fillings.putIfAbsent(key, filling);
+        if (stored != null) return stored;
+
+        this.solvedSlabs.incrementAndGet();
+        this.changed = true;
+        return filling;
+    }
+
+    /**
+     * Returns the key of a filling, e.g. 5x8x4/3,4,5,3,4,5/0,0,0,20,13,11: the shape of the slab, the scores and
+     * the counts of the types.
+     * @since 1.0
+     */
+    private static String getKey(int[] values, int[] counts, int width, int height, int length) {
+        StringBuilder key = new StringBuilder().append(width).append('x').append(height).append('x').append(length);
+
+        for (int type = 0; type < Constants.SIZE_OF_PARCEL_TYPES; type++) {
+            key.append(type == 0 ? '/' : ',').append(values[type]);
+        }
+        for (int type = 0; type < Constants.SIZE_OF_PARCEL_TYPES; type++) {
+            key.append(type == 0 ? '/' : ',').append(counts[type]);
+        }
+
+        return key.toString();
+    }
+
+    /**
+     * Returns the fingerprint of the OrientationCache: the number of orientations and a hash of their types and
+     * cells, in the order of their ids.
+     * @since 1.0
+     */
+    private static String getFingerprint() {
+        int hash = 1;
+        for (Orientation orientation : OrientationCache.getAllOrientations()) {
+            hash = 31 * hash + orientation.getType();
+            for (int cell = 0; cell < orientation.getVolume(); cell++) {
+                hash = 31 * hash + orientation.getX(cell);
+                hash = 31 * hash + orientation.getY(cell);
+                hash = 31 * hash + orientation.getZ(cell);
+            }
+        }
+
+        return "orientations " + OrientationCache.getAllOrientations().size() + " " + Integer.toHexString(hash);
+    }
+}
@@ -0,0 +1,282 @@
+package app.Algorithms.DynamicProgramming;
+
+import app.Algorithms.Algorithm;
+import app.Entities.ContainerSpec;
+import app.Entities.Parcel;
+import app.Entities.ParcelType;
+import app.Utilities.Constants;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class which composes the container of slabs: containers of the cross-section of the container that are 1 up to
+ * SLAB_MAX_LENGTH Z-slices long, laid one after the other along the Z-axis. The filling of every slab comes from the
+ * SlabCache, so a slab is only solved the first time it is needed, also over runs of the program, and a container
+ * whose slabs are all cached is composed in milliseconds.
+ *
+ * Every length has two fillings: one of all the parcels and one of the share of the parcels the length has in the
+ * container, which is what the slabs get when there are not enough parcels for all of them. A type counts at most as
+ * many parcels as fit in the slab, so while there are enough parcels the two are the same filling. That makes at
+ * most 2 * SLAB_MAX_LENGTH slabs to solve, however many parcels there are.
+ *
+ * Which slabs are laid is a knapsack over the length of the container: the best score of the slices that are left
+ * and the parcels that are left is the best of all slabs that fit in both, plus the best score of what is left after
+ * it. The best scores are stored in a FrontierMap keyed by the slices and the parcels that are left.
+ *
+ * No parcel lies in two slabs, so the composition can score less than a solver of the whole container. The container
+ * of GreedyFirstFit stays the answer if it scores more.
+ * @see SlabCache
+ * @since 1.0
+ */
+public class SlabComposition extends Algorithm<List<Parcel>> {
+
+    /**
+     * @param cache                 the fillings of the slabs
+     * @param values                the score of one parcel of every type, indexed by the ordinal of the type
+     * @param volumes               the number of cells of one parcel of every type
+     * @param slabs                 the fillings of the slabs that score, see SlabCache#getFilling
+     * @param slabLengths           the number of Z-slices of every slab
+     * @param slabParcels           the number of parcels of every type every slab takes
+     * @param memo                  per number of slices and parcels that are left the best score of them
+     * @param key                   the state of the current slices, see #fillKey(int)
+     * @since 1.0
+     */
+    private final SlabCache cache;
+    private int[] values;
+    private int[] volumes;
+    private List<int[]> slabs;
+    private int[] slabLengths;
+    private int[][] slabParcels;
+    private FrontierMap memo;
+    private long[] key;
+
+    /**
+     * Constructor for the SlabComposition class, which uses the cache of the program.
+     * @param inputParcels          array list containing the input types of the parcels
+     * @param typeCounts            integer which tracks how often parcel types are used.
+     * @since 1.0
+     */
+    public SlabComposition(List<Parcel> inputParcels, int[] typeCounts) {
+        super(inputParcels, typeCounts);
+        this.cache = SlabCache.getShared();
+    }
+
+    /**
+     * Constructor for the SlabComposition class for a container of the given shape.
+     * @param spec                  the shape of the container
+     * @since 1.0
+     */
+    public SlabComposition(List<Parcel> inputParcels, int[] typeCounts, ContainerSpec spec) {
+        this(inputParcels, typeCounts, spec, SlabCache.getShared());
+    }
+
+    /**
+     * Constructor for the SlabComposition class with a cache of its own.
+     * @param cache                 the fillings of the slabs
+     * @since 1.0
+     */
+    public SlabComposition(List<Parcel> inputParcels, int[] typeCounts, ContainerSpec spec, SlabCache cache) {
+        super(inputParcels, typeCounts, spec);
+        this.cache = cache;
+    }
+
+    /**
+     * Composes the container of slabs and lays the slabs of the best score. The slabs that were solved are stored
+     * in the file of the cache.
+     * @return                          returns the array list of the placed parcels of the best packing.
+     * @since 1.0
+     */
+    @Override
+    public List<Parcel> solve() {
+        this.resetSolveState();
+        this.prepareBranchAndBound();
+        this.keepFirstFitIfBetter();
+        this.prepareComposition();
+
+        int best = this.compose(this.spec.getLength());
+
+        if(!this.outOfTime && best > this.maxScore){
+            this.layBestSlabs(best);
+            this.maxScore = best;
+            this.saveContainer();
+            this.saveGlobalTypeCounts();
+        }
+        this.cache.save();
+
+        System.out.println(Constants.PRINT_MAX_SCORE_STRING + this.maxScore);
+        System.out.println(Constants.PRINT_SLAB_FILLINGS_STRING + this.cache.size() + ", solved "
+                + this.cache.getSolvedSlabs());
+
+        return this.getPlacedParcels(this.bestPlacements);
+    }
+
+    /**
+     * Collects the scores of the types that are available, takes the fillings of the slabs from the SlabCache and
+     * creates the memo, which starts empty on every solve(). A slab that is not cached is solved for at most
+     * SLAB_SOLVE_BUDGET_MILLIS and never past the deadline of solve(Duration), once it is reached only the cached
+     * slabs are taken.
+     * @since 1.0
+     */
+    private void prepareComposition() {
+        List<Parcel> owners = new ArrayList<>();
+        this.values = new int[Constants.SIZE_OF_PARCEL_TYPES];
+        this.volumes = new int[Constants.SIZE_OF_PARCEL_TYPES];
+        for(ParcelType type : ParcelType.values()){
+            this.volumes[type.ordinal()] = type.getVolume();
+            if(!this.ownersByType.containsKey(type)) continue;
+
+            owners.add(this.ownersByType.get(type));
+            this.values[type.ordinal()] = this.ownersByType.get(type).getValue();
+        }
+
+        this.slabs = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+        for(int length = 1; length <= Math.min(this.spec.getLength(), Constants.SLAB_MAX_LENGTH); length++){
+            int cells = length * this.spec.getSliceCells();
+            int[] all = new int[Constants.SIZE_OF_PARCEL_TYPES];
+            int[] share = new int[Constants.SIZE_OF_PARCEL_TYPES];
+            for(int type = 0; type < Constants.SIZE_OF_PARCEL_TYPES; type++){
+                if(this.values[type] == 0) continue;
+
+                int count = this.typeCounts[type];
+                all[type] = Math.min(count, cells / this.volumes[type]);
+                share[type] = Math.min(all[type], (count * length + this.spec.getLength() - 1) / this.spec.getLength());
+            }
+
+            for(int[] counts : Arrays.equals(all, share) ? new int[][]{all} : new int[][]{all, share}){
+                int[] filling = this.cache.getFilling(owners, this.values, counts, this.spec.getWidth(),
+                        this.spec.getHeight(), length,
+                        this.limitToDeadline(Duration.ofMillis(Constants.SLAB_SOLVE_BUDGET_MILLIS)));
+                if(filling == null || filling[0] == 0) continue;
+
+                this.slabs.add(filling);
+                lengths.add(length);
+            }
+        }
+
+        this.slabLengths = lengths.stream().mapToInt(Integer::intValue).toArray();
+        this.slabParcels = new int[this.slabs.size()][Constants.SIZE_OF_PARCEL_TYPES];
+        for(int slab = 0; slab < this.slabs.size(); slab++){
+            int[] filling = this.slabs.get(slab);
+            for(int n = 1; n < filling.length; n += 2){
+                this.slabParcels[slab][this.placementIndex.getOrientation(filling[n]).getParcelType().ordinal()]++;
+            }
+        }
+
+        this.key = new long[1 + (Constants.SIZE_OF_PARCEL_TYPES + 3) / 4];
+        this.memo = new FrontierMap(this.key.length, Constants.FRONTIER_MAP_INITIAL_ENTRIES,
+                Constants.FRONTIER_MAP_MAX_ENTRIES);
+    }
+
+    /**
+     * Returns the best score of the given number of slices at the end of the container with the parcels that are
+     * left, every slab that fits in both is tried in front of them.
+     * @param slices                    the number of Z-slices that are left
+     * @return                          the best score of the slices, 0 when the time is up
+     * @since 1.0
+     */
+    private int compose(int slices) {
+        if(slices == 0) return 0;
+
+        this.fillKey(slices);
+        int known = this.memo.get(this.key);
+        if(known != FrontierMap.EMPTY) return known;
+        if(this.isOutOfTime()) return 0;
+        this.searchedNodes++;
+
+        int best = 0;
+        for(int slab = 0; slab < this.slabs.size(); slab++){
+            if(this.slabLengths[slab] > slices || !this.takeParcels(slab)) continue;
+
+            best = Math.max(best, this.slabs.get(slab)[0] + this.compose(slices - this.slabLengths[slab]));
+            this.giveParcelsBack(slab);
+        }
+
+        if(!this.outOfTime){
+            this.fillKey(slices);
+            this.memo.put(this.key, best);
+        }
+
+        return best;
+    }
+
+    /**
+     * Lays the slabs of the best score from the first Z-slice on, picking every time the slab whose score and the
+     * best score after it add up to what is left. The scores after it are in the memo, so the time is not checked
+     * again.
+     * @param score                     the best score of the whole container
+     * @since 1.0
+     */
+    private void layBestSlabs(int score) {
+        int slices = this.spec.getLength();
+
+        while(score > 0){
+            int laid = -1;
+            for(int slab = 0; laid < 0 && slab < this.slabs.size(); slab++){
+                if(this.slabLengths[slab] > slices || !this.takeParcels(slab)) continue;
+
+                int[] filling = this.slabs.get(slab);
+                if(filling[0] + this.compose(slices - this.slabLengths[slab]) != score){
+                    this.giveParcelsBack(slab);
+                    continue;
+                }
+
+                int offset = (this.spec.getLength() - slices) * this.spec.getSliceCells();
+                for(int n = 1; n < filling.length; n += 2){
+                    this.placeOrientation(filling[n], filling[n + 1] + offset);
+                }
+                score -= filling[0];
+                laid = slab;
+            }
+
+            if(laid < 0) return;
+            slices -= this.slabLengths[laid];
+        }
+    }
+
+    /**
+     * Takes the parcels of the slab from the parcels that are left, if there are enough of them.
+     * @return                          true if the parcels were taken
+     * @since 1.0
+     */
+    private boolean takeParcels(int slab) {
+        for(int type = 0; type < Constants.SIZE_OF_PARCEL_TYPES; type++){
+            if(this.slabParcels[slab][type] > this.typeCounts[type]) return false;
+        }
+
+        for(int type = 0; type < Constants.SIZE_OF_PARCEL_TYPES; type++){
+            this.typeCounts[type] -= this.slabParcels[slab][type];
+        }
+        return true;
+    }
+
+    /**
+     * the counterpart of takeParcels(), the parcels of the slab are left again.
+     * @since 1.0
+     */
+    private void giveParcelsBack(int slab) {
+        for(int type = 0; type < Constants.SIZE_OF_PARCEL_TYPES; type++){
+            this.typeCounts[type] += this.slabParcels[slab][type];
+        }
+    }
+
+    /**
+     * Writes the state into the key: the number of slices that are left and the parcels that are left, 16 bits per
+     * type. A type counts at most as many parcels as fit in the slices, more of them do not change the score.
+     * @param slices                    the number of Z-slices that are left
+     * @since 1.0
+     */
+    private void fillKey(int slices) {
+        int cells = slices * this.spec.getSliceCells();
+
+        this.key[0] = slices;
+        for(int type = 0; type < Constants.SIZE_OF_PARCEL_TYPES; type++){
+            long count = this.values[type] == 0 ? 0 : Math.min(this.typeCounts[type], cells / this.volumes[type]);
+            if((type & 3) == 0) this.key[1 + (type >> 2)] = 0;
+            this.key[1 + (type >> 2)] |= count << 16 * (type & 3);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package app.Algorithms.Genetic;
+
+import app.Algorithms.PlacementIndex;
+import app.Algorithms.PlacementStack;
+import app.Entities.ContainerSpec;
+import app.Entities.OccupancyGrid;
+import app.Entities.Orientation;
+import app.Entities.ParcelType;
+import app.Factories.OrientationCache;
+import app.Factories.OccupancyGridFactory;
+import app.Utilities.Constants;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The class BottomLeftDecoder turns a sequence of parcels into a packing the way GreedyNextFit does: every parcel of
+ * the sequence is placed on the first anchor, in the order of the cells, on which its orientation fits, and if it
+ * fits nowhere the other orientations of its type are tried after it. A type of which no orientation fits anymore
+ * is skipped for the rest of the sequence, since the container only gets fuller.
+ *
+ * The packing of the last decode is kept, so a sequence that only changed from some position on is decoded from
+ * there: the placements of the later positions are taken out again and only the rest of the sequence is packed.
+ *
+ * The decoder owns its grid and its placement arrays, so decoding allocates nothing. A decoder is used by one
+ * thread only, every island of the GeneticAlgorithm has its own.
+ * @see GeneticAlgorithm
+ * @see app.Algorithms.LocalSearch.SimulatedAnnealing
+ * @since 1.0
+ */
+public class BottomLeftDecoder {
+
+    /**
+     * @param index                     the PlacementIndex of the container
+     * @param spec                      the shape of the container
+     * @param grid                      the container the sequence is packed into
+     * @param orientationsByType        per type the ids of its orientations
+     * @param values                    per type the score of one parcel
+     * @param exhaustedAt               per type the position of the sequence from which on no orientation of it
+     *                                  fits anymore, NOT_EXHAUSTED while one still fits
+     * @param placements                the placements of the last decode
+     * @param positions                 per placement the position of its parcel in the sequence
+     * @param score                     the score of the last decode
+     * @param decodedParcels            the number of parcels all decodes together tried to place
+     * @since 1.0
+     */
+    private final PlacementIndex index;
+    private final ContainerSpec spec;
+    private final OccupancyGrid grid;
+    private final int[][] orientationsByType;
+    private final int[] values;
+    private final int[] exhaustedAt;
+    private final PlacementStack placements;
+    private int[] positions;
+    private int score;
+    private long decodedParcels;
+
+    /**
+     * @param NOT_EXHAUSTED             the position of a type which still fits
+     * @since 1.0
+     */
+    private static final int NOT_EXHAUSTED = Integer.MAX_VALUE;
+
+    /**
+     * Constructor for the BottomLeftDecoder class.
+     * @param index                     the PlacementIndex of the container
+     * @param values                    per type the score of one parcel, 0 for the types that are not packed
+     * @since 1.0
+     */
+    public BottomLeftDecoder(PlacementIndex index, int[] values) {
+        this.index = index;
+        this.spec = index.getSpec();
+        this.grid = OccupancyGridFactory.createGrid(this.spec);
+        this.values = values.clone();
+        this.exhaustedAt = new int[Constants.SIZE_OF_PARCEL_TYPES];
+        this.placements = new PlacementStack(this.spec.getMaxNumberOfParcels());
+        this.positions = new int[Math.max(1, this.spec.getMaxNumberOfParcels())];
+        Arrays.fill(this.exhaustedAt, NOT_EXHAUSTED);
+
+        this.orientationsByType = new int[Constants.SIZE_OF_PARCEL_TYPES][];
+        for (int type = 0; type < Constants.SIZE_OF_PARCEL_TYPES; type++) {
+            this.orientationsByType[type] = OrientationCache.getOrientations(ParcelType.fromFactoryId(type)).stream()
+                    .mapToInt(Orientation::getId).toArray();
+        }
+    }
+
+    /**
+     * Packs the parcels in the order of the sequence into the empty container.
+     * @param order                     the parcels in the order in which they are placed
+     * @param itemTypes                 per parcel its type
+     * @param preferred                 per parcel the orientation of its type that is tried first
+     * @return                          the score of the packing
+     * @since 1.0
+     */
+    public int decode(int[] order, int[] itemTypes, int[] preferred) {
+        return this.decode(order, itemTypes, preferred, 0);
+    }
+
+    /**
+     * Packs the sequence from the given position on. The placements of the parcels before it are kept from the
+     * last decode, so the sequence and the preferred orientations of those parcels have to be the same as then.
+     * @param from                      the first position of the sequence that changed since the last decode
+     * @return                          the score of the packing
+     * @since 1.0
+     */
+    public int decode(int[] order, int[] itemTypes, int[] preferred, int from) {
+        this.rewind(from);
+
+        int fromSlice = this.getFirstOpenSlice();
+        for (int position = from; position < order.length; position++) {
+            int item = order[position];
+            int type = itemTypes[item];
+            if (this.exhaustedAt[type] != NOT_EXHAUSTED) continue;
+
+            this.decodedParcels++;
+            if (this.place(type, preferred[item], fromSlice, position)) this.score += this.values[type];
+            else this.exhaustedAt[type] = position;
+
+            while (fromSlice < this.spec.getLength()
+                    && this.grid.getSlice(fromSlice) == this.spec.getFullSliceMask()) fromSlice++;
+        }
+
+        return this.score;
+    }
+
+    /**
+     * Lists the parcels of a sequence, the most valuable first, with as many of every type as the counts say but
+     * never more than fit in the container by volume.
+     * @param counts                    per type the number of parcels
+     * @param values                    per type the score of one parcel, 0 for the types that are not packed
+     * @return                          per parcel its type
+     * @since 1.0
+     */
+    public static int[] createItemTypes(int[] counts, int[] values, ContainerSpec spec) {
+        List<Integer> items = new ArrayList<>();
+        for (ParcelType type : ParcelType.values()) {
+            if (values[type.ordinal()] == 0) continue;
+
+            int count = Math.min(counts[type.ordinal()], spec.getVolume() / type.getVolume());
+            for (int n = 0; n < count; n++) items.add(type.ordinal());
+        }
+
+        items.sort((p, q) -> Integer.compare(values[q], values[p]));
+        return items.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Returns the placements of the last decode in the order in which they were placed.
+     * @since 1.0
+     */
+    public PlacementStack getPlacements() {
+        return this.placements;
+    }
+
+    /**
+     * Returns the number of orientations of the type.
+     * @since 1.0
+     */
+    public int getOrientationCount(int type) {
+        return this.orientationsByType[type].length;
+    }
+
+    /**
+     * Returns the number of parcels all decodes together tried to place.
+     * @since 1.0
+     */
+    public long getDecodedParcels() {
+        return this.decodedParcels;
+    }
+
+    /**
+     * Takes the placements of the positions from the given one on out of the container, and the types that were
+     * exhausted from there on may fit again.
+     * @since 1.0
+     */
+    private void rewind(int from) {
+        if (from == 0) {
+            this.grid.clear();
+            this.placements.clear();
+            this.score = 0;
+        }
+
+        while (this.placements.size() > 0 && this.positions[this.placements.size() - 1] >= from) {
+            int last = this.placements.size() - 1;
+            int orientationId = this.placements.getOrientationId(last);
+            int anchor = this.placements.getAnchor(last);
+
+            int k = this.index.getCellZ(anchor);
+            for (int d = 0; d < this.index.getDepth(orientationId); d++) {
+                this.grid.release(k + d, this.index.getAnchorMask(orientationId, anchor, d));
+            }
+            this.score -= this.values[this.index.getOrientation(orientationId).getParcelType().ordinal()];
+            this.placements.pop();
+        }
+
+        for (int type = 0; type < Constants.SIZE_OF_PARCEL_TYPES; type++) {
+            if (this.exhaustedAt[type] >= from) this.exhaustedAt[type] = NOT_EXHAUSTED;
+        }
+    }
+
+    /**
+     * Returns the first Z-slice that is not full.
+     * @since 1.0
+     */
+    private int getFirstOpenSlice() {
+        int slice = 0;
+        while (slice < this.spec.getLength() && this.grid.getSlice(slice) == this.spec.getFullSliceMask()) slice++;
+
+        return slice;
+    }
+
+    /**
+     * Places a parcel of the type on the first anchor that fits, trying its orientations from the preferred one on.
+     * @return                          true if the parcel was placed
+     * @since 1.0
+     */
+    private boolean place(int type, int preferred, int fromSlice, int position) {
+        int[] orientations = this.orientationsByType[type];
+
+        for (int r = 0; r < orientations.length; r++) {
+            int orientationId = orientations[(preferred + r) % orientations.length];
+            int anchor = this.index.findFirstFit(this.grid, orientationId, fromSlice);
+            if (anchor == Constants.NO_FITTING_ANCHOR) continue;
+
+            int k = this.index.getCellZ(anchor);
+            for (int d = 0; d < this.index.getDepth(orientationId); d++) {
+                this.grid.occupy(k + d, this.index.getAnchorMask(orientationId, anchor, d));
+            }
+
+            if (this.placements.size() == this.positions.length) {
+                this.positions = Arrays.copyOf(this.positions, 2 * this.positions.length);
+            }
+            this.positions[this.placements.size()] = position;
+            this.placements.push(orientationId, anchor);
+            return true;
+        }
+
+        return false;
+    }
+}
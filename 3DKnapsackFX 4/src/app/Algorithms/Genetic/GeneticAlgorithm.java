@@ -0,0 +1,398 @@
+package app.Algorithms.Genetic;
+
+import app.Algorithms.Algorithm;
+import app.Entities.ContainerSpec;
+import app.Entities.Parcel;
+import app.Entities.ParcelType;
+import app.Utilities.Constants;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Class which conducts the Genetic Algorithm. A chromosome is an order of the parcels together with the orientation
+ * every parcel tries first, and it is turned into a packing by the BottomLeftDecoder, the way GreedyNextFit packs.
+ * Only as many parcels of a type take part as fit in the container by volume.
+ *
+ * The population is split into islands which evolve on their own, each on a thread of a ForkJoinPool with its own
+ * decoder and random numbers. After every GENETIC_MIGRATION_INTERVAL generations the best chromosome of every island
+ * replaces the worst one of the next island. The islands only meet there, so solve() returns the same packing on
+ * any number of threads.
+ *
+ * The container of GreedyFirstFit is the first best container, so the result never scores below it, and the best
+ * container is optimized like the ones of the greedy algorithms, see Algorithm#optimizeCargoSpace(). solve() runs
+ * GENETIC_GENERATIONS generations, solve(Duration) evolves until the time is up.
+ * @see BottomLeftDecoder
+ * @since 1.0
+ */
+public class GeneticAlgorithm extends Algorithm<List<Parcel>> {
+
+    /**
+     * @param islands               the number of islands, which evolve side by side
+     * @param itemTypes             per parcel of the chromosomes its type
+     * @param orientationCounts     per type the number of its orientations
+     * @param values                per type the score of one parcel
+     * @param generations           the number of generations of the last solve
+     * @since 1.0
+     */
+    private final int islands;
+    private int[] itemTypes;
+    private int[] orientationCounts;
+    private int[] values;
+    private int generations;
+
+    /**
+     * Constructor for the GeneticAlgorithm class.
+     * @param inputParcels          array list containing the input types of the parcels
+     * @param typeCounts            integer which tracks how often parcel types are used.
+     * @since 1.0
+     */
+    public GeneticAlgorithm(List<Parcel> inputParcels, int[] typeCounts) {
+        this(inputParcels, typeCounts, ContainerSpec.DEFAULT);
+    }
+
+    /**
+     * Constructor for the GeneticAlgorithm class for a container of the given shape.
+     * @param spec                  the shape of the container
+     * @since 1.0
+     */
+    public GeneticAlgorithm(List<Parcel> inputParcels, int[] typeCounts, ContainerSpec spec) {
+        this(inputParcels, typeCounts, spec, Constants.GENETIC_ISLANDS);
+    }
+
+    /**
+     * Constructor for the GeneticAlgorithm class with the given number of islands.
+     * @param spec                  the shape of the container
+     * @param islands               the number of islands, they run on at most as many threads as there are cores
+     * @since 1.0
+     */
+    public GeneticAlgorithm(List<Parcel> inputParcels, int[] typeCounts, ContainerSpec spec, int islands) {
+        super(inputParcels, typeCounts, spec);
+        this.islands = Math.max(1, islands);
+    }
+
+    /**
+     * Evolves the islands for GENETIC_GENERATIONS generations.
+     * @return                          returns the array list of the placed parcels of the best packing.
+     * @since 1.0
+     */
+    @Override
+    public List<Parcel> solve() {
+        return this.evolve(Constants.GENETIC_GENERATIONS);
+    }
+
+    /**
+     * Evolves the islands until the deadline.
+     * @since 1.0
+     */
+    @Override
+    protected List<Parcel> solveWithinDeadline() {
+        return this.evolve(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Evolves the islands for the given number of generations, or until the time is up, and lays the best
+     * chromosome of all islands if it beats the container of GreedyFirstFit.
+     * @since 1.0
+     */
+    private List<Parcel> evolve(int maxGenerations) {
+        this.resetSolveState();
+        this.prepareBranchAndBound();
+        this.keepFirstFitIfBetter();
+        this.layBestPlacements();
+        this.prepareItems();
+
+        Island[] population = new Island[this.islands];
+        for (int n = 0; n < this.islands; n++) population[n] = new Island(n);
+
+        int threads = Math.min(this.islands, Runtime.getRuntime().availableProcessors());
+        ForkJoinPool pool = threads > 1 ? new ForkJoinPool(threads) : null;
+        this.generations = 0;
+
+        try {
+            while (this.generations < maxGenerations && !this.isPastDeadline()) {
+                int steps = (int) Math.min(Constants.GENETIC_MIGRATION_INTERVAL,
+                        (long) maxGenerations - this.generations);
+
+                if (pool == null) {
+                    for (Island island : population) island.evolve(steps);
+                } else {
+                    List<ForkJoinTask<?>> tasks = new ArrayList<>();
+                    for (Island island : population) tasks.add(ForkJoinTask.adapt(() -> island.evolve(steps)));
+                    pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+                }
+
+                this.generations += steps;
+                this.migrate(population);
+            }
+        } finally {
+            if (pool != null) pool.shutdown();
+        }
+
+        Island best = population[0];
+        for (Island island : population) {
+            if (island.fitness[island.getBest()] > best.fitness[best.getBest()]) best = island;
+        }
+        this.maxScore += this.optimizeCargoSpace();
+        this.saveContainer();
+        this.layChromosome(best);
+
+        System.out.println(Constants.PRINT_MAX_SCORE_STRING + this.maxScore);
+        System.out.println(Constants.PRINT_GENERATIONS_STRING + this.generations);
+
+        return this.getPlacedParcels(this.bestPlacements);
+    }
+
+    /**
+     * Lists the parcels of the chromosomes, at most as many of every type as fit in the container by volume.
+     * @since 1.0
+     */
+    private void prepareItems() {
+        this.values = new int[Constants.SIZE_OF_PARCEL_TYPES];
+        this.orientationCounts = new int[Constants.SIZE_OF_PARCEL_TYPES];
+
+        for (ParcelType type : this.ownersByType.keySet()) {
+            this.values[type.ordinal()] = this.ownersByType.get(type).getValue();
+            this.orientationCounts[type.ordinal()] = this.variationsByType.get(type).size();
+        }
+
+        this.itemTypes = BottomLeftDecoder.createItemTypes(this.initialTypeCounts, this.values, this.spec);
+    }
+
+    /**
+     * The best chromosome of every island replaces the worst one of the next island.
+     * @since 1.0
+     */
+    private void migrate(Island[] population) {
+        if (population.length < 2) return;
+
+        int[] migrants = new int[population.length];
+        for (int n = 0; n < population.length; n++) migrants[n] = population[n].getBest();
+
+        for (int n = 0; n < population.length; n++) {
+            Island from = population[n];
+            Island to = population[(n + 1) % population.length];
+            to.receive(from.orders[migrants[n]], from.preferred[migrants[n]], from.fitness[migrants[n]]);
+        }
+    }
+
+    /**
+     * Decodes the chromosome once more and lays its optimized placements as the best container instead of the
+     * ones of GreedyFirstFit, if it scores more than them.
+     * @since 1.0
+     */
+    private void layChromosome(Island island) {
+        int best = island.getBest();
+        if (island.fitness[best] <= this.maxScore) return;
+
+        BottomLeftDecoder decoder = new BottomLeftDecoder(this.placementIndex, this.values);
+        this.maxScore = decoder.decode(island.orders[best], this.itemTypes, island.preferred[best]);
+
+        this.replacePlacements(decoder.getPlacements());
+        this.maxScore += this.optimizeCargoSpace();
+        this.saveContainer();
+        this.saveGlobalTypeCounts();
+    }
+
+    /**
+     * Returns the number of generations of the last solve.
+     * @since 1.0
+     */
+    public int getGenerations() {
+        return this.generations;
+    }
+
+    /**
+     * An island of the population: its chromosomes, their fitness and the decoder and random numbers of its thread.
+     * The arrays of the next generation are allocated once and swapped with the current ones.
+     * @since 1.0
+     */
+    private final class Island {
+
+        private final SplittableRandom random;
+        private final BottomLeftDecoder decoder;
+        private int[][] orders;
+        private int[][] preferred;
+        private int[] fitness;
+        private int[][] nextOrders;
+        private int[][] nextPreferred;
+        private int[] nextFitness;
+        private final boolean[] taken;
+
+        /**
+         * Creates the first generation: the parcels sorted by value, as GreedyNextFit packs them, and random
+         * orders of them.
+         * @since 1.0
+         */
+        private Island(int number) {
+            int size = Constants.GENETIC_POPULATION;
+            int items = GeneticAlgorithm.this.itemTypes.length;
+
+            this.random = new SplittableRandom(Constants.GENETIC_SEED + number);
+            this.decoder = new BottomLeftDecoder(GeneticAlgorithm.this.placementIndex, GeneticAlgorithm.this.values);
+            this.orders = new int[size][items];
+            this.preferred = new int[size][items];
+            this.fitness = new int[size];
+            this.nextOrders = new int[size][items];
+            this.nextPreferred = new int[size][items];
+            this.nextFitness = new int[size];
+            this.taken = new boolean[items];
+
+            for (int c = 0; c < size; c++) {
+                for (int n = 0; n < items; n++) this.orders[c][n] = n;
+                if (c > 0) {
+                    for (int n = items - 1; n > 0; n--) this.swap(this.orders[c], n, this.random.nextInt(n + 1));
+                    for (int n = 0; n < items; n++) this.preferred[c][n] = this.randomOrientation(n);
+                }
+                this.fitness[c] = this.evaluate(this.orders[c], this.preferred[c]);
+            }
+        }
+
+        /**
+         * Evolves the island for the given number of generations. The best chromosome is kept, every other one is
+         * the order crossover of two parents chosen by tournament, mutated by swaps and new orientations.
+         * @since 1.0
+         */
+        private void evolve(int steps) {
+            for (int step = 0; step < steps; step++) {
+                int best = this.getBest();
+                this.copy(this.orders[best], this.preferred[best], this.nextOrders[0], this.nextPreferred[0]);
+                this.nextFitness[0] = this.fitness[best];
+
+                for (int c = 1; c < this.orders.length; c++) {
+                    int first = this.select();
+                    int second = this.select();
+                    this.crossover(first, second, this.nextOrders[c], this.nextPreferred[c]);
+                    this.mutate(this.nextOrders[c], this.nextPreferred[c]);
+                    this.nextFitness[c] = this.evaluate(this.nextOrders[c], this.nextPreferred[c]);
+                }
+
+                int[][] orders = this.orders;
+                this.orders = this.nextOrders;
+                this.nextOrders = orders;
+                int[][] preferred = this.preferred;
+                this.preferred = this.nextPreferred;
+                this.nextPreferred = preferred;
+                int[] fitness = this.fitness;
+                this.fitness = this.nextFitness;
+                this.nextFitness = fitness;
+            }
+        }
+
+        /**
+         * Replaces the worst chromosome of the island by a migrant.
+         * @since 1.0
+         */
+        private void receive(int[] order, int[] orientations, int score) {
+            int worst = 0;
+            for (int c = 1; c < this.fitness.length; c++) {
+                if (this.fitness[c] < this.fitness[worst]) worst = c;
+            }
+
+            this.copy(order, orientations, this.orders[worst], this.preferred[worst]);
+            this.fitness[worst] = score;
+        }
+
+        /**
+         * Returns the chromosome with the highest fitness, the first one if several have it.
+         * @since 1.0
+         */
+        private int getBest() {
+            int best = 0;
+            for (int c = 1; c < this.fitness.length; c++) {
+                if (this.fitness[c] > this.fitness[best]) best = c;
+            }
+
+            return best;
+        }
+
+        /**
+         * Returns the fittest of GENETIC_TOURNAMENT_SIZE random chromosomes.
+         * @since 1.0
+         */
+        private int select() {
+            int winner = this.random.nextInt(this.fitness.length);
+            for (int n = 1; n < Constants.GENETIC_TOURNAMENT_SIZE; n++) {
+                int other = this.random.nextInt(this.fitness.length);
+                if (this.fitness[other] > this.fitness[winner]) winner = other;
+            }
+
+            return winner;
+        }
+
+        /**
+         * Order crossover: the child keeps a random segment of the first parent in place and takes the other
+         * parcels in the order of the second parent. Every parcel keeps the orientation of the parent it comes from.
+         * @since 1.0
+         */
+        private void crossover(int first, int second, int[] order, int[] orientations) {
+            int items = order.length;
+            if (items == 0) return;
+
+            int start = this.random.nextInt(items);
+            int end = start + this.random.nextInt(items - start) + 1;
+            Arrays.fill(this.taken, false);
+
+            for (int n = start; n < end; n++) {
+                int item = this.orders[first][n];
+                order[n] = item;
+                orientations[item] = this.preferred[first][item];
+                this.taken[item] = true;
+            }
+
+            int position = end % items;
+            for (int n = 0; n < items; n++) {
+                int item = this.orders[second][(end + n) % items];
+                if (this.taken[item]) continue;
+
+                order[position] = item;
+                orientations[item] = this.preferred[second][item];
+                position = (position + 1) % items;
+            }
+        }
+
+        /**
+         * Swaps two parcels of the order and gives a parcel another orientation, each with GENETIC_MUTATION_RATE.
+         * @since 1.0
+         */
+        private void mutate(int[] order, int[] orientations) {
+            int items = order.length;
+            if (items < 2) return;
+
+            if (this.random.nextDouble() < Constants.GENETIC_MUTATION_RATE) {
+                this.swap(order, this.random.nextInt(items), this.random.nextInt(items));
+            }
+            if (this.random.nextDouble() < Constants.GENETIC_MUTATION_RATE) {
+                int item = this.random.nextInt(items);
+                orientations[item] = this.randomOrientation(item);
+            }
+        }
+
+        /**
+         * Returns the score of the packing of the chromosome.
+         * @since 1.0
+         */
+        private int evaluate(int[] order, int[] orientations) {
+            return this.decoder.decode(order, GeneticAlgorithm.this.itemTypes, orientations);
+        }
+
+        private int randomOrientation(int item) {
+            return this.random.nextInt(GeneticAlgorithm.this.orientationCounts[GeneticAlgorithm.this.itemTypes[item]]);
+        }
+
+        private void copy(int[] order, int[] orientations, int[] toOrder, int[] toOrientations) {
+            System.arraycopy(order, 0, toOrder, 0, order.length);
+            System.arraycopy(orientations, 0, toOrientations, 0, orientations.length);
+        }
+
+        private void swap(int[] order, int n, int m) {
+            int item = order[n];
+            order[n] = order[m];
+            order[m] = item;
+        }
+    }
+}
@@ -2,9 +2,10 @@ package app.Algorithms.Greedy;
 
 import app.Algorithms.Algorithm;
 import app.Utilities.Constants;
+import app.Entities.ContainerSpec;
 import app.Entities.Parcel;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -24,50 +25,76 @@ public class GreedyFirstFit extends Algorithm<List<Parcel>> {
     }
 
     /**
-     * method used to solve the knapsack problem, this is done by first sorting the parcels from highest to lowest
+     * Constructor for the GreedyFirstFit class for a container of the given shape.
+     * @param spec                  the shape of the container
+     * @since 1.0
+     */
+    public GreedyFirstFit(List<Parcel> inputParcels, int[] typeCounts, ContainerSpec spec) {
+        super(inputParcels, typeCounts, spec);
+    }
+
+    /**
+     * method used to solve the knapsack problem, the container is filled by #packContainer() where after the cargo
+     * space is optimized. The values are stored in the variable maxScore which is also printed in the console.
+     * @see #packContainer()
+     * @return                              returns the array list of the placed parcels containing all the parcels
+     *                                      plus the proper variations which need to be placed in the container.
+     * @since 1.0
+     */
+    @Override
+    public List<Parcel> solve() {
+        this.resetSolveState();
+        this.packContainer();
+
+        this.maxScore += this.optimizeCargoSpace();
+
+        System.out.println(Constants.PRINT_MAX_SCORE_STRING + this.maxScore);
+
+        return this.getPlacedParcels(this.placements);
+    }
+
+    /**
+     * fills the empty container, this is done by first sorting the parcels from highest to lowest
      * value. Hereafter, every position of the container is checked and it is checked if the parcel is valid
      * -so that it can be placed-. Due to the previously computed sorting the most valuable packages will have
      * the highest priority. where after the container is filled until no further parcels can be inserted, the
-     * values are then added to and stored in the variable maxScore which is also printed in the console.
+     * values are then added to the variable maxScore. The backtracking algorithms start from this container.
+     * All parcels of a type have the same variations, so once one of them does not fit on a position the others
+     * of that type are not tried there until the container changes.
      * @see #isValidForPosition(int, int, int, Parcel)
-     * @return                              returns the array list solutionParcels containing all the parcels plus
-     *                                      the proper variations which need to be placed in the container.
      * @since 1.0
      */
-    @Override
-    public List<Parcel> solve() {
-        List<Parcel> solutionParcels = new ArrayList<>();
-
+    public void packContainer() {
         this.inputParcels.sort((o1, o2) -> Double.compare(
                 o2.getValue(),
                 o1.getValue()));
+        boolean[] used = new boolean[this.inputParcels.size()];
+        boolean[] notFitting = new boolean[Constants.SIZE_OF_PARCEL_TYPES];
 
-        for (int k = 0; k < Constants.CONTAINER_LENGTH; k++) {
-            for (int j = 0; j < Constants.CONTAINER_HEIGHT; j++) {
-                for (int i = 0; i < Constants.CONTAINER_WIDTH; i++) {
+        for (int k = 0; k < this.spec.getLength(); k++) {
+            for (int j = 0; j < this.spec.getHeight(); j++) {
+                for (int i = 0; i < this.spec.getWidth(); i++) {
+                    Arrays.fill(notFitting, false);
 
-                    for(Parcel parcel : inputParcels){
-                        if(parcel.isUsed()) continue;
+                    for(int p = 0; p < this.inputParcels.size(); p++){
+                        Parcel parcel = this.inputParcels.get(p);
+                        if(used[p] || notFitting[parcel.getParcelType().ordinal()]) continue;
 
-                        for(Parcel variation : parcel.getAllVariations()){
+                        for(Parcel variation : this.getVariations(parcel)){
                             if(isValidForPosition(i, j, k, variation)){
                                 placeParcel(i, j, k, variation);
                                 this.maxScore += parcel.getValue();
-                                solutionParcels.add(variation);
-                                parcel.setUsed(true);
+                                used[p] = true;
                                 break;
                             }
                         }
+
+                        if(used[p]) Arrays.fill(notFitting, false);
+                        else notFitting[parcel.getParcelType().ordinal()] = true;
                     }
 
                 }
             }
         }
-
-        this.maxScore += this.optimizeCargoSpace(solutionParcels);
-
-        System.out.println(Constants.PRINT_MAX_SCORE_STRING + this.maxScore);
-
-        return solutionParcels;
     }
 }
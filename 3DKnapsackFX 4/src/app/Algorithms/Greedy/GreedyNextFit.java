@@ -1,10 +1,10 @@
 package app.Algorithms.Greedy;
 
 import app.Algorithms.Algorithm;
+import app.Entities.ContainerSpec;
 import app.Entities.Parcel;
 import app.Utilities.Constants;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -23,31 +23,38 @@ public class GreedyNextFit extends Algorithm<List<Parcel>> {
         super(inputParcels, typeCounts);
     }
 
+    /**
+     * Constructor for the GreedyNextFit class for a container of the given shape.
+     * @param spec                  the shape of the container
+     * @since 1.0
+     */
+    public GreedyNextFit(List<Parcel> inputParcels, int[] typeCounts, ContainerSpec spec) {
+        super(inputParcels, typeCounts, spec);
+    }
+
     @Override
     public List<Parcel> solve() {
-        List<Parcel> solutionParcels = new ArrayList<>();
-
+        this.resetSolveState();
         this.inputParcels.sort((o1, o2) -> Double.compare(
                 o2.getValue(),
                 o1.getValue()));
 
         for(Parcel parcel : inputParcels){
-            for(Parcel variation : parcel.getAllVariations()){
+            for(Parcel variation : this.getVariations(parcel)){
                 int[] success = tryToPlaceParcel(variation);
 
                 if(success[0] == Constants.PLACED_PARCEL_SUCCESS_CODE){
                     placeParcel(success[1], success[2], success[3], variation);
                     this.maxScore += parcel.getValue();
-                    solutionParcels.add(variation);
                     break;
                 }
             }
         }
 
-        this.maxScore += this.optimizeCargoSpace(solutionParcels);
+        this.maxScore += this.optimizeCargoSpace();
 
         System.out.println(Constants.PRINT_MAX_SCORE_STRING + this.maxScore);
 
-        return solutionParcels;
+        return this.getPlacedParcels(this.placements);
     }
 }
@@ -0,0 +1,489 @@
+package app.Algorithms.LocalSearch;
+
+import app.Algorithms.Algorithm;
+import app.Algorithms.PlacementStack;
+import app.Entities.ContainerSpec;
+import app.Entities.Orientation;
+import app.Entities.Parcel;
+import app.Entities.ParcelComponent;
+import app.Entities.ParcelType;
+import app.Factories.OrientationCache;
+import app.Utilities.Constants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Class which conducts the Large Neighbourhood Search. It refines a finished packing, the container of
+ * GreedyFirstFit or the one given by setStartingPacking(List), by destroying a region of it and repairing it.
+ *
+ * A region is a window of LNS_WINDOW_SLICES Z-slices. Every other round all parcels that touch the window are taken
+ * out, the other rounds only the parcels of one type. The region is then refilled by a backtracking search that
+ * places the parcels on the first empty cell like FastBacktracking, with the KnapsackBound of the free cells of the
+ * region as bound, and is given up after LNS_REPAIR_NODE_LIMIT nodes. The refill is only kept if it scores more than
+ * the parcels that were taken out. Every repair is a sub-problem of a few hundred cells, so the search scales to
+ * the whole container where FastBacktracking cannot.
+ *
+ * A parcel that was taken out reaches at most the depth of the deepest orientation beyond the window and the refill
+ * stays within the slices of the parcels that were taken out, so windows that far apart are disjoint. The windows of
+ * a round are repaired side by side, each by a copy of the algorithm on a thread of a ForkJoinPool, and the repairs
+ * are applied in the order of the windows, so the search returns the same container on any number of threads.
+ *
+ * solve() runs LNS_ROUNDS rounds, or less once no window of a whole cycle improves, solve(Duration) runs rounds until
+ * the time is up.
+ * @since 1.0
+ */
+public class LargeNeighbourhoodSearch extends Algorithm<List<Parcel>> {
+
+    /**
+     * @param parallelism           number of threads the repairs use, 1 repairs on the calling thread only
+     * @param startingPacking       the placements the search starts from, null for the container of GreedyFirstFit
+     * @param values                per type the score of one parcel
+     * @param orientationsByType    per type the ids of its orientations
+     * @param maxDepth              the most Z-slices one orientation of the parcels touches
+     * @param repairs               the number of repairs of the last solve
+     * @param improvements          the number of repairs of the last solve that were kept
+     * @param bestRefill            the score of the best refill of the running repair
+     * @param bestRefillPlacements  the placements of the best refill of the running repair
+     * @param repairNodes           the number of nodes of the running repair
+     * @param repairLow             the first slice the refill of a worker may use
+     * @param repairHigh            the last slice the refill of a worker may use
+     * @param removedScore          the score of the parcels a worker took out
+     * @since 1.0
+     */
+    private final int parallelism;
+    private PlacementStack startingPacking;
+    private int[] values;
+    private int[][] orientationsByType;
+    private int maxDepth;
+    private long repairs;
+    private long improvements;
+    private int bestRefill;
+    private PlacementStack bestRefillPlacements;
+    private long repairNodes;
+    private int repairLow;
+    private int repairHigh;
+    private int removedScore;
+
+    /**
+     * Constructor for the LargeNeighbourhoodSearch class.
+     * @param inputParcels          array list containing the input types of the parcels
+     * @param typeCounts            integer which tracks how often parcel types are used.
+     * @since 1.0
+     */
+    public LargeNeighbourhoodSearch(List<Parcel> inputParcels, int[] typeCounts) {
+        this(inputParcels, typeCounts, ContainerSpec.DEFAULT);
+    }
+
+    /**
+     * Constructor for the LargeNeighbourhoodSearch class for a container of the given shape.
+     * @param spec                  the shape of the container
+     * @since 1.0
+     */
+    public LargeNeighbourhoodSearch(List<Parcel> inputParcels, int[] typeCounts, ContainerSpec spec) {
+        this(inputParcels, typeCounts, spec, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor for the LargeNeighbourhoodSearch class which repairs on the given number of threads.
+     * @param spec                  the shape of the container
+     * @param parallelism           number of threads, 1 repairs on the calling thread only
+     * @since 1.0
+     */
+    public LargeNeighbourhoodSearch(List<Parcel> inputParcels, int[] typeCounts, ContainerSpec spec,
+                                    int parallelism) {
+        super(inputParcels, typeCounts, spec);
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Constructor for a worker which repairs one region of the current container of the other one.
+     * @since 1.0
+     */
+    private LargeNeighbourhoodSearch(LargeNeighbourhoodSearch other) {
+        super(other);
+        this.parallelism = 1;
+        this.values = other.values;
+        this.orientationsByType = other.orientationsByType;
+        this.maxDepth = other.maxDepth;
+    }
+
+    /**
+     * Sets the packing the search starts from, e.g. the placed parcels another algorithm returned. Every parcel
+     * has to be of a type the algorithm was given.
+     * @param placedParcels         the placed parcels, null to start from the container of GreedyFirstFit
+     * @since 1.0
+     */
+    public void setStartingPacking(List<Parcel> placedParcels) {
+        if (placedParcels == null) {
+            this.startingPacking = null;
+            return;
+        }
+
+        this.startingPacking = new PlacementStack(placedParcels.size());
+        for (Parcel parcel : placedParcels) {
+            if (!this.ownersByType.containsKey(parcel.getParcelType())) {
+                throw new IllegalArgumentException(Constants.UNKNOWN_PARCEL_TYPE_MSG + parcel.getParcelType());
+            }
+
+            int i = Integer.MAX_VALUE;
+            int j = Integer.MAX_VALUE;
+            int k = Integer.MAX_VALUE;
+            for (ParcelComponent component : parcel.getComponents()) {
+                i = Math.min(i, component.getX());
+                j = Math.min(j, component.getY());
+                k = Math.min(k, component.getZ());
+            }
+            this.startingPacking.push(parcel.getOrientationId(), this.placementIndex.getCell(i, j, k));
+        }
+    }
+
+    /**
+     * Refines the packing for LNS_ROUNDS rounds, or until a whole cycle of windows brings no improvement.
+     * @return                          returns the array list of the placed parcels of the best container.
+     * @since 1.0
+     */
+    @Override
+    public List<Parcel> solve() {
+        return this.refine(Constants.LNS_ROUNDS);
+    }
+
+    /**
+     * Refines the packing until the deadline.
+     * @since 1.0
+     */
+    @Override
+    protected List<Parcel> solveWithinDeadline() {
+        return this.refine(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Starts from the packing and repairs the windows of every round until the rounds are over, the time is up or
+     * a whole cycle of windows brought no improvement.
+     * @since 1.0
+     */
+    private List<Parcel> refine(int maxRounds) {
+        this.resetSolveState();
+        this.prepareBranchAndBound();
+        this.keepFirstFitIfBetter();
+        this.layBestPlacements();
+        this.prepareRepairs();
+        if (this.startingPacking != null) this.layStartingPacking();
+
+        PlacementStack start = new PlacementStack(this.placements.size());
+        start.copyFrom(this.placements);
+        int startScore = this.maxScore;
+
+        int spacing = Constants.LNS_WINDOW_SLICES + 2 * (this.maxDepth - 1);
+        int cycle = 2 * spacing;
+        int roundsWithout = 0;
+        ForkJoinPool pool = this.parallelism > 1 ? new ForkJoinPool(this.parallelism) : null;
+
+        try {
+            for (int round = 0; round < maxRounds && roundsWithout < cycle && !this.isPastDeadline(); round++) {
+                int offset = round / 2 % spacing - Constants.LNS_WINDOW_SLICES + 1;
+                int type = round % 2 == 0 ? Constants.ALL_PARCEL_TYPES : this.getRoundType(round / 2);
+
+                List<LargeNeighbourhoodSearch> workers = new ArrayList<>();
+                for (int k = offset; k < this.spec.getLength(); k += spacing) {
+                    int from = Math.max(0, k);
+                    int to = Math.min(this.spec.getLength() - 1, k + Constants.LNS_WINDOW_SLICES - 1);
+                    if (from <= to) workers.add(this.createRepair(from, to, type));
+                }
+
+                if (pool == null || workers.size() == 1) {
+                    for (LargeNeighbourhoodSearch worker : workers) worker.repair();
+                } else {
+                    List<ForkJoinTask<?>> tasks = new ArrayList<>();
+                    for (LargeNeighbourhoodSearch worker : workers) tasks.add(ForkJoinTask.adapt(worker::repair));
+                    pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+                }
+
+                boolean improved = this.applyRepairs(workers);
+                roundsWithout = improved ? 0 : roundsWithout + 1;
+            }
+        } finally {
+            if (pool != null) pool.shutdown();
+        }
+
+        this.maxScore += this.optimizeCargoSpace();
+        this.saveContainer();
+        this.keepBetterStart(start, startScore);
+        this.saveGlobalTypeCounts();
+
+        System.out.println(Constants.PRINT_MAX_SCORE_STRING + this.maxScore);
+        System.out.println(Constants.PRINT_IMPROVEMENTS_STRING + this.improvements + " / " + this.repairs);
+
+        return this.getPlacedParcels(this.bestPlacements);
+    }
+
+    /**
+     * optimizeCargoSpace() turns two B into three A outside the counts, so a refined container can score less after
+     * it than the starting one. The starting container is optimized as well and becomes the best one if it scores
+     * more.
+     * @param start                 the placements of the starting container
+     * @param startScore            the score of the starting container
+     * @since 1.0
+     */
+    private void keepBetterStart(PlacementStack start, int startScore) {
+        PlacementStack refined = new PlacementStack(this.bestPlacements.size());
+        refined.copyFrom(this.bestPlacements);
+
+        this.replacePlacements(start);
+        int score = startScore + this.optimizeCargoSpace();
+        if (score > this.maxScore) {
+            this.maxScore = score;
+            this.saveContainer();
+        } else {
+            this.replacePlacements(refined);
+        }
+    }
+
+    /**
+     * Creates the tables of the repairs.
+     * @since 1.0
+     */
+    private void prepareRepairs() {
+        this.values = new int[Constants.SIZE_OF_PARCEL_TYPES];
+        this.orientationsByType = new int[Constants.SIZE_OF_PARCEL_TYPES][0];
+        this.maxDepth = 1;
+
+        for (ParcelType type : this.ownersByType.keySet()) {
+            this.values[type.ordinal()] = this.ownersByType.get(type).getValue();
+            this.orientationsByType[type.ordinal()] = OrientationCache.getOrientations(type).stream()
+                    .mapToInt(Orientation::getId).toArray();
+            for (int orientationId : this.orientationsByType[type.ordinal()]) {
+                this.maxDepth = Math.max(this.maxDepth, this.placementIndex.getDepth(orientationId));
+            }
+        }
+
+        this.repairs = 0;
+        this.improvements = 0;
+    }
+
+    /**
+     * Replaces the container of GreedyFirstFit by the starting packing.
+     * @since 1.0
+     */
+    private void layStartingPacking() {
+        this.replacePlacements(this.startingPacking);
+
+        this.maxScore = 0;
+        for (int n = 0; n < this.placements.size(); n++) {
+            this.maxScore += this.values[this.placementIndex.getOrientation(this.placements.getOrientationId(n))
+                    .getParcelType().ordinal()];
+        }
+        this.saveContainer();
+    }
+
+    /**
+     * Returns the type whose parcels are taken out in the given round of one type, the types that are in the
+     * container take turns.
+     * @since 1.0
+     */
+    private int getRoundType(int round) {
+        List<Integer> types = new ArrayList<>();
+        for (int type = 0; type < Constants.SIZE_OF_PARCEL_TYPES; type++) {
+            if (this.values[type] > 0 && this.typeCounts[type] < this.initialTypeCounts[type]) types.add(type);
+        }
+
+        return types.isEmpty() ? Constants.ALL_PARCEL_TYPES : types.get(round % types.size());
+    }
+
+    /**
+     * Creates a worker which takes the parcels of the type, or of all types, that touch the slices out of its copy
+     * of the current container. The repair itself is run by repair().
+     * @param from                  the first slice of the window
+     * @param to                    the last slice of the window
+     * @param type                  the ordinal of the type that is taken out, ALL_PARCEL_TYPES for all of them
+     * @since 1.0
+     */
+    private LargeNeighbourhoodSearch createRepair(int from, int to, int type) {
+        LargeNeighbourhoodSearch worker = new LargeNeighbourhoodSearch(this);
+        worker.bestRefill = 0;
+        worker.bestRefillPlacements = null;
+
+        int low = from;
+        int high = to;
+        for (int n = worker.placements.size() - 1; n >= 0; n--) {
+            int orientationId = worker.placements.getOrientationId(n);
+            int k = this.placementIndex.getCellZ(worker.placements.getAnchor(n));
+            int last = k + this.placementIndex.getDepth(orientationId) - 1;
+            int placedType = this.placementIndex.getOrientation(orientationId).getParcelType().ordinal();
+            if (last < from || k > to || (type != Constants.ALL_PARCEL_TYPES && placedType != type)) continue;
+
+            worker.bestRefill += this.values[placedType];
+            worker.removePlacement(n);
+            low = Math.min(low, k);
+            high = Math.max(high, last);
+        }
+
+        worker.repairLow = low;
+        worker.repairHigh = high;
+        return worker;
+    }
+
+    /**
+     * Refills the slices of the worker by a backtracking search of at most LNS_REPAIR_NODE_LIMIT nodes. The best
+     * refill is only remembered if it scores more than the parcels that were taken out.
+     * @since 1.0
+     */
+    private void repair() {
+        this.removedScore = this.bestRefill;
+        this.repairNodes = 0;
+
+        int sliceCells = this.spec.getSliceCells();
+        this.refill(this.repairLow * sliceCells, 0);
+    }
+
+    /**
+     * Recursive method of the repair. The first empty cell of the slices from the cursor on is either covered by
+     * the lead cell of a parcel that fits within the slices, or left empty. A branch whose score plus the
+     * KnapsackBound of the free cells behind the cursor cannot beat the best refill is cut off.
+     * @param cursor                the cell the search goes on from, all cells before it are decided
+     * @param score                 the score of the parcels placed by the repair
+     * @since 1.0
+     */
+    private void refill(int cursor, int score) {
+        if (this.repairNodes++ >= Constants.LNS_REPAIR_NODE_LIMIT || this.isOutOfTime()) return;
+
+        int end = (this.repairHigh + 1) * this.spec.getSliceCells();
+        int cell = this.getFirstEmptyCell(this.container, cursor);
+        if (cell == Constants.NO_EMPTY_CELL || cell >= end) return;
+        if (score + this.knapsackBound.getBound(this.typeCounts, this.countFreeCells(cell, end)) <= this.bestRefill) {
+            return;
+        }
+
+        int i = this.placementIndex.getCellX(cell);
+        int j = this.placementIndex.getCellY(cell);
+        int k = this.placementIndex.getCellZ(cell);
+
+        for (int type = 0; type < Constants.SIZE_OF_PARCEL_TYPES; type++) {
+            if (this.typeCounts[type] == 0 || this.values[type] == 0) continue;
+
+            for (int orientationId : this.orientationsByType[type]) {
+                Orientation orientation = this.placementIndex.getOrientation(orientationId);
+                int ai = i - orientation.getLeadX();
+                int aj = j - orientation.getLeadY();
+                int ak = k - orientation.getLeadZ();
+                if (ak < this.repairLow || ak + this.placementIndex.getDepth(orientationId) - 1 > this.repairHigh
+                        || !this.placementIndex.fits(this.container, orientationId, ai, aj, ak)) continue;
+
+                this.placeOrientation(orientationId, this.placementIndex.getCell(ai, aj, ak));
+                this.typeCounts[type]--;
+
+                if (score + this.values[type] > this.bestRefill) {
+                    this.bestRefill = score + this.values[type];
+                    if (this.bestRefillPlacements == null) {
+                        this.bestRefillPlacements = new PlacementStack(this.placements.size());
+                    }
+                    this.bestRefillPlacements.copyFrom(this.placements);
+                }
+                this.refill(cell + 1, score + this.values[type]);
+
+                this.typeCounts[type]++;
+                this.revertPlaceParcel();
+            }
+        }
+
+        this.refill(cell + 1, score);
+    }
+
+    /**
+     * Returns the number of empty cells from the given cell up to the end.
+     * @since 1.0
+     */
+    private int countFreeCells(int from, int end) {
+        int sliceCells = this.spec.getSliceCells();
+
+        int cells = 0;
+        for (int k = from / sliceCells; k * sliceCells < end; k++) {
+            long free = ~this.container.getSlice(k) & this.spec.getFullSliceMask();
+            if (k == from / sliceCells) free &= -1L << from % sliceCells;
+            cells += Long.bitCount(free);
+        }
+
+        return cells;
+    }
+
+    /**
+     * Applies the repairs that beat the parcels they took out, in the order of the windows. The worker keeps the
+     * placements outside its window in the same order, so its placements replace the current ones.
+     * @return                          true if a repair was applied
+     * @since 1.0
+     */
+    private boolean applyRepairs(List<LargeNeighbourhoodSearch> workers) {
+        boolean improved = false;
+
+        for (LargeNeighbourhoodSearch worker : workers) {
+            this.repairs++;
+            if (worker.bestRefillPlacements == null) continue;
+
+            PlacementStack repaired = new PlacementStack(this.placements.size());
+            int sliceCells = this.spec.getSliceCells();
+            for (int n = 0; n < this.placements.size(); n++) {
+                int anchor = this.placements.getAnchor(n);
+                int k = this.placementIndex.getCellZ(anchor);
+                if (k + this.placementIndex.getDepth(this.placements.getOrientationId(n)) - 1 >= worker.repairLow
+                        && k <= worker.repairHigh && !this.isKept(worker, n)) continue;
+
+                repaired.push(this.placements.getOrientationId(n), anchor);
+            }
+            for (int n = 0; n < worker.bestRefillPlacements.size(); n++) {
+                int anchor = worker.bestRefillPlacements.getAnchor(n);
+                if (anchor / sliceCells < worker.repairLow || anchor / sliceCells > worker.repairHigh
+                        || this.isPlaced(worker, n)) continue;
+
+                repaired.push(worker.bestRefillPlacements.getOrientationId(n), anchor);
+            }
+
+            this.replacePlacements(repaired);
+            this.maxScore += worker.bestRefill - worker.removedScore;
+            this.saveContainer();
+            this.improvements++;
+            improved = true;
+        }
+
+        return improved;
+    }
+
+    /**
+     * checks if the worker kept the placement on the given position of the current container.
+     * @since 1.0
+     */
+    private boolean isKept(LargeNeighbourhoodSearch worker, int position) {
+        return this.contains(worker.bestRefillPlacements, this.placements.getOrientationId(position),
+                this.placements.getAnchor(position));
+    }
+
+    /**
+     * checks if the placement on the given position of the refill of the worker is already in the container.
+     * @since 1.0
+     */
+    private boolean isPlaced(LargeNeighbourhoodSearch worker, int position) {
+        return this.contains(this.placements, worker.bestRefillPlacements.getOrientationId(position),
+                worker.bestRefillPlacements.getAnchor(position));
+    }
+
+    private boolean contains(PlacementStack placements, int orientationId, int anchor) {
+        for (int n = 0; n < placements.size(); n++) {
+            if (placements.getOrientationId(n) == orientationId && placements.getAnchor(n) == anchor) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * getters for the statistics of the last solve.
+     * @since 1.0
+     */
+    public long getRepairs() {
+        return this.repairs;
+    }
+
+    public long getImprovements() {
+        return this.improvements;
+    }
+}
@@ -0,0 +1,264 @@
+package app.Algorithms.LocalSearch;
+
+import app.Algorithms.Algorithm;
+import app.Algorithms.Genetic.BottomLeftDecoder;
+import app.Entities.ContainerSpec;
+import app.Entities.Parcel;
+import app.Entities.ParcelType;
+import app.Utilities.Constants;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Class which conducts the Simulated Annealing. The solution is a sequence of the parcels together with the
+ * orientation every parcel tries first, packed by the BottomLeftDecoder like a chromosome of the GeneticAlgorithm.
+ * It starts from the parcels sorted by value, the order of the greedy algorithms.
+ *
+ * Every step changes the sequence by a swap of two parcels, the reinsertion of a parcel on another position or a new
+ * orientation of a parcel. The packing before the first position that changed stays the same, so the decoder only
+ * packs the rest of the sequence again. A worse sequence is accepted with the probability exp(delta / temperature),
+ * and the temperature cools geometrically from SA_INITIAL_TEMPERATURE to SA_FINAL_TEMPERATURE in SA_ITERATIONS
+ * steps. A step that is rejected is undone in the sequence only, the next step decodes from the first position
+ * either of them changed.
+ *
+ * solve() anneals once, solve(Duration) anneals again from the best sequence until the time is up. The container
+ * of GreedyFirstFit is the first best container, so the result never scores below it.
+ * @see BottomLeftDecoder
+ * @since 1.0
+ */
+public class SimulatedAnnealing extends Algorithm<List<Parcel>> {
+
+    /**
+     * @param random                the random numbers of the last solve
+     * @param decoder               packs the sequence, it keeps the packing of the last decode
+     * @param itemTypes             per parcel of the sequence its type
+     * @param values                per type the score of one parcel
+     * @param order                 the current sequence
+     * @param preferred             per parcel the orientation of its type that is tried first
+     * @param bestOrder             the sequence with the highest score so far
+     * @param bestPreferred         the orientations of the sequence with the highest score so far
+     * @param score                 the score of the current sequence
+     * @param bestScore             the score of the best sequence
+     * @param dirtyFrom             the first position from which the packing of the decoder differs from the
+     *                              current sequence
+     * @param iterations            the number of steps of the last solve
+     * @param acceptedMoves         the number of steps that were accepted in the last solve
+     * @since 1.0
+     */
+    private SplittableRandom random;
+    private BottomLeftDecoder decoder;
+    private int[] itemTypes;
+    private int[] values;
+    private int[] order;
+    private int[] preferred;
+    private int[] bestOrder;
+    private int[] bestPreferred;
+    private int score;
+    private int bestScore;
+    private int dirtyFrom;
+    private long iterations;
+    private long acceptedMoves;
+
+    /**
+     * Constructor for the SimulatedAnnealing class.
+     * @param inputParcels          array list containing the input types of the parcels
+     * @param typeCounts            integer which tracks how often parcel types are used.
+     * @since 1.0
+     */
+    public SimulatedAnnealing(List<Parcel> inputParcels, int[] typeCounts) {
+        this(inputParcels, typeCounts, ContainerSpec.DEFAULT);
+    }
+
+    /**
+     * Constructor for the SimulatedAnnealing class for a container of the given shape.
+     * @param spec                  the shape of the container
+     * @since 1.0
+     */
+    public SimulatedAnnealing(List<Parcel> inputParcels, int[] typeCounts, ContainerSpec spec) {
+        super(inputParcels, typeCounts, spec);
+    }
+
+    /**
+     * Anneals once from the greedy sequence.
+     * @return                          returns the array list of the placed parcels of the best packing.
+     * @since 1.0
+     */
+    @Override
+    public List<Parcel> solve() {
+        this.prepareAnnealing();
+        this.anneal();
+
+        return this.finishAnnealing();
+    }
+
+    /**
+     * Anneals until the deadline, every round starts again from the best sequence at SA_INITIAL_TEMPERATURE.
+     * @since 1.0
+     */
+    @Override
+    protected List<Parcel> solveWithinDeadline() {
+        this.prepareAnnealing();
+        while (!this.isOutOfTime()) {
+            this.restoreBest();
+            this.anneal();
+        }
+
+        return this.finishAnnealing();
+    }
+
+    /**
+     * Starts from the container of GreedyFirstFit and the parcels sorted by value.
+     * @since 1.0
+     */
+    private void prepareAnnealing() {
+        this.resetSolveState();
+        this.prepareBranchAndBound();
+        this.keepFirstFitIfBetter();
+        this.layBestPlacements();
+
+        this.values = new int[Constants.SIZE_OF_PARCEL_TYPES];
+        for (ParcelType type : this.ownersByType.keySet()) {
+            this.values[type.ordinal()] = this.ownersByType.get(type).getValue();
+        }
+
+        this.itemTypes = BottomLeftDecoder.createItemTypes(this.initialTypeCounts, this.values, this.spec);
+        this.decoder = new BottomLeftDecoder(this.placementIndex, this.values);
+        this.random = new SplittableRandom(Constants.SA_SEED);
+        this.order = new int[this.itemTypes.length];
+        this.preferred = new int[this.itemTypes.length];
+        for (int n = 0; n < this.order.length; n++) this.order[n] = n;
+
+        this.score = this.decoder.decode(this.order, this.itemTypes, this.preferred);
+        this.dirtyFrom = this.order.length;
+        this.bestOrder = this.order.clone();
+        this.bestPreferred = this.preferred.clone();
+        this.bestScore = this.score;
+        this.iterations = 0;
+        this.acceptedMoves = 0;
+    }
+
+    /**
+     * Runs SA_ITERATIONS steps from the current sequence while the temperature cools, or less if the time is up.
+     * @since 1.0
+     */
+    private void anneal() {
+        if (this.order.length < 2) return;
+
+        double temperature = Constants.SA_INITIAL_TEMPERATURE;
+        double cooling = Math.pow(Constants.SA_FINAL_TEMPERATURE / Constants.SA_INITIAL_TEMPERATURE,
+                1.0 / Constants.SA_ITERATIONS);
+
+        for (int step = 0; step < Constants.SA_ITERATIONS && !this.isOutOfTime(); step++) {
+            int move = this.random.nextInt(3);
+            int first = this.random.nextInt(this.order.length);
+            int second = this.random.nextInt(this.order.length);
+            int item = this.order[first];
+            int orientation = this.preferred[item];
+
+            int from;
+            if (move == 0) {
+                this.swap(first, second);
+                from = Math.min(first, second);
+            } else if (move == 1) {
+                this.reinsert(first, second);
+                from = Math.min(first, second);
+            } else {
+                this.preferred[item] = this.random.nextInt(this.decoder.getOrientationCount(this.itemTypes[item]));
+                from = first;
+            }
+
+            int candidate = this.decoder.decode(this.order, this.itemTypes, this.preferred,
+                    Math.min(from, this.dirtyFrom));
+            int delta = candidate - this.score;
+            this.iterations++;
+
+            if (delta >= 0 || this.random.nextDouble() < Math.exp(delta / temperature)) {
+                this.score = candidate;
+                this.dirtyFrom = this.order.length;
+                this.acceptedMoves++;
+
+                if (this.score > this.bestScore) {
+                    this.bestScore = this.score;
+                    System.arraycopy(this.order, 0, this.bestOrder, 0, this.order.length);
+                    System.arraycopy(this.preferred, 0, this.bestPreferred, 0, this.preferred.length);
+                }
+            } else {
+                if (move == 0) this.swap(first, second);
+                else if (move == 1) this.reinsert(second, first);
+                else this.preferred[item] = orientation;
+                this.dirtyFrom = from;
+            }
+
+            temperature *= cooling;
+        }
+    }
+
+    /**
+     * The best sequence becomes the current one.
+     * @since 1.0
+     */
+    private void restoreBest() {
+        System.arraycopy(this.bestOrder, 0, this.order, 0, this.order.length);
+        System.arraycopy(this.bestPreferred, 0, this.preferred, 0, this.preferred.length);
+        this.score = this.bestScore;
+        this.dirtyFrom = 0;
+    }
+
+    /**
+     * Lays the packing of the best sequence as the best container if it scores more than the container of
+     * GreedyFirstFit, both are optimized like the containers of the greedy algorithms.
+     * @return                          the placed parcels of the best container
+     * @since 1.0
+     */
+    private List<Parcel> finishAnnealing() {
+        this.maxScore += this.optimizeCargoSpace();
+        this.saveContainer();
+
+        if (this.bestScore > this.maxScore) {
+            this.maxScore = this.decoder.decode(this.bestOrder, this.itemTypes, this.bestPreferred);
+            this.replacePlacements(this.decoder.getPlacements());
+            this.maxScore += this.optimizeCargoSpace();
+            this.saveContainer();
+            this.saveGlobalTypeCounts();
+        }
+
+        System.out.println(Constants.PRINT_MAX_SCORE_STRING + this.maxScore);
+        System.out.println(Constants.PRINT_ACCEPTED_MOVES_STRING + this.acceptedMoves + " / " + this.iterations);
+
+        return this.getPlacedParcels(this.bestPlacements);
+    }
+
+    /**
+     * getters for the statistics of the last solve.
+     * @since 1.0
+     */
+    public long getIterations() {
+        return this.iterations;
+    }
+
+    public long getAcceptedMoves() {
+        return this.acceptedMoves;
+    }
+
+    public long getDecodedParcels() {
+        return this.decoder == null ? 0 : this.decoder.getDecodedParcels();
+    }
+
+    private void swap(int first, int second) {
+        int item = this.order[first];
+        this.order[first] = this.order[second];
+        this.order[second] = item;
+    }
+
+    /**
+     * Moves the parcel on position from to position to, the parcels in between move by one.
+     * @since 1.0
+     */
+    private void reinsert(int from, int to) {
+        int item = this.order[from];
+        if (from < to) System.arraycopy(this.order, from + 1, this.order, from, to - from);
+        else System.arraycopy(this.order, to, this.order, to + 1, from - to);
+        this.order[to] = item;
+    }
+}
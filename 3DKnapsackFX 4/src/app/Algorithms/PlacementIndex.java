@@ -0,0 +1,536 @@
+package app.Algorithms;
+
+import app.Entities.ContainerSpec;
+import app.Entities.OccupancyGrid;
+import app.Entities.Orientation;
+import app.Factories.OrientationCache;
+import app.Utilities.Constants;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The class PlacementIndex is built once per container shape for all orientations of the OrientationCache and
+ * stores, for every orientation and every anchor cell of the container, whether the parcel stays inside the
+ * container and which cells it covers in every Z-slice it touches. Checking a placement therefore is a table lookup
+ * plus one mask test per slice instead of rebuilding and bounds-checking the coordinates of every component.
+ *
+ * The anchor is the minimum corner of the orientation. Moving an anchor along the Z-axis only shifts the slices a
+ * parcel touches, so the masks are stored per orientation and cross-section cell (i, j).
+ *
+ * Because a Z-slice is one long, the index can also test one orientation on all anchors of a Z-slice at once: the
+ * free cells of the touched slices are shifted onto the anchors and ANDed. For the boxes 'a', 'b' and 'c' this is
+ * done separably, one shift per unit of width, height and depth, so the first free anchor of a box is found with a
+ * few word operations per Z-slice instead of testing every anchor.
+ *
+ * Besides that the index knows for every cell which in-bounds placements cover it. A placement is identified by
+ * orientationId * cellCount + anchorCell, where a cell is numbered i + j * width + k * width * height, the same
+ * order in which the algorithms look for the first empty cell.
+ *
+ * Last, the index holds the random keys of the Zobrist hash of a container: a key per cell, a key per placement
+ * which is the XOR of the keys of the cells it covers, and keys for the parcel types and the position of the search.
+ * Placing or removing a parcel therefore changes the hash with one XOR.
+ *
+ * The mirror image of a placement is found with #getMirroredPlacement(int, int, int).
+ * @see TranspositionTable
+ * @see ContainerSpec
+ * @see OccupancyGrid
+ * @see OrientationCache
+ * @since 1.0
+ */
+public class PlacementIndex {
+
+    /**
+     * @param spec                      the shape of the container
+     * @param width                     number of cells along the X-axis, taken from the spec
+     * @param height                    number of cells along the Y-axis, taken from the spec
+     * @param length                    number of cells along the Z-axis, taken from the spec
+     * @param orientations              the indexed orientations, the position in the list is the orientationId
+     * @param sliceCells                number of cells in one Z-slice
+     * @param fullSliceMask             mask with the bits of all cells of a Z-slice set
+     * @param cellCount                 number of cells in the container
+     * @param maxDepth                  the largest number of Z-slices one orientation touches
+     * @param depth                     per orientation the number of Z-slices it touches
+     * @param crossValid                per orientation and cross-section cell, true if the parcel stays inside
+     *                                  the X and Y bounds of the container
+     * @param anchorMasks               per orientation the cross-section cells on which it stays inside the X and
+     *                                  Y bounds, the same as crossValid as one mask
+     * @param cuboid                    per orientation true if it fills its bounding box
+     * @param masks                     per orientation, cross-section cell and touched slice the covered cells
+     * @param coverStart                per cell the start of its placements inside coverPlacements
+     * @param coverPlacements           all in-bounds placements, grouped by the cells they cover
+     * @param cellKeys                  per cell the Zobrist key of the cell being taken
+     * @param positionKeys              per cell the Zobrist key of the search going on from that cell
+     * @param placementKeys             per placement the XOR of the keys of the cells it covers
+     * @param typeKeys                  per parcel type the key that is added to the hash for every placed parcel
+     * @since 1.0
+     */
+    private final ContainerSpec spec;
+    private final int width;
+    private final int height;
+    private final int length;
+    private final List<Orientation> orientations;
+    private final int sliceCells;
+    private final long fullSliceMask;
+    private final int cellCount;
+    private final int maxDepth;
+    private final int[] depth;
+    private final boolean[] crossValid;
+    private final long[] anchorMasks;
+    private final boolean[] cuboid;
+    private final long[] masks;
+    private final int[] coverStart;
+    private final int[] coverPlacements;
+    private final long[] cellKeys;
+    private final long[] positionKeys;
+    private final long[] placementKeys;
+    private final long[] typeKeys;
+
+    /**
+     * @param sharedIndexes             the index over all orientations of the OrientationCache per container shape
+     * @since 1.0
+     */
+    private static final Map<ContainerSpec, PlacementIndex> sharedIndexes = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the read-only index over all orientations of the OrientationCache for the container shape, shared by
+     * all solvers of that shape. It is created when it is asked for the first time.
+     * @since 1.0
+     */
+    public static PlacementIndex getShared(ContainerSpec spec) {
+        return sharedIndexes.computeIfAbsent(spec, s -> new PlacementIndex(s, OrientationCache.getAllOrientations()));
+    }
+
+    /**
+     * Constructor for the PlacementIndex class.
+     * @param spec                      the shape of the container
+     * @param orientations              the orientations, the position in the list must be their id
+     * @since 1.0
+     */
+    public PlacementIndex(ContainerSpec spec, List<Orientation> orientations) {
+        this.spec = spec;
+        this.width = spec.getWidth();
+        this.height = spec.getHeight();
+        this.length = spec.getLength();
+        this.orientations = orientations;
+        this.sliceCells = spec.getSliceCells();
+        this.fullSliceMask = spec.getFullSliceMask();
+        this.cellCount = spec.getVolume();
+
+        int count = orientations.size();
+        this.depth = new int[count];
+        this.cuboid = new boolean[count];
+
+        int deepest = 1;
+        for (int o = 0; o < count; o++) {
+            this.depth[o] = orientations.get(o).getSizeZ();
+            this.cuboid[o] = orientations.get(o).isCuboid();
+            deepest = Math.max(deepest, this.depth[o]);
+        }
+        this.maxDepth = deepest;
+
+        this.crossValid = new boolean[count * this.sliceCells];
+        this.anchorMasks = new long[count];
+        this.masks = new long[count * this.sliceCells * this.maxDepth];
+        this.buildMasks();
+
+        this.coverStart = new int[this.cellCount + 1];
+        this.coverPlacements = new int[this.countCoveringPlacements()];
+        this.buildCoveringPlacements();
+
+        this.cellKeys = new long[this.cellCount];
+        this.positionKeys = new long[this.cellCount];
+        this.placementKeys = new long[count * this.cellCount];
+        this.typeKeys = new long[Constants.SIZE_OF_PARCEL_TYPES];
+        this.buildZobristKeys();
+    }
+
+    /**
+     * Fills the masks of every orientation for every cross-section cell of the container.
+     * @since 1.0
+     */
+    private void buildMasks() {
+        for (int o = 0; o < this.orientations.size(); o++) {
+            for (int j = 0; j < this.height; j++) {
+                for (int i = 0; i < this.width; i++) {
+                    int cross = o * this.sliceCells + i + j * this.width;
+                    Orientation orientation = this.orientations.get(o);
+
+                    this.crossValid[cross] = i + orientation.getSizeX() <= this.width
+                            && j + orientation.getSizeY() <= this.height;
+                    if (!this.crossValid[cross]) continue;
+                    this.anchorMasks[o] |= this.spec.cellMask(i, j);
+
+                    for (int cell = 0; cell < orientation.getVolume(); cell++) {
+                        this.masks[cross * this.maxDepth + orientation.getZ(cell)] |=
+                                this.spec.cellMask(orientation.getX(cell) + i, orientation.getY(cell) + j);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts the in-bounds placements for every cell they cover and turns the counts into the coverStart offsets.
+     * @return                          the total number of (cell, placement) pairs
+     * @since 1.0
+     */
+    private int countCoveringPlacements() {
+        for (int o = 0; o < this.orientations.size(); o++) {
+            for (int anchor = 0; anchor < this.cellCount; anchor++) {
+                if (!this.isInBounds(o, anchor)) continue;
+
+                Orientation orientation = this.orientations.get(o);
+                for (int cell = 0; cell < orientation.getVolume(); cell++) {
+                    this.coverStart[this.getCoveredCell(anchor, orientation, cell) + 1]++;
+                }
+            }
+        }
+
+        for (int cell = 0; cell < this.cellCount; cell++) this.coverStart[cell + 1] += this.coverStart[cell];
+
+        return this.coverStart[this.cellCount];
+    }
+
+    /**
+     * Stores every in-bounds placement under each of the cells it covers.
+     * @since 1.0
+     */
+    private void buildCoveringPlacements() {
+        int[] next = new int[this.cellCount];
+        System.arraycopy(this.coverStart, 0, next, 0, this.cellCount);
+
+        for (int o = 0; o < this.orientations.size(); o++) {
+            for (int anchor = 0; anchor < this.cellCount; anchor++) {
+                if (!this.isInBounds(o, anchor)) continue;
+
+                Orientation orientation = this.orientations.get(o);
+                for (int cell = 0; cell < orientation.getVolume(); cell++) {
+                    this.coverPlacements[next[this.getCoveredCell(anchor, orientation, cell)]++] =
+                            o * this.cellCount + anchor;
+                }
+            }
+        }
+    }
+
+    /**
+     * Draws the Zobrist keys from a fixed seed, so the hash of a container is the same in every run, and combines
+     * the keys of the covered cells into the key of every in-bounds placement.
+     * @since 1.0
+     */
+    private void buildZobristKeys() {
+        SplittableRandom random = new SplittableRandom(Constants.ZOBRIST_SEED);
+
+        for (int cell = 0; cell < this.cellCount; cell++) {
+            this.cellKeys[cell] = random.nextLong();
+            this.positionKeys[cell] = random.nextLong();
+        }
+        for (int type = 0; type < this.typeKeys.length; type++) this.typeKeys[type] = random.nextLong();
+
+        for (int o = 0; o < this.orientations.size(); o++) {
+            Orientation orientation = this.orientations.get(o);
+
+            for (int anchor = 0; anchor < this.cellCount; anchor++) {
+                if (!this.isInBounds(o, anchor)) continue;
+
+                long key = 0;
+                for (int cell = 0; cell < orientation.getVolume(); cell++) {
+                    key ^= this.cellKeys[this.getCoveredCell(anchor, orientation, cell)];
+                }
+                this.placementKeys[o * this.cellCount + anchor] = key;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of the container cell that a cell of the orientation covers when it is placed on the
+     * anchor.
+     * @since 1.0
+     */
+    private int getCoveredCell(int anchor, Orientation orientation, int cell) {
+        return anchor + orientation.getX(cell)
+                + orientation.getY(cell) * this.width
+                + orientation.getZ(cell) * this.sliceCells;
+    }
+
+    /**
+     * checks if the orientation stays inside the container when it is placed on the given anchor cell.
+     * @since 1.0
+     */
+    public boolean isInBounds(int orientationId, int anchor) {
+        int cross = anchor % this.sliceCells;
+        int k = anchor / this.sliceCells;
+
+        return this.crossValid[orientationId * this.sliceCells + cross]
+                && k + this.depth[orientationId] <= this.length;
+    }
+
+    /**
+     * This method is used to check if an orientation can be placed on the given anchor coordinates of the grid.
+     * @param grid                      the occupancy of the container
+     * @param orientationId             the indexed orientation
+     * @param i                         X coordinate of the anchor
+     * @param j                         Y coordinate of the anchor
+     * @param k                         Z coordinate of the anchor
+     * @return                          true, if the parcel is in bounds and all its cells are free. / false,
+     *                                  otherwise.
+     * @since 1.0
+     */
+    public boolean fits(OccupancyGrid grid, int orientationId, int i, int j, int k) {
+        if (i < 0 || i >= this.width || j < 0 || j >= this.height) return false;
+
+        int cross = orientationId * this.sliceCells + i + j * this.width;
+        if (!this.crossValid[cross]) return false;
+
+        int slices = this.depth[orientationId];
+        if (k < 0 || k + slices > this.length) return false;
+
+        int base = cross * this.maxDepth;
+        for (int d = 0; d < slices; d++) {
+            if (!grid.isFree(k + d, this.masks[base + d])) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the cross-section cells (i, j) on which the orientation fits when it is anchored on Z-slice k, all
+     * tested at once. A box needs one AND per touched slice plus one shift per unit of its width and height, any
+     * other orientation one shift per cell.
+     * @param grid                      the occupancy of the container
+     * @param orientationId             the indexed orientation
+     * @param k                         Z coordinate of the anchors
+     * @return                          a Z-slice mask with the bit of every fitting anchor set
+     * @since 1.0
+     */
+    public long getFreeAnchors(OccupancyGrid grid, int orientationId, int k) {
+        int slices = this.depth[orientationId];
+        long anchors = this.anchorMasks[orientationId];
+        if (anchors == 0 || k < 0 || k + slices > this.length) return 0L;
+
+        if (this.cuboid[orientationId]) {
+            Orientation orientation = this.orientations.get(orientationId);
+
+            long free = this.fullSliceMask;
+            for (int d = 0; d < slices && free != 0; d++) free &= ~grid.getSlice(k + d);
+            for (int x = 1; x < orientation.getSizeX(); x++) free &= free >>> 1;
+            for (int y = 1; y < orientation.getSizeY(); y++) free &= free >>> this.width;
+
+            return free & anchors;
+        }
+
+        int base = orientationId * this.sliceCells * this.maxDepth;
+        for (int d = 0; d < slices && anchors != 0; d++) {
+            long free = ~grid.getSlice(k + d) & this.fullSliceMask;
+            for (long cells = this.masks[base + d]; cells != 0; cells &= cells - 1) {
+                anchors &= free >>> Long.numberOfTrailingZeros(cells);
+            }
+        }
+
+        return anchors;
+    }
+
+    /**
+     * Returns the first anchor cell, in the order of the cell numbers, on which the orientation fits.
+     * @return                          the anchor cell, or NO_FITTING_ANCHOR if the orientation fits nowhere
+     * @since 1.0
+     */
+    public int findFirstFit(OccupancyGrid grid, int orientationId) {
+        return this.findFirstFit(grid, orientationId, 0);
+    }
+
+    /**
+     * Returns the first anchor cell on which the orientation fits, starting at Z-slice fromSlice. All slices before
+     * it have to be full, e.g. the slices before the first empty cell.
+     * @return                          the anchor cell, or NO_FITTING_ANCHOR if the orientation fits nowhere
+     * @since 1.0
+     */
+    public int findFirstFit(OccupancyGrid grid, int orientationId, int fromSlice) {
+        for (int k = fromSlice; k + this.depth[orientationId] <= this.length; k++) {
+            long anchors = this.getFreeAnchors(grid, orientationId, k);
+            if (anchors != 0) return k * this.sliceCells + Long.numberOfTrailingZeros(anchors);
+        }
+
+        return Constants.NO_FITTING_ANCHOR;
+    }
+
+    /**
+     * Returns the number of Z-slices the orientation touches.
+     * @since 1.0
+     */
+    public int getDepth(int orientationId) {
+        return this.depth[orientationId];
+    }
+
+    /**
+     * Returns the cells the orientation covers in its d-th slice when it is anchored on cross-section cell (i, j).
+     * @since 1.0
+     */
+    public long getMask(int orientationId, int i, int j, int d) {
+        return this.masks[(orientationId * this.sliceCells + i + j * this.width) * this.maxDepth + d];
+    }
+
+    /**
+     * Returns the cells the orientation covers in its d-th slice when it is placed on the given anchor cell.
+     * @since 1.0
+     */
+    public long getAnchorMask(int orientationId, int anchor, int d) {
+        return this.masks[(orientationId * this.sliceCells + anchor % this.sliceCells) * this.maxDepth + d];
+    }
+
+    /**
+     * Returns the number of the cell (i, j, k), which is the anchor of a placement on these coordinates.
+     * @since 1.0
+     */
+    public int getCell(int i, int j, int k) {
+        return i + j * this.width + k * this.sliceCells;
+    }
+
+    /**
+     * Returns the X, Y and Z coordinates of a cell.
+     * @since 1.0
+     */
+    public int getCellX(int cell) {
+        return cell % this.width;
+    }
+
+    public int getCellY(int cell) {
+        return (cell % this.sliceCells) / this.width;
+    }
+
+    public int getCellZ(int cell) {
+        return cell / this.sliceCells;
+    }
+
+    /**
+     * Returns the shape of the container the index is built for.
+     * @since 1.0
+     */
+    public ContainerSpec getSpec() {
+        return this.spec;
+    }
+
+    /**
+     * Returns the orientation with the given id.
+     * @since 1.0
+     */
+    public Orientation getOrientation(int orientationId) {
+        return this.orientations.get(orientationId);
+    }
+
+    /**
+     * Returns the number of indexed orientations.
+     * @since 1.0
+     */
+    public int getOrientationCount() {
+        return this.orientations.size();
+    }
+
+    /**
+     * Returns the number of cells in the container, which is also the stride of the placement ids.
+     * @since 1.0
+     */
+    public int getCellCount() {
+        return this.cellCount;
+    }
+
+    /**
+     * Returns the index of the first placement covering the cell, used together with getCoverEnd(int) and
+     * getCoveringPlacement(int) to walk over all in-bounds placements covering a cell without scanning.
+     * @since 1.0
+     */
+    public int getCoverStart(int cell) {
+        return this.coverStart[cell];
+    }
+
+    /**
+     * Returns the index after the last placement covering the cell.
+     * @since 1.0
+     */
+    public int getCoverEnd(int cell) {
+        return this.coverStart[cell + 1];
+    }
+
+    /**
+     * Returns the placement id stored on the given position.
+     * @since 1.0
+     */
+    public int getCoveringPlacement(int position) {
+        return this.coverPlacements[position];
+    }
+
+    /**
+     * Returns the placement that is the mirror image of the given one in the container. The container is a box, so
+     * mirroring it along any of the axes maps it onto itself, and an in-bounds placement onto an in-bounds one.
+     * @param orientationId             the orientation of the placement
+     * @param anchor                    the anchor cell of the placement
+     * @param mirror                    the axes that are mirrored, bit 0 for X, bit 1 for Y and bit 2 for Z
+     * @return                          the placement id of the mirror image, or NO_MIRRORED_ORIENTATION if the
+     *                                  parcel type has no orientation of the mirrored shape
+     * @since 1.0
+     */
+    public int getMirroredPlacement(int orientationId, int anchor, int mirror) {
+        int mirrored = OrientationCache.getMirroredOrientation(orientationId, mirror);
+        if (mirrored == Constants.NO_MIRRORED_ORIENTATION) return Constants.NO_MIRRORED_ORIENTATION;
+
+        Orientation orientation = this.orientations.get(orientationId);
+        int i = this.getCellX(anchor), j = this.getCellY(anchor), k = this.getCellZ(anchor);
+        if ((mirror & 1) != 0) i = this.width - i - orientation.getSizeX();
+        if ((mirror & 2) != 0) j = this.height - j - orientation.getSizeY();
+        if ((mirror & 4) != 0) k = this.length - k - orientation.getSizeZ();
+
+        return mirrored * this.cellCount + this.getCell(i, j, k);
+    }
+
+    /**
+     * getters for the Zobrist keys.
+     * @see #buildZobristKeys()
+     * @since 1.0
+     */
+    public long getCellKey(int cell) {
+        return this.cellKeys[cell];
+    }
+
+    public long getPositionKey(int cell) {
+        return this.positionKeys[cell];
+    }
+
+    public long getPlacementKey(int orientationId, int anchor) {
+        return this.placementKeys[orientationId * this.cellCount + anchor];
+    }
+
+    public long getTypeKey(int type) {
+        return this.typeKeys[type];
+    }
+
+    /**
+     * Returns the number of in-bounds (orientation, anchor) placements.
+     * @since 1.0
+     */
+    public int getInBoundsPlacementCount() {
+        int count = 0;
+        for (int o = 0; o < this.orientations.size(); o++) {
+            for (int anchor = 0; anchor < this.cellCount; anchor++) {
+                if (this.isInBounds(o, anchor)) count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns an estimate of the memory used by the index tables in bytes.
+     * @since 1.0
+     */
+    public long getMemoryFootprint() {
+        return (long) this.masks.length * Long.BYTES
+                + this.crossValid.length + this.cuboid.length
+                + (long) this.anchorMasks.length * Long.BYTES
+                + (long) this.depth.length * Integer.BYTES
+                + (long) (this.coverStart.length + this.coverPlacements.length) * Integer.BYTES
+                + (long) (this.cellKeys.length + this.positionKeys.length + this.placementKeys.length
+                + this.typeKeys.length) * Long.BYTES;
+    }
+}
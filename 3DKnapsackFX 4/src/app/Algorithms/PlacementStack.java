@@ -0,0 +1,109 @@
+package app.Algorithms;
+
+import java.util.Arrays;
+
+/**
+ * The class PlacementStack records the parcels that are placed in the container as (orientationId, anchor) pairs of
+ * the PlacementIndex. Both values are kept in primitive arrays, so pushing and popping a placement allocates nothing
+ * once the stack has grown to the depth of the search.
+ * @see PlacementIndex
+ * @since 1.0
+ */
+public class PlacementStack {
+
+    /**
+     * @param orientationIds            the orientation of every placement
+     * @param anchors                   the anchor cell of every placement
+     * @param size                      number of placements on the stack
+     * @since 1.0
+     */
+    private int[] orientationIds;
+    private int[] anchors;
+    private int size;
+
+    /**
+     * Constructor for the PlacementStack class.
+     * @param capacity                  the number of placements the stack can hold before it grows
+     * @since 1.0
+     */
+    public PlacementStack(int capacity) {
+        this.orientationIds = new int[Math.max(1, capacity)];
+        this.anchors = new int[Math.max(1, capacity)];
+        this.size = 0;
+    }
+
+    /**
+     * Puts a placement on top of the stack.
+     * @since 1.0
+     */
+    public void push(int orientationId, int anchor) {
+        if (this.size == this.orientationIds.length) this.grow(this.size * 2);
+
+        this.orientationIds[this.size] = orientationId;
+        this.anchors[this.size] = anchor;
+        this.size++;
+    }
+
+    /**
+     * Removes the placement on top of the stack.
+     * @since 1.0
+     */
+    public void pop() {
+        this.size--;
+    }
+
+    /**
+     * Removes the placement on the given position, the placements above it move down by one.
+     * @since 1.0
+     */
+    public void remove(int position) {
+        System.arraycopy(this.orientationIds, position + 1, this.orientationIds, position, this.size - position - 1);
+        System.arraycopy(this.anchors, position + 1, this.anchors, position, this.size - position - 1);
+        this.size--;
+    }
+
+    /**
+     * Copies the placements of another stack into this one.
+     * @since 1.0
+     */
+    public void copyFrom(PlacementStack other) {
+        if (this.orientationIds.length < other.size) this.grow(other.size);
+
+        System.arraycopy(other.orientationIds, 0, this.orientationIds, 0, other.size);
+        System.arraycopy(other.anchors, 0, this.anchors, 0, other.size);
+        this.size = other.size;
+    }
+
+    /**
+     * Removes all placements.
+     * @since 1.0
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * getters for the PlacementStack class.
+     * @since 1.0
+     */
+    public int size() {
+        return this.size;
+    }
+
+    public int getOrientationId(int position) {
+        return this.orientationIds[position];
+    }
+
+    public int getAnchor(int position) {
+        return this.anchors[position];
+    }
+
+    /**
+     * Enlarges the arrays so that they can hold the given number of placements.
+     * @since 1.0
+     */
+    private void grow(int capacity) {
+        this.orientationIds = Arrays.copyOf(this.orientationIds, capacity);
+        this.anchors = Arrays.copyOf(this.anchors, capacity);
+    }
+}
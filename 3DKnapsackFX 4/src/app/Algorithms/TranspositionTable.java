@@ -0,0 +1,118 @@
+package app.Algorithms;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The class TranspositionTable remembers the states of the container the backtracking has searched, keyed by their
+ * Zobrist hash. For every state it stores how many levels below it were searched and the highest score the search
+ * could reach from it, so when the same state is reached again through another order of placements it is not
+ * searched again.
+ *
+ * The table has a fixed number of entries. Two entries form a bucket, the first one keeps the state that was
+ * searched deepest and the second one always takes the newest state. Entries of an earlier search are overwritten
+ * first and never found.
+ *
+ * The table is lock-free, so the workers of a parallel search share it. An entry is two longs: the data and the
+ * key XOR the data. A reader that sees the data of one write and the key of another finds a key that does not
+ * match, and treats the entry as empty.
+ * @see PlacementIndex#getPlacementKey(int, int)
+ * @since 1.0
+ */
+public class TranspositionTable {
+
+    /**
+     * @param entries                   two longs per entry, the key XOR the data and the data
+     * @param bucketMask                mask that turns a key into the first entry of its bucket
+     * @param generation                the number of the current search, stored in every entry
+     * @since 1.0
+     */
+    private final AtomicLongArray entries;
+    private final int bucketMask;
+    private int generation;
+
+    /**
+     * Constructor for the TranspositionTable class.
+     * @param size                      the number of entries, a power of two of at least 2
+     * @since 1.0
+     */
+    public TranspositionTable(int size) {
+        this.entries = new AtomicLongArray(2 * size);
+        this.bucketMask = (size - 1) & ~1;
+        this.generation = 1;
+    }
+
+    /**
+     * Starts a new search: the entries of the searches before are not found anymore and are replaced first.
+     * @since 1.0
+     */
+    public void newSearch() {
+        this.generation = (this.generation + 1) & 0xFFFF;
+        if (this.generation == 0) this.generation = 1;
+    }
+
+    /**
+     * Tells if the state was searched at least the given number of levels deep and could not reach a score above
+     * the given one.
+     * @param key                       the Zobrist hash of the state
+     * @param levels                    the number of levels the search below the state would go
+     * @param score                     the score the search has to beat
+     * @return                          true if the search below the state cannot beat the score
+     * @since 1.0
+     */
+    public boolean isBounded(long key, int levels, int score) {
+        int bucket = (int) key & this.bucketMask;
+
+        for (int entry = bucket; entry < bucket + 2; entry++) {
+            long data = this.entries.get(2 * entry + 1);
+            if ((this.entries.get(2 * entry) ^ data) != key || getGeneration(data) != this.generation) continue;
+
+            return getLevels(data) >= levels && getBound(data) <= score;
+        }
+
+        return false;
+    }
+
+    /**
+     * Stores that the search from the state reached no score above the bound in the given number of levels.
+     * @param key                       the Zobrist hash of the state
+     * @param levels                    the number of levels that were searched below the state
+     * @param bound                     the highest score the search below the state can reach
+     * @since 1.0
+     */
+    public void store(long key, int levels, int bound) {
+        int bucket = (int) key & this.bucketMask;
+        long data = (long) bound << 32 | (long) (levels & 0xFFFF) << 16 | this.generation;
+
+        long deepest = this.entries.get(2 * bucket + 1);
+        boolean replaceDeepest = getGeneration(deepest) != this.generation || getLevels(deepest) <= levels
+                || (this.entries.get(2 * bucket) ^ deepest) == key;
+
+        int entry = replaceDeepest ? bucket : bucket + 1;
+        this.entries.lazySet(2 * entry + 1, data);
+        this.entries.lazySet(2 * entry, key ^ data);
+    }
+
+    /**
+     * Returns the number of entries of the table.
+     * @since 1.0
+     */
+    public int size() {
+        return this.entries.length() / 2;
+    }
+
+    /**
+     * getters for the fields packed into the data of an entry.
+     * @since 1.0
+     */
+    private static int getBound(long data) {
+        return (int) (data >> 32);
+    }
+
+    private static int getLevels(long data) {
+        return (int) (data >>> 16) & 0xFFFF;
+    }
+
+    private static int getGeneration(long data) {
+        return (int) data & 0xFFFF;
+    }
+}
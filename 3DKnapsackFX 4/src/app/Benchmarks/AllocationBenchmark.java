@@ -0,0 +1,91 @@
+package app.Benchmarks;
+
+import app.Algorithms.Algorithm;
+import app.Algorithms.Backtracking.DivideAndConquerBacktracking;
+import app.Algorithms.Backtracking.FastBacktracking;
+import app.Algorithms.Backtracking.TracedBacktracking;
+import app.Algorithms.Greedy.GreedyFirstFit;
+import app.Algorithms.Greedy.GreedyNextFit;
+import app.Utilities.Constants;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Allocation benchmark for the algorithms. Runs every algorithm on a fixed set of parcels and prints how many bytes
+ * the solving thread allocates per solve() and how many bytes that are per millisecond of solving.
+ * @since 1.0
+ */
+public class AllocationBenchmark {
+
+    /**
+     * @param GREEDY_COUNTS             parcels per type for the greedy algorithms
+     * @param BACKTRACKING_COUNTS       parcels per type for the backtracking algorithms
+     * @since 1.0
+     */
+    private static final int[] GREEDY_COUNTS = {10, 10, 10, 10, 10, 10};
+    private static final int[] BACKTRACKING_COUNTS = {0, 0, 0, 2, 2, 2};
+
+    /**
+     * Main method of the benchmark.
+     * @since 1.0
+     */
+    public static void main(String[] args) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        PrintStream out = System.out;
+        PrintStream silent = BenchmarkSupport.silentStream();
+
+        String[] names = {"Greedy Next-Fit", "Greedy First-Fit", "Normal Backtracking",
+                "Traceable Backtracking", "Divide and Conquer Backtracking"};
+
+        for (String name : names) {
+            long totalBytes = 0;
+            long totalTime = 0;
+
+            for (int run = 0; run < Constants.BENCHMARK_WARMUP_RUNS + Constants.BENCHMARK_MEASURED_RUNS; run++) {
+                Algorithm<?> algorithm = createAlgorithm(name);
+
+                System.setOut(silent);
+                long bytes = threads.getThreadAllocatedBytes(thread);
+                long start = System.nanoTime();
+                algorithm.solve();
+                long elapsed = System.nanoTime() - start;
+                bytes = threads.getThreadAllocatedBytes(thread) - bytes;
+                System.setOut(out);
+
+                if (run < Constants.BENCHMARK_WARMUP_RUNS) continue;
+                totalBytes += bytes;
+                totalTime += elapsed;
+            }
+
+            System.out.printf("%-32s %12d bytes/solve %10.1f bytes/ms%n", name,
+                    totalBytes / Constants.BENCHMARK_MEASURED_RUNS, totalBytes / (totalTime / 1e6));
+        }
+    }
+
+    /**
+     * Creates the algorithm with the given name in the same way as the GUI does.
+     * @since 1.0
+     */
+    private static Algorithm<?> createAlgorithm(String name) {
+        switch (name) {
+            case "Greedy Next-Fit":
+                return new GreedyNextFit(BenchmarkSupport.createParcels(GREEDY_COUNTS, false), GREEDY_COUNTS.clone());
+            case "Greedy First-Fit":
+                return new GreedyFirstFit(BenchmarkSupport.createParcels(GREEDY_COUNTS, false), GREEDY_COUNTS.clone());
+            case "Normal Backtracking":
+                return new FastBacktracking(BenchmarkSupport.createParcels(BACKTRACKING_COUNTS, true),
+                        BACKTRACKING_COUNTS.clone());
+            case "Traceable Backtracking":
+                return new TracedBacktracking(BenchmarkSupport.createParcels(BACKTRACKING_COUNTS, false),
+                        BACKTRACKING_COUNTS.clone());
+            case "Divide and Conquer Backtracking":
+                return new DivideAndConquerBacktracking(BenchmarkSupport.createParcels(BACKTRACKING_COUNTS, true),
+                        BACKTRACKING_COUNTS.clone());
+        }
+
+        throw new IllegalArgumentException(name);
+    }
+}
@@ -0,0 +1,101 @@
+package app.Benchmarks;
+
+import app.Algorithms.Algorithm;
+import app.Algorithms.Backtracking.DivideAndConquerBacktracking;
+import app.Algorithms.Backtracking.FastBacktracking;
+import app.Algorithms.Backtracking.TracedBacktracking;
+import app.Algorithms.DancingLinks.DancingLinks;
+import app.Entities.ContainerSpec;
+import app.Entities.Parcel;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Latency benchmark for solve(Duration). Every algorithm is solved with a budget of 10 ms, 100 ms and 1 s and
+ * without one, and the time it really took and the score of the best solution it returned are printed. Every
+ * algorithm is solved once with the WARMUP_BUDGET before it is measured.
+ *
+ * Usage: AnytimeSolveBenchmark [count per type ...], six counts in the order of the ParcelType.
+ * @since 1.0
+ */
+public class AnytimeSolveBenchmark {
+
+    /**
+     * @param COUNTS                    parcels per type if no counts are given
+     * @param BUDGETS                   the budgets every algorithm is solved with, in milliseconds
+     * @param WARMUP_BUDGET             the budget of the solve that is not measured, in milliseconds
+     * @param NAMES                     the algorithms that are measured
+     * @since 1.0
+     */
+    private static final int[] COUNTS = {0, 0, 0, 300, 300, 300};
+    private static final long[] BUDGETS = {10, 100, 1000};
+    private static final long WARMUP_BUDGET = 1000;
+    private static final String[] NAMES = {"Normal Backtracking", "Traceable Backtracking",
+            "Divide and Conquer Backtracking", "Algorithm X - Dancing Links"};
+
+    /**
+     * Main method of the benchmark.
+     * @since 1.0
+     */
+    public static void main(String[] args) {
+        int[] counts = BenchmarkSupport.parseCounts(args, COUNTS);
+
+        PrintStream out = System.out;
+        PrintStream silent = BenchmarkSupport.silentStream();
+
+        System.out.println("Counts " + Arrays.toString(counts) + " on " + ContainerSpec.DEFAULT);
+
+        for (String name : NAMES) {
+            System.setOut(silent);
+            Algorithm<?> warmup = createAlgorithm(name, createParcels(name, counts), counts.clone());
+            warmup.solve(Duration.ofMillis(WARMUP_BUDGET));
+            System.setOut(out);
+
+            for (int run = 0; run <= BUDGETS.length; run++) {
+                Algorithm<?> algorithm = createAlgorithm(name, createParcels(name, counts), counts.clone());
+
+                System.setOut(silent);
+                long start = System.nanoTime();
+                if (run < BUDGETS.length) algorithm.solve(Duration.ofMillis(BUDGETS[run]));
+                else algorithm.solve();
+                long elapsed = System.nanoTime() - start;
+                System.setOut(out);
+
+                String budget = run < BUDGETS.length ? BUDGETS[run] + " ms" : "none";
+                System.out.printf("%-32s budget %8s  took %10.1f ms  score %5d%n",
+                        name, budget, elapsed / 1e6, algorithm.getMaxScore());
+            }
+        }
+    }
+
+    /**
+     * Creates the algorithm with the given name for the default container.
+     * @since 1.0
+     */
+    private static Algorithm<?> createAlgorithm(String name, List<Parcel> parcels, int[] counts) {
+        switch (name) {
+            case "Normal Backtracking":
+                return new FastBacktracking(parcels, counts, ContainerSpec.DEFAULT);
+            case "Traceable Backtracking":
+                return new TracedBacktracking(parcels, counts, ContainerSpec.DEFAULT);
+            case "Divide and Conquer Backtracking":
+                return new DivideAndConquerBacktracking(parcels, counts, ContainerSpec.DEFAULT);
+            case "Algorithm X - Dancing Links":
+                return new DancingLinks(parcels, counts, ContainerSpec.DEFAULT);
+        }
+
+        throw new IllegalArgumentException(name);
+    }
+
+    /**
+     * Creates the input parcels in the same way as the GUI does, one per type for the algorithms that work on the
+     * grid and one per parcel for the traceable backtracking.
+     * @since 1.0
+     */
+    private static List<Parcel> createParcels(String name, int[] counts) {
+        return BenchmarkSupport.createParcels(counts, !name.equals("Traceable Backtracking"));
+    }
+}
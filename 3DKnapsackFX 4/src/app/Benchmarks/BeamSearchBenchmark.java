@@ -0,0 +1,71 @@
+package app.Benchmarks;
+
+import app.Algorithms.BeamSearch.BeamSearch;
+import app.Algorithms.Greedy.GreedyFirstFit;
+import app.Entities.ContainerSpec;
+import app.Entities.Parcel;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Quality benchmark for the BeamSearch. The parcels are packed by GreedyFirstFit with one input parcel per parcel,
+ * like the GUI does, and then by the BeamSearch with every width, once on 1 thread and once on all cores. The time,
+ * the expanded and the duplicate states and the score are printed, and whether both thread counts return the same
+ * parcels.
+ *
+ * Usage: BeamSearchBenchmark [count per type ...], six counts in the order of the ParcelType.
+ * @since 1.0
+ */
+public class BeamSearchBenchmark {
+
+    /**
+     * @param COUNTS                    parcels per type if no counts are given
+     * @param WIDTHS                    the widths of the beam that are measured
+     * @since 1.0
+     */
+    private static final int[] COUNTS = {30, 30, 30, 30, 30, 30};
+    private static final int[] WIDTHS = {1, 16, 256, 1024, 4096};
+
+    /**
+     * Main method of the benchmark.
+     * @since 1.0
+     */
+    public static void main(String[] args) {
+        int[] counts = BenchmarkSupport.parseCounts(args, COUNTS);
+        int cores = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+        PrintStream out = System.out;
+        PrintStream silent = BenchmarkSupport.silentStream();
+
+        List<Parcel> parcels = BenchmarkSupport.createParcels(counts, true);
+        List<Parcel> greedyParcels = BenchmarkSupport.createParcels(counts, false);
+
+        System.out.println("Counts " + Arrays.toString(counts) + " on " + ContainerSpec.DEFAULT);
+
+        System.setOut(silent);
+        GreedyFirstFit firstFit = new GreedyFirstFit(greedyParcels, counts.clone(), ContainerSpec.DEFAULT);
+        firstFit.solve();
+        System.setOut(out);
+        System.out.printf("%-16s score %5d%n", "Greedy First-Fit", firstFit.getMaxScore());
+
+        for (int width : WIDTHS) {
+            String reference = null;
+            for (int threads : new int[]{1, cores}) {
+                BeamSearch algorithm = new BeamSearch(parcels, counts.clone(), ContainerSpec.DEFAULT, width, threads);
+
+                System.setOut(silent);
+                long start = System.nanoTime();
+                String result = BenchmarkSupport.describe(algorithm.solve());
+                long elapsed = System.nanoTime() - start;
+                System.setOut(out);
+
+                if (reference == null) reference = result;
+                System.out.printf("width %5d %2d threads  took %10.1f ms  expanded %9d  duplicates %8d  score %5d"
+                                + "  same parcels: %b%n", width, threads, elapsed / 1e6, algorithm.getExpandedStates(),
+                        algorithm.getDuplicateStates(), algorithm.getMaxScore(), reference.equals(result));
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package app.Benchmarks;
+
+import app.Entities.Parcel;
+import app.Entities.ParcelComponent;
+import app.Entities.ParcelType;
+import app.Factories.ParcelFactory;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Helpers the benchmarks share: the counts from the arguments, a stream the output of the algorithms is written to
+ * while they are measured, the input parcels and a string of the result of solve().
+ * @since 1.0
+ */
+public class BenchmarkSupport {
+
+    /**
+     * Returns the counts per type, the given arguments in the order of the ParcelType and the defaults for the
+     * types without an argument.
+     * @since 1.0
+     */
+    public static int[] parseCounts(String[] args, int[] defaults) {
+        int[] counts = defaults.clone();
+        for (int i = 0; i < args.length && i < counts.length; i++) counts[i] = Integer.parseInt(args[i]);
+
+        return counts;
+    }
+
+    /**
+     * Returns a stream that drops everything, System.out is set to it while an algorithm is measured.
+     * @since 1.0
+     */
+    public static PrintStream silentStream() {
+        return new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+        });
+    }
+
+    /**
+     * Creates the input parcels in the same way as the GUI does, one per type that is asked for or one per parcel.
+     * @since 1.0
+     */
+    public static List<Parcel> createParcels(int[] counts, boolean onePerType) {
+        List<Parcel> parcels = new ArrayList<>();
+        for (ParcelType type : ParcelType.values()) {
+            int count = onePerType ? Math.min(1, counts[type.ordinal()]) : counts[type.ordinal()];
+            for (int j = 0; j < count; j++) parcels.add(ParcelFactory.getParcel(type, type.getDefaultScore()));
+        }
+
+        return parcels;
+    }
+
+    /**
+     * Turns the result of solve() into a string that is equal for equal containers or equal placed parcels. The
+     * ids of the parcels are left out, they differ between algorithms by design.
+     * @since 1.0
+     */
+    public static String describe(Object result) {
+        if (result instanceof char[][][]) return Arrays.deepToString((char[][][]) result);
+
+        StringBuilder builder = new StringBuilder();
+        for (Object element : (List<?>) result) {
+            Parcel parcel = (Parcel) element;
+            builder.append(parcel.getType()).append(parcel.getValue());
+            for (ParcelComponent component : parcel.getComponents()) {
+                builder.append('(').append(component.getX()).append(',').append(component.getY()).append(',')
+                        .append(component.getZ()).append(')');
+            }
+            builder.append(';');
+        }
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,180 @@
+package app.Benchmarks;
+
+import app.Algorithms.Algorithm;
+import app.Algorithms.Backtracking.DivideAndConquerBacktracking;
+import app.Algorithms.Backtracking.FastBacktracking;
+import app.Algorithms.Backtracking.TracedBacktracking;
+import app.Algorithms.BeamSearch.BeamSearch;
+import app.Algorithms.DancingLinks.DancingLinks;
+import app.Algorithms.DynamicProgramming.DynamicProgramming;
+import app.Algorithms.DynamicProgramming.FrontierDynamicProgramming;
+import app.Algorithms.DynamicProgramming.SlabCache;
+import app.Algorithms.DynamicProgramming.SlabComposition;
+import app.Algorithms.Genetic.GeneticAlgorithm;
+import app.Algorithms.Greedy.GreedyFirstFit;
+import app.Algorithms.Greedy.GreedyNextFit;
+import app.Algorithms.LocalSearch.LargeNeighbourhoodSearch;
+import app.Algorithms.LocalSearch.SimulatedAnnealing;
+import app.Entities.ContainerSpec;
+import app.Entities.Parcel;
+
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Concurrency stress check for the algorithms. Every algorithm is first solved alone to get its reference result,
+ * after that N algorithms of every kind are solved at the same time on N threads. All of them are created from the
+ * same list of parcels and the same counts, like the GUI does, and are released together so that they really
+ * overlap. Every concurrent result, and a second solve() of the same algorithm, has to be equal to the reference.
+ * The SlabComposition shares a SlabCache in a temporary file, which is deleted afterwards.
+ *
+ * Usage: ConcurrencyStressCheck [threads], the exit status is 1 if a result differs.
+ * @since 1.0
+ */
+public class ConcurrencyStressCheck {
+
+    /**
+     * @param GREEDY_COUNTS             parcels per type for the greedy algorithms and dynamic programming
+     * @param BACKTRACKING_COUNTS       parcels per type for the backtracking algorithms
+     * @param SPECS                     the containers every algorithm is checked on
+     * @param NAMES                     the algorithms that are checked
+     * @since 1.0
+     */
+    private static final int[] GREEDY_COUNTS = {10, 10, 10, 10, 10, 10};
+    private static final int[] BACKTRACKING_COUNTS = {0, 0, 0, 2, 2, 2};
+    private static final ContainerSpec[] SPECS = {ContainerSpec.DEFAULT, new ContainerSpec(4, 4, 10)};
+    private static final String[] NAMES = {"Greedy Next-Fit", "Greedy First-Fit", "Dynamic Programming",
+            "Normal Backtracking", "Traceable Backtracking", "Divide and Conquer Backtracking",
+            "Algorithm X - Dancing Links", "Frontier Dynamic Programming", "Slab Composition",
+            "Genetic Algorithm", "Simulated Annealing", "Beam Search",
+            "Large Neighbourhood Search"};
+
+    /**
+     * Main method of the check.
+     * @since 1.0
+     */
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        PrintStream out = System.out;
+        PrintStream silent = BenchmarkSupport.silentStream();
+
+        Path slabFile = Files.createTempFile("slabs", ".cache");
+        Files.delete(slabFile);
+        SlabCache slabCache = new SlabCache(slabFile);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        boolean allEqual = true;
+
+        try {
+            for (ContainerSpec spec : SPECS) {
+                for (String name : NAMES) {
+                    System.setOut(silent);
+                    Algorithm<?> single = createAlgorithm(name, spec, createParcels(name), counts(name).clone(),
+                            slabCache);
+                    String reference = BenchmarkSupport.describe(single.solve());
+                    boolean resolved = reference.equals(BenchmarkSupport.describe(single.solve()));
+
+                    List<Parcel> sharedParcels = createParcels(name);
+                    int[] sharedCounts = counts(name).clone();
+                    CountDownLatch start = new CountDownLatch(1);
+                    List<Future<String>> results = new ArrayList<>();
+                    for (int t = 0; t < threads; t++) {
+                        results.add(executor.submit(() -> {
+                            Algorithm<?> algorithm = createAlgorithm(name, spec, sharedParcels, sharedCounts,
+                                    slabCache);
+                            start.await();
+                            return BenchmarkSupport.describe(algorithm.solve());
+                        }));
+                    }
+                    start.countDown();
+
+                    int equal = 0;
+                    for (Future<String> result : results) {
+                        if (reference.equals(result.get())) equal++;
+                    }
+                    System.setOut(out);
+
+                    boolean passed = resolved && equal == threads;
+                    allEqual &= passed;
+                    System.out.printf("%-8s %-32s %2d/%2d threads equal, second solve equal: %-5b %s%n",
+                            spec, name, equal, threads, resolved, passed ? "OK" : "FAILED");
+                }
+            }
+        } finally {
+            System.setOut(out);
+            executor.shutdown();
+            Files.deleteIfExists(slabFile);
+        }
+
+        if (!allEqual) System.exit(1);
+    }
+
+    /**
+     * Creates the algorithm with the given name for the container, the SlabComposition on the given cache.
+     * @since 1.0
+     */
+    private static Algorithm<?> createAlgorithm(String name, ContainerSpec spec, List<Parcel> parcels, int[] counts,
+                                                SlabCache slabCache) {
+        switch (name) {
+            case "Greedy Next-Fit":
+                return new GreedyNextFit(parcels, counts, spec);
+            case "Greedy First-Fit":
+                return new GreedyFirstFit(parcels, counts, spec);
+            case "Dynamic Programming":
+                return new DynamicProgramming(parcels, counts, spec);
+            case "Normal Backtracking":
+                return new FastBacktracking(parcels, counts, spec);
+            case "Traceable Backtracking":
+                return new TracedBacktracking(parcels, counts, spec);
+            case "Divide and Conquer Backtracking":
+                return new DivideAndConquerBacktracking(parcels, counts, spec);
+            case "Algorithm X - Dancing Links":
+                return new DancingLinks(parcels, counts, spec);
+            case "Frontier Dynamic Programming":
+                return new FrontierDynamicProgramming(parcels, counts, spec);
+            case "Slab Composition":
+                return new SlabComposition(parcels, counts, spec, slabCache);
+            case "Genetic Algorithm":
+                return new GeneticAlgorithm(parcels, counts, spec);
+            case "Simulated Annealing":
+                return new SimulatedAnnealing(parcels, counts, spec);
+            case "Beam Search":
+                return new BeamSearch(parcels, counts, spec);
+            case "Large Neighbourhood Search":
+                return new LargeNeighbourhoodSearch(parcels, counts, spec);
+        }
+
+        throw new IllegalArgumentException(name);
+    }
+
+    /**
+     * Returns the counts the algorithm with the given name is checked with.
+     * @since 1.0
+     */
+    private static int[] counts(String name) {
+        return name.startsWith("Greedy") || name.startsWith("Dynamic") || name.startsWith("Genetic")
+                || name.startsWith("Simulated") || name.startsWith("Large") ? GREEDY_COUNTS : BACKTRACKING_COUNTS;
+    }
+
+    /**
+     * Creates the input parcels in the same way as the GUI does, one per type for the backtracking algorithms
+     * that work on the grid and one per parcel for the others.
+     * @since 1.0
+     */
+    private static List<Parcel> createParcels(String name) {
+        int[] counts = counts(name);
+        boolean onePerType = name.equals("Normal Backtracking") || name.startsWith("Divide")
+                || name.startsWith("Algorithm X") || name.startsWith("Frontier") || name.startsWith("Slab")
+                || name.startsWith("Genetic") || name.startsWith("Simulated") || name.startsWith("Beam")
+                || name.startsWith("Large");
+
+        return BenchmarkSupport.createParcels(counts, onePerType);
+    }
+}
@@ -0,0 +1,73 @@
+package app.Benchmarks;
+
+import app.Algorithms.Genetic.GeneticAlgorithm;
+import app.Algorithms.Greedy.GreedyFirstFit;
+import app.Entities.ContainerSpec;
+import app.Entities.Parcel;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Quality benchmark for the GeneticAlgorithm. The parcels are packed by GreedyFirstFit with one input parcel per
+ * parcel, like the GUI does, which is the container the GeneticAlgorithm starts from, and then by the
+ * GeneticAlgorithm with 1, 2, 4, ... islands for GENETIC_GENERATIONS generations and within every budget. The time,
+ * the generations and the score of every solve are printed.
+ *
+ * Usage: GeneticAlgorithmBenchmark [count per type ...], six counts in the order of the ParcelType.
+ * @since 1.0
+ */
+public class GeneticAlgorithmBenchmark {
+
+    /**
+     * @param COUNTS                    parcels per type if no counts are given
+     * @param ISLANDS                   the numbers of islands that are measured
+     * @param BUDGETS                   the budgets every number of islands is solved with, in milliseconds
+     * @since 1.0
+     */
+    private static final int[] COUNTS = {30, 30, 30, 30, 30, 30};
+    private static final int[] ISLANDS = {1, 2, 4, 8};
+    private static final long[] BUDGETS = {100, 1000};
+
+    /**
+     * Main method of the benchmark.
+     * @since 1.0
+     */
+    public static void main(String[] args) {
+        int[] counts = BenchmarkSupport.parseCounts(args, COUNTS);
+
+        PrintStream out = System.out;
+        PrintStream silent = BenchmarkSupport.silentStream();
+
+        List<Parcel> parcels = BenchmarkSupport.createParcels(counts, true);
+        List<Parcel> greedyParcels = BenchmarkSupport.createParcels(counts, false);
+
+        System.out.println("Counts " + Arrays.toString(counts) + " on " + ContainerSpec.DEFAULT);
+
+        System.setOut(silent);
+        GreedyFirstFit firstFit = new GreedyFirstFit(greedyParcels, counts.clone(), ContainerSpec.DEFAULT);
+        firstFit.solve();
+        System.setOut(out);
+        System.out.printf("%-22s score %5d%n", "Greedy First-Fit", firstFit.getMaxScore());
+
+        for (int islands : ISLANDS) {
+            for (int run = 0; run <= BUDGETS.length; run++) {
+                GeneticAlgorithm algorithm = new GeneticAlgorithm(parcels, counts.clone(), ContainerSpec.DEFAULT,
+                        islands);
+
+                System.setOut(silent);
+                long start = System.nanoTime();
+                if (run < BUDGETS.length) algorithm.solve(Duration.ofMillis(BUDGETS[run]));
+                else algorithm.solve();
+                long elapsed = System.nanoTime() - start;
+                System.setOut(out);
+
+                String budget = run < BUDGETS.length ? BUDGETS[run] + " ms" : "none";
+                System.out.printf("%2d islands budget %8s  took %10.1f ms  generations %6d  score %5d%n",
+                        islands, budget, elapsed / 1e6, algorithm.getGenerations(), algorithm.getMaxScore());
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package app.Benchmarks;
+
+import app.Algorithms.Greedy.GreedyFirstFit;
+import app.Algorithms.LocalSearch.LargeNeighbourhoodSearch;
+import app.Entities.ContainerSpec;
+import app.Entities.Parcel;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Quality benchmark for the LargeNeighbourhoodSearch. The parcels are packed by GreedyFirstFit with one input parcel
+ * per parcel, like the GUI does, and then refined by the LargeNeighbourhoodSearch, once from its own starting
+ * container and once from the placed parcels GreedyFirstFit returned, each on 1 thread and on all cores. The time,
+ * the repairs that were kept and the score are printed, and whether both thread counts return the same parcels.
+ * GreedyFirstFit can return parcels of type A that were not given, the LargeNeighbourhoodSearch cannot start from
+ * those.
+ *
+ * Usage: LargeNeighbourhoodSearchBenchmark [count per type ...], six counts in the order of the ParcelType.
+ * @since 1.0
+ */
+public class LargeNeighbourhoodSearchBenchmark {
+
+    /**
+     * @param COUNTS                    parcels per type if no counts are given
+     * @since 1.0
+     */
+    private static final int[] COUNTS = {30, 30, 30, 30, 30, 30};
+
+    /**
+     * Main method of the benchmark.
+     * @since 1.0
+     */
+    public static void main(String[] args) {
+        int[] counts = BenchmarkSupport.parseCounts(args, COUNTS);
+        int cores = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+        PrintStream out = System.out;
+        PrintStream silent = BenchmarkSupport.silentStream();
+
+        List<Parcel> parcels = BenchmarkSupport.createParcels(counts, true);
+        List<Parcel> greedyParcels = BenchmarkSupport.createParcels(counts, false);
+
+        System.out.println("Counts " + Arrays.toString(counts) + " on " + ContainerSpec.DEFAULT);
+
+        System.setOut(silent);
+        GreedyFirstFit firstFit = new GreedyFirstFit(greedyParcels, counts.clone(), ContainerSpec.DEFAULT);
+        List<Parcel> firstFitParcels = firstFit.solve();
+        System.setOut(out);
+        System.out.printf("%-16s score %5d%n", "Greedy First-Fit", firstFit.getMaxScore());
+
+        for (boolean fromFirstFit : new boolean[]{false, true}) {
+            String reference = null;
+            for (int threads : new int[]{1, cores}) {
+                LargeNeighbourhoodSearch algorithm = new LargeNeighbourhoodSearch(parcels, counts.clone(),
+                        ContainerSpec.DEFAULT, threads);
+                if (fromFirstFit) {
+                    try {
+                        algorithm.setStartingPacking(firstFitParcels);
+                    } catch (IllegalArgumentException e) {
+                        System.out.printf("%-16s %s%n", "from First-Fit", e.getMessage());
+                        break;
+                    }
+                }
+
+                System.setOut(silent);
+                long start = System.nanoTime();
+                String result = BenchmarkSupport.describe(algorithm.solve());
+                long elapsed = System.nanoTime() - start;
+                System.setOut(out);
+
+                if (reference == null) reference = result;
+                System.out.printf("%-16s %2d threads  took %10.1f ms  kept %5d / %5d repairs  score %5d"
+                                + "  same parcels: %b%n", fromFirstFit ? "from First-Fit" : "own start", threads,
+                        elapsed / 1e6, algorithm.getImprovements(), algorithm.getRepairs(), algorithm.getMaxScore(),
+                        reference.equals(result));
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package app.Benchmarks;
+
+import app.Algorithms.Backtracking.FastBacktracking;
+import app.Entities.ContainerSpec;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Speedup benchmark for the parallel FastBacktracking. Solves the same parcels on 1 thread and on 2, 4, ... threads
+ * up to the number of cores and prints the time, the speedup against 1 thread and whether the container is the
+ * same as the one of the single threaded search.
+ *
+ * Usage: ParallelBacktrackingBenchmark [count per type ...], six counts in the order of the ParcelType.
+ * @since 1.0
+ */
+public class ParallelBacktrackingBenchmark {
+
+    /**
+     * @param COUNTS                    parcels per type if no counts are given
+     * @param WARMUP_RUNS               runs per thread count that are not measured
+     * @param MEASURED_RUNS             runs per thread count that are measured
+     * @since 1.0
+     */
+    private static final int[] COUNTS = {1, 1, 1, 1, 1, 1};
+    private static final int WARMUP_RUNS = 1;
+    private static final int MEASURED_RUNS = 3;
+
+    /**
+     * Main method of the benchmark.
+     * @since 1.0
+     */
+    public static void main(String[] args) {
+        int[] counts = BenchmarkSupport.parseCounts(args, COUNTS);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        List<Integer> threadCounts = new ArrayList<>();
+        threadCounts.add(1);
+        for (int threads = 2; threads < cores; threads *= 2) threadCounts.add(threads);
+        threadCounts.add(Math.max(2, cores));
+
+        PrintStream out = System.out;
+        PrintStream silent = BenchmarkSupport.silentStream();
+
+        System.out.println("Counts " + Arrays.toString(counts) + " on " + ContainerSpec.DEFAULT + ", " + cores
+                + " cores");
+
+        double singleThreaded = 0;
+        String reference = null;
+        for (int threads : threadCounts) {
+            long total = 0;
+            int score = 0;
+            String container = null;
+
+            for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++) {
+                FastBacktracking algorithm = new FastBacktracking(BenchmarkSupport.createParcels(counts, true),
+                        counts.clone(), ContainerSpec.DEFAULT, threads);
+
+                System.setOut(silent);
+                long start = System.nanoTime();
+                char[][][] solution = algorithm.solve();
+                long elapsed = System.nanoTime() - start;
+                System.setOut(out);
+
+                score = algorithm.getMaxScore();
+                container = Arrays.deepToString(solution);
+                if (run >= WARMUP_RUNS) total += elapsed;
+            }
+
+            double millis = total / 1e6 / MEASURED_RUNS;
+            if (reference == null) {
+                reference = container;
+                singleThreaded = millis;
+            }
+
+            System.out.printf("%3d threads %10.1f ms  speedup %5.2f  score %4d  same container: %b%n",
+                    threads, millis, singleThreaded / millis, score, reference.equals(container));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package app.Benchmarks;
+
+import app.Algorithms.PlacementIndex;
+import app.Entities.ContainerSpec;
+import app.Entities.ParcelType;
+import app.Factories.OrientationCache;
+import app.Utilities.Constants;
+
+/**
+ * Startup benchmark for the PlacementIndex. Builds the index for the variations of all parcel types and prints how
+ * many placements it holds, how much memory its tables take and how long building it takes.
+ * @see PlacementIndex
+ * @since 1.0
+ */
+public class PlacementIndexBenchmark {
+
+    /**
+     * Main method of the benchmark.
+     * @since 1.0
+     */
+    public static void main(String[] args) {
+        long firstBuild = 0;
+        long totalBuild = 0;
+        PlacementIndex index = null;
+
+        for (int run = 0; run < Constants.BENCHMARK_WARMUP_RUNS + Constants.BENCHMARK_MEASURED_RUNS; run++) {
+            long start = System.nanoTime();
+            index = new PlacementIndex(ContainerSpec.DEFAULT, OrientationCache.getAllOrientations());
+            long elapsed = System.nanoTime() - start;
+
+            if (run == 0) firstBuild = elapsed;
+            if (run >= Constants.BENCHMARK_WARMUP_RUNS) totalBuild += elapsed;
+        }
+
+        for (ParcelType type : ParcelType.values()) {
+            System.out.println("Orientations of '" + type.getSymbol() + "':      "
+                    + OrientationCache.getOrientations(type).size());
+        }
+        System.out.println("Orientations:             " + index.getOrientationCount());
+        System.out.println("In-bounds placements:     " + index.getInBoundsPlacementCount());
+        System.out.println("Covering entries:         " + index.getCoverEnd(index.getCellCount() - 1));
+        System.out.println("Index size (bytes):       " + index.getMemoryFootprint());
+        System.out.printf("First build (ms):         %.3f%n", firstBuild / 1e6);
+        System.out.printf("Average warm build (ms):  %.3f%n", totalBuild / 1e6 / Constants.BENCHMARK_MEASURED_RUNS);
+    }
+}
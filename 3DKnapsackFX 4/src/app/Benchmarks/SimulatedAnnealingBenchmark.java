@@ -0,0 +1,70 @@
+package app.Benchmarks;
+
+import app.Algorithms.Greedy.GreedyFirstFit;
+import app.Algorithms.LocalSearch.SimulatedAnnealing;
+import app.Entities.ContainerSpec;
+import app.Entities.Parcel;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Quality benchmark for the SimulatedAnnealing. The parcels are packed by GreedyFirstFit with one input parcel per
+ * parcel, like the GUI does, and then by the SimulatedAnnealing once without a budget and within every budget. The
+ * time, the steps, the parcels the decoder placed per step and the score of every solve are printed; a decode of
+ * the whole sequence would place all parcels of the sequence on every step.
+ *
+ * Usage: SimulatedAnnealingBenchmark [count per type ...], six counts in the order of the ParcelType.
+ * @since 1.0
+ */
+public class SimulatedAnnealingBenchmark {
+
+    /**
+     * @param COUNTS                    parcels per type if no counts are given
+     * @param BUDGETS                   the budgets the annealing is solved with, in milliseconds
+     * @since 1.0
+     */
+    private static final int[] COUNTS = {30, 30, 30, 30, 30, 30};
+    private static final long[] BUDGETS = {100, 1000, 5000};
+
+    /**
+     * Main method of the benchmark.
+     * @since 1.0
+     */
+    public static void main(String[] args) {
+        int[] counts = BenchmarkSupport.parseCounts(args, COUNTS);
+
+        PrintStream out = System.out;
+        PrintStream silent = BenchmarkSupport.silentStream();
+
+        List<Parcel> parcels = BenchmarkSupport.createParcels(counts, true);
+        List<Parcel> greedyParcels = BenchmarkSupport.createParcels(counts, false);
+
+        System.out.println("Counts " + Arrays.toString(counts) + " on " + ContainerSpec.DEFAULT);
+
+        System.setOut(silent);
+        GreedyFirstFit firstFit = new GreedyFirstFit(greedyParcels, counts.clone(), ContainerSpec.DEFAULT);
+        firstFit.solve();
+        System.setOut(out);
+        System.out.printf("%-16s score %5d%n", "Greedy First-Fit", firstFit.getMaxScore());
+
+        for (int run = 0; run <= BUDGETS.length; run++) {
+            SimulatedAnnealing algorithm = new SimulatedAnnealing(parcels, counts.clone(), ContainerSpec.DEFAULT);
+
+            System.setOut(silent);
+            long start = System.nanoTime();
+            if (run == 0) algorithm.solve();
+            else algorithm.solve(Duration.ofMillis(BUDGETS[run - 1]));
+            long elapsed = System.nanoTime() - start;
+            System.setOut(out);
+
+            String budget = run == 0 ? "none" : BUDGETS[run - 1] + " ms";
+            System.out.printf("budget %8s  took %10.1f ms  steps %9d  parcels per step %6.1f  score %5d%n",
+                    budget, elapsed / 1e6, algorithm.getIterations(),
+                    (double) algorithm.getDecodedParcels() / Math.max(1, algorithm.getIterations()),
+                    algorithm.getMaxScore());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package app.Benchmarks;
+
+import app.Algorithms.DynamicProgramming.SlabCache;
+import app.Algorithms.DynamicProgramming.SlabComposition;
+import app.Entities.ContainerSpec;
+import app.Entities.Parcel;
+
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Latency benchmark for the SlabCache. The SlabComposition of the default container is solved with an empty cache
+ * in a file of its own, then again with a new cache that reads the file, like the next run of the program does,
+ * and a last time with the cache that is already read. The time and the score of every solve are printed.
+ *
+ * Usage: SlabCacheBenchmark [count per type ...], six counts in the order of the ParcelType.
+ * @since 1.0
+ */
+public class SlabCacheBenchmark {
+
+    /**
+     * @param COUNTS                    parcels per type if no counts are given
+     * @param RUNS                      the names of the three solves
+     * @since 1.0
+     */
+    private static final int[] COUNTS = {0, 0, 0, 300, 300, 300};
+    private static final String[] RUNS = {"empty cache", "cache read from file", "cache in memory"};
+
+    /**
+     * Main method of the benchmark.
+     * @since 1.0
+     */
+    public static void main(String[] args) throws Exception {
+        int[] counts = BenchmarkSupport.parseCounts(args, COUNTS);
+
+        PrintStream out = System.out;
+        PrintStream silent = BenchmarkSupport.silentStream();
+
+        List<Parcel> parcels = BenchmarkSupport.createParcels(counts, true);
+
+        Path file = Files.createTempFile("slabs", ".cache");
+        Files.delete(file);
+        System.out.println("Counts " + Arrays.toString(counts) + " on " + ContainerSpec.DEFAULT);
+
+        try {
+            SlabCache cache = new SlabCache(file);
+            for (int run = 0; run < RUNS.length; run++) {
+                if (run == 1) cache = new SlabCache(file);
+                SlabComposition composition = new SlabComposition(parcels, counts.clone(), ContainerSpec.DEFAULT,
+                        cache);
+
+                System.setOut(silent);
+                long start = System.nanoTime();
+                composition.solve();
+                long elapsed = System.nanoTime() - start;
+                System.setOut(out);
+
+                System.out.printf("%-22s took %10.1f ms  score %5d  slabs solved %3d of %3d%n",
+                        RUNS[run], elapsed / 1e6, composition.getMaxScore(), cache.getSolvedSlabs(), cache.size());
+            }
+        } finally {
+            System.setOut(out);
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package app.Entities;
+
+import app.Utilities.Constants;
+
+/**
+ * Bit-packed implementation of the OccupancyGrid, every Z-slice of the container is stored in one long. Checking
+ * a parcel is therefore an AND with a mask per slice it touches and saving the grid is a copy of one long per
+ * slice.
+ * @since 1.0
+ */
+public class BitPackedOccupancyGrid implements OccupancyGrid {
+
+    /**
+     * @param spec                      the shape of the container
+     * @param sliceCells                number of cells in one Z-slice, taken from the spec
+     * @param length                    number of Z-slices, taken from the spec
+     * @param fullSliceMask             mask with the bits of all cells of a Z-slice set
+     * @param slices                    one long per Z-slice, a set bit is a taken cell
+     * @since 1.0
+     */
+    private final ContainerSpec spec;
+    private final int sliceCells;
+    private final int length;
+    private final long fullSliceMask;
+    private final long[] slices;
+
+    /**
+     * Constructor for the BitPackedOccupancyGrid class.
+     * @param spec                      the shape of the container
+     * @since 1.0
+     */
+    public BitPackedOccupancyGrid(ContainerSpec spec) {
+        this.spec = spec;
+        this.sliceCells = spec.getSliceCells();
+        this.length = spec.getLength();
+        this.fullSliceMask = spec.getFullSliceMask();
+        this.slices = new long[this.length];
+    }
+
+    @Override
+    public ContainerSpec getSpec() {
+        return this.spec;
+    }
+
+    @Override
+    public boolean isEmpty(int i, int j, int k) {
+        return (this.slices[k] & this.spec.cellMask(i, j)) == 0;
+    }
+
+    @Override
+    public void occupy(int i, int j, int k) {
+        this.slices[k] |= this.spec.cellMask(i, j);
+    }
+
+    @Override
+    public void release(int i, int j, int k) {
+        this.slices[k] &= ~this.spec.cellMask(i, j);
+    }
+
+    @Override
+    public boolean isFree(int k, long mask) {
+        return (this.slices[k] & mask) == 0;
+    }
+
+    @Override
+    public void occupy(int k, long mask) {
+        this.slices[k] |= mask;
+    }
+
+    @Override
+    public void release(int k, long mask) {
+        this.slices[k] &= ~mask;
+    }
+
+    @Override
+    public long getSlice(int k) {
+        return this.slices[k];
+    }
+
+    @Override
+    public int nextEmptyCell(int from) {
+        int k = from / this.sliceCells;
+        if (k >= this.length) return Constants.NO_EMPTY_CELL;
+
+        long free = ~this.slices[k] & this.fullSliceMask & (-1L << (from % this.sliceCells));
+        while (free == 0) {
+            if (++k == this.length) return Constants.NO_EMPTY_CELL;
+            free = ~this.slices[k] & this.fullSliceMask;
+        }
+
+        return k * this.sliceCells + Long.numberOfTrailingZeros(free);
+    }
+
+    @Override
+    public void copyFrom(OccupancyGrid other) {
+        if (other instanceof BitPackedOccupancyGrid) {
+            System.arraycopy(((BitPackedOccupancyGrid) other).slices, 0,
+                    this.slices, 0, this.length);
+            return;
+        }
+
+        for (int k = 0; k < this.length; k++) this.slices[k] = other.getSlice(k);
+    }
+
+    @Override
+    public void clear() {
+        for (int k = 0; k < this.length; k++) this.slices[k] = 0L;
+    }
+}
@@ -0,0 +1,129 @@
+package app.Entities;
+
+import app.Utilities.Constants;
+
+/**
+ * OccupancyGrid implementation on top of the original char[][][] cargo space, a free cell holds the
+ * NOT_TRAVERSED_EMPTY_SYMBOL and a taken cell the ALREADY_TRAVERSED_SYMBOL. It is kept as a reference backend for
+ * the BitPackedOccupancyGrid.
+ * @see BitPackedOccupancyGrid
+ * @since 1.0
+ */
+public class CharOccupancyGrid implements OccupancyGrid {
+
+    /**
+     * @param spec                      the shape of the container
+     * @param width                     number of cells along the X-axis, taken from the spec
+     * @param height                    number of cells along the Y-axis, taken from the spec
+     * @param length                    number of cells along the Z-axis, taken from the spec
+     * @param cells                     the cargo space indexed by [x][y][z]
+     * @since 1.0
+     */
+    private final ContainerSpec spec;
+    private final int width;
+    private final int height;
+    private final int length;
+    private final char[][][] cells;
+
+    /**
+     * Constructor for the CharOccupancyGrid class.
+     * @param spec                      the shape of the container
+     * @since 1.0
+     */
+    public CharOccupancyGrid(ContainerSpec spec) {
+        this.spec = spec;
+        this.width = spec.getWidth();
+        this.height = spec.getHeight();
+        this.length = spec.getLength();
+        this.cells = new char[this.width][this.height][this.length];
+        this.clear();
+    }
+
+    @Override
+    public ContainerSpec getSpec() {
+        return this.spec;
+    }
+
+    @Override
+    public boolean isEmpty(int i, int j, int k) {
+        return this.cells[i][j][k] == Constants.NOT_TRAVERSED_EMPTY_SYMBOL;
+    }
+
+    @Override
+    public void occupy(int i, int j, int k) {
+        this.cells[i][j][k] = Constants.ALREADY_TRAVERSED_SYMBOL;
+    }
+
+    @Override
+    public void release(int i, int j, int k) {
+        this.cells[i][j][k] = Constants.NOT_TRAVERSED_EMPTY_SYMBOL;
+    }
+
+    @Override
+    public boolean isFree(int k, long mask) {
+        while (mask != 0) {
+            int bit = Long.numberOfTrailingZeros(mask);
+            if (!this.isEmpty(bit % this.width, bit / this.width, k)) return false;
+            mask &= mask - 1;
+        }
+
+        return true;
+    }
+
+    @Override
+    public void occupy(int k, long mask) {
+        while (mask != 0) {
+            int bit = Long.numberOfTrailingZeros(mask);
+            this.occupy(bit % this.width, bit / this.width, k);
+            mask &= mask - 1;
+        }
+    }
+
+    @Override
+    public void release(int k, long mask) {
+        while (mask != 0) {
+            int bit = Long.numberOfTrailingZeros(mask);
+            this.release(bit % this.width, bit / this.width, k);
+            mask &= mask - 1;
+        }
+    }
+
+    @Override
+    public long getSlice(int k) {
+        long slice = 0L;
+        for (int j = 0; j < this.height; j++) {
+            for (int i = 0; i < this.width; i++) {
+                if (!this.isEmpty(i, j, k)) slice |= this.spec.cellMask(i, j);
+            }
+        }
+
+        return slice;
+    }
+
+    @Override
+    public void copyFrom(OccupancyGrid other) {
+        if (other instanceof CharOccupancyGrid) {
+            for (int i = 0; i < this.width; i++) {
+                for (int j = 0; j < this.height; j++) {
+                    System.arraycopy(((CharOccupancyGrid) other).cells[i][j], 0,
+                            this.cells[i][j], 0, this.length);
+                }
+            }
+            return;
+        }
+
+        this.clear();
+        for (int k = 0; k < this.length; k++) this.occupy(k, other.getSlice(k));
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < this.width; i++) {
+            for (int j = 0; j < this.height; j++) {
+                for (int k = 0; k < this.length; k++) {
+                    this.cells[i][j][k] = Constants.NOT_TRAVERSED_EMPTY_SYMBOL;
+                }
+            }
+        }
+    }
+}
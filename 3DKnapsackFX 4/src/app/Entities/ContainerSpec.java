@@ -0,0 +1,119 @@
+package app.Entities;
+
+import app.Utilities.Constants;
+
+/**
+ * Immutable description of the shape of a container -cargo space-. The grids, masks and bounds of a solver are all
+ * derived from its ContainerSpec once, when the solver is created, so containers of different sizes can be solved
+ * side by side.
+ *
+ * Cells are numbered i + j * width + k * width * height, the order in which the algorithms traverse the container,
+ * and inside a Z-slice the cell (i, j) lives on bit i + j * width of a long.
+ * @since 1.0
+ */
+public final class ContainerSpec {
+
+    /**
+     * @param DEFAULT                   the container of the GUI, sized by the CONTAINER_ constants
+     * @param width                     number of cells along the X-axis
+     * @param height                    number of cells along the Y-axis
+     * @param length                    number of cells along the Z-axis
+     * @param sliceCells                number of cells in one Z-slice
+     * @param volume                    number of cells in the container
+     * @param fullSliceMask             mask with the bits of all cells of a Z-slice set
+     * @since 1.0
+     */
+    public static final ContainerSpec DEFAULT = new ContainerSpec(
+            Constants.CONTAINER_WIDTH, Constants.CONTAINER_HEIGHT, Constants.CONTAINER_LENGTH);
+
+    private final int width;
+    private final int height;
+    private final int length;
+    private final int sliceCells;
+    private final int volume;
+    private final long fullSliceMask;
+
+    /**
+     * Constructor for the ContainerSpec class.
+     * @param width                     number of cells along the X-axis
+     * @param height                    number of cells along the Y-axis
+     * @param length                    number of cells along the Z-axis
+     * @throws IllegalArgumentException if a size is not positive or a Z-slice does not fit in a long
+     * @since 1.0
+     */
+    public ContainerSpec(int width, int height, int length) {
+        if (width < 1 || height < 1 || length < 1)
+            throw new IllegalArgumentException(Constants.INVALID_CONTAINER_SIZE_MSG);
+        if (width * height > Long.SIZE)
+            throw new IllegalArgumentException(Constants.CROSS_SECTION_TOO_LARGE_MSG);
+
+        this.width = width;
+        this.height = height;
+        this.length = length;
+        this.sliceCells = width * height;
+        this.volume = this.sliceCells * length;
+        this.fullSliceMask = -1L >>> (Long.SIZE - this.sliceCells);
+    }
+
+    /**
+     * getters for the ContainerSpec class.
+     * @since 1.0
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    public int getHeight() {
+        return this.height;
+    }
+
+    public int getLength() {
+        return this.length;
+    }
+
+    public int getSliceCells() {
+        return this.sliceCells;
+    }
+
+    public int getVolume() {
+        return this.volume;
+    }
+
+    public long getFullSliceMask() {
+        return this.fullSliceMask;
+    }
+
+    /**
+     * Returns the mask of the single cell (i, j) inside a Z-slice.
+     * @since 1.0
+     */
+    public long cellMask(int i, int j) {
+        return 1L << (i + j * this.width);
+    }
+
+    /**
+     * Returns the largest number of parcels that fit in the container, which are all of the smallest type.
+     * @since 1.0
+     */
+    public int getMaxNumberOfParcels() {
+        return this.volume / Constants.VOLUME_OF_PENTOMINO;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof ContainerSpec)) return false;
+
+        ContainerSpec spec = (ContainerSpec) other;
+        return this.width == spec.width && this.height == spec.height && this.length == spec.length;
+    }
+
+    @Override
+    public int hashCode() {
+        return (this.width * 31 + this.height) * 31 + this.length;
+    }
+
+    @Override
+    public String toString() {
+        return this.width + "x" + this.height + "x" + this.length;
+    }
+}
@@ -0,0 +1,102 @@
+package app.Entities;
+
+import app.Utilities.Constants;
+
+/**
+ * The interface OccupancyGrid describes which cells of the cargo space are taken. The algorithms only need to know
+ * whether a cell is free or not, the parcel type that fills a cell is kept separately in a TypeLabelGrid.
+ *
+ * Cells are addressed per Z-slice: inside a slice the cell (i, j) lives on bit i + j * width, so the cross-section
+ * of the container fits in one long and the part of a parcel that falls into one slice can be tested or placed with
+ * a single mask. The sizes come from the ContainerSpec of the grid.
+ * @see ContainerSpec
+ * @see TypeLabelGrid
+ * @since 1.0
+ */
+public interface OccupancyGrid {
+
+    /**
+     * Returns the shape of the container the grid represents.
+     * @since 1.0
+     */
+    ContainerSpec getSpec();
+
+    /**
+     * checks if the cell on the given coordinates is not taken yet.
+     * @since 1.0
+     */
+    boolean isEmpty(int i, int j, int k);
+
+    /**
+     * Marks a single cell as taken.
+     * @since 1.0
+     */
+    void occupy(int i, int j, int k);
+
+    /**
+     * Marks a single cell as free again.
+     * @since 1.0
+     */
+    void release(int i, int j, int k);
+
+    /**
+     * checks if all cells of the mask are free inside Z-slice k.
+     * @param k                         the Z-slice
+     * @param mask                      the cells of the slice which are checked
+     * @return                          true, if none of the cells is taken. / false, otherwise.
+     * @since 1.0
+     */
+    boolean isFree(int k, long mask);
+
+    /**
+     * Marks all cells of the mask inside Z-slice k as taken.
+     * @since 1.0
+     */
+    void occupy(int k, long mask);
+
+    /**
+     * Marks all cells of the mask inside Z-slice k as free.
+     * @since 1.0
+     */
+    void release(int k, long mask);
+
+    /**
+     * Returns the taken cells of Z-slice k as a mask.
+     * @since 1.0
+     */
+    long getSlice(int k);
+
+    /**
+     * Returns the first free cell at or after the given cell. Cells are numbered i + j * width +
+     * k * width * height, the order in which the algorithms traverse the container, so a whole Z-slice is
+     * searched with one bit-scan of its free cells.
+     * @param from                      the number of the first cell that is looked at
+     * @return                          the number of the free cell, or NO_EMPTY_CELL if all cells from the given
+     *                                  one on are taken
+     * @since 1.0
+     */
+    default int nextEmptyCell(int from) {
+        ContainerSpec spec = this.getSpec();
+        int sliceCells = spec.getSliceCells();
+
+        for (int k = from / sliceCells; k < spec.getLength(); k++) {
+            long free = ~this.getSlice(k) & spec.getFullSliceMask();
+            if (k == from / sliceCells) free &= -1L << (from % sliceCells);
+            if (free != 0) return k * sliceCells + Long.numberOfTrailingZeros(free);
+        }
+
+        return Constants.NO_EMPTY_CELL;
+    }
+
+    /**
+     * Copies the occupancy of another grid into this grid.
+     * @since 1.0
+     */
+    void copyFrom(OccupancyGrid other);
+
+    /**
+     * Frees all the cells of the grid.
+     * @since 1.0
+     */
+    void clear();
+}
@@ -0,0 +1,125 @@
+package app.Entities;
+
+/**
+ * Immutable description of one orientation of a parcel type. The cells of the orientation are stored as packed
+ * (x, y, z) offsets, normalized so that the minimum corner of the bounding box is the origin and sorted in the order
+ * in which the algorithms traverse the container (Z first, then Y, then X). The first cell in that order is the
+ * lead cell: placing the lead cell on the first empty cell of the container never touches a cell before it.
+ *
+ * Orientations are created once by the OrientationCache and shared, read-only, by every solver.
+ * @see app.Factories.OrientationCache
+ * @since 1.0
+ */
+public final class Orientation {
+
+    /**
+     * @param id                        the id of the orientation inside the OrientationCache
+     * @param type                      the type of the parcel
+     * @param parcelType                the ParcelType of the type
+     * @param offsets                   packed (x, y, z) offsets of the cells, three ints per cell
+     * @param sizeX                     extent of the bounding box along the X-axis
+     * @param sizeY                     extent of the bounding box along the Y-axis
+     * @param sizeZ                     extent of the bounding box along the Z-axis
+     * @since 1.0
+     */
+    private final int id;
+    private final char type;
+    private final ParcelType parcelType;
+    private final int[] offsets;
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+
+    /**
+     * Constructor for the Orientation class.
+     * @param id                        the id of the orientation inside the OrientationCache
+     * @param type                      the type of the parcel
+     * @param offsets                   normalized and sorted (x, y, z) offsets, three ints per cell
+     * @since 1.0
+     */
+    public Orientation(int id, char type, int[] offsets) {
+        this.id = id;
+        this.type = type;
+        this.parcelType = ParcelType.fromSymbol(type);
+        this.offsets = offsets.clone();
+
+        int maxX = 0, maxY = 0, maxZ = 0;
+        for (int n = 0; n < this.getVolume(); n++) {
+            maxX = Math.max(maxX, this.getX(n));
+            maxY = Math.max(maxY, this.getY(n));
+            maxZ = Math.max(maxZ, this.getZ(n));
+        }
+
+        this.sizeX = maxX + 1;
+        this.sizeY = maxY + 1;
+        this.sizeZ = maxZ + 1;
+    }
+
+    /**
+     * getters for the Orientation class.
+     * @since 1.0
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    public char getType() {
+        return this.type;
+    }
+
+    public ParcelType getParcelType() {
+        return this.parcelType;
+    }
+
+    public int getVolume() {
+        return this.offsets.length / 3;
+    }
+
+    public int getX(int cell) {
+        return this.offsets[3 * cell];
+    }
+
+    public int getY(int cell) {
+        return this.offsets[3 * cell + 1];
+    }
+
+    public int getZ(int cell) {
+        return this.offsets[3 * cell + 2];
+    }
+
+    public int getSizeX() {
+        return this.sizeX;
+    }
+
+    public int getSizeY() {
+        return this.sizeY;
+    }
+
+    public int getSizeZ() {
+        return this.sizeZ;
+    }
+
+    /**
+     * getters for the offset of the lead cell, the first cell in traversal order.
+     * @since 1.0
+     */
+    public int getLeadX() {
+        return this.getX(0);
+    }
+
+    public int getLeadY() {
+        return this.getY(0);
+    }
+
+    public int getLeadZ() {
+        return this.getZ(0);
+    }
+
+    /**
+     * checks if the orientation fills its whole bounding box, which is the case for the boxes 'a', 'b' and 'c'.
+     * @since 1.0
+     */
+    public boolean isCuboid() {
+        return this.getVolume() == this.sizeX * this.sizeY * this.sizeZ;
+    }
+}
@@ -1,11 +1,11 @@
 package app.Entities;
 
+import app.Factories.OrientationCache;
 import app.Utilities.Constants;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 public class Parcel {
@@ -15,29 +15,32 @@ public class Parcel {
      * After getting the variations these are inserted into an array list from which it is easier to be implemented into
      * our algorithms.
      * @param id                        character containing the identification char of the parcel
-     * @param currentId                 gets initialized with 0 to be incremented giving everything a proper id
+     * @param nextId                    gets initialized with 0 to be incremented giving everything a proper id, it is
+     *                                  atomic because parcels are created by solvers on several threads
      * @param components                array list of the parcel components
      * @param x                         dimension of parcel
      * @param y                         dimension of parcel
      * @param z                         dimension of parcel
      * @param value                     assigned value to the parcel
      * @param type                      type of the parcel -closely related to the ID-
+     * @param parcelType                the ParcelType of the type, its ordinal indexes the inventory
      * @param variationPattern          a variable of type string containing the variation patterns of a parcel type
      * @param used                      gives true if a parcel is used; false if not used
-     * @param allVariations             an array list containing all variations of the parcels
+     * @param orientation               the shared orientation of a variation, null for other parcels
      * @since 1.0
      */
     private int id;
-    private static int currentId = Constants.INITIAL_PARCEL_ID;
+    private static final AtomicInteger nextId = new AtomicInteger(Constants.INITIAL_PARCEL_ID);
     private List<ParcelComponent> components;
     private int x;
     private int y;
     private int z;
     private int value;
     private char type;
+    private ParcelType parcelType;
     private String variationPattern;
     private boolean used;
-    private Map<Character, List<Parcel>> allVariations;
+    private Orientation orientation;
 
     /**
      * constructor for the parcel class.
@@ -45,7 +48,6 @@ public class Parcel {
      */
     public Parcel(int x, int y, int z, int value, char type, String variationPattern) {
         this.components = new ArrayList<>();
-        this.allVariations = new HashMap<>();
 
         this.setX(x);
         this.setY(y);
@@ -55,7 +57,7 @@ public class Parcel {
         this.setType(type);
         this.setVariationPattern(variationPattern);
         this.setUsed(false);
-        this.setId(currentId++);
+        this.setId(nextId.getAndIncrement());
     }
 
     /**
@@ -64,7 +66,6 @@ public class Parcel {
      */
     public Parcel(Parcel other){
         this.components = new ArrayList<>();
-        this.allVariations = new HashMap<>();
         for(ParcelComponent parcelComponent : other.components){
             this.components.add(new ParcelComponent(parcelComponent));
         }
@@ -78,6 +79,56 @@ public class Parcel {
         this.setType(other.type);
         this.setUsed(other.used);
         this.setId(other.id);
+        this.orientation = other.orientation;
+    }
+
+    /**
+     * constructor for a variation of a parcel. The components are the cells of the orientation relative to its
+     * lead cell, so the variation always covers the coordinates it is placed on.
+     * @param owner                     the parcel the variation belongs to
+     * @param orientation               the shared orientation of the variation
+     * @since 1.0
+     */
+    private Parcel(Parcel owner, Orientation orientation){
+        this.components = new ArrayList<>();
+        for(int cell = 0; cell < orientation.getVolume(); cell++){
+            this.components.add(new ParcelComponent(
+                    orientation.getX(cell) - orientation.getLeadX(),
+                    orientation.getY(cell) - orientation.getLeadY(),
+                    orientation.getZ(cell) - orientation.getLeadZ()));
+        }
+
+        this.setX(owner.x);
+        this.setY(owner.y);
+        this.setZ(owner.z);
+
+        this.setValue(owner.value);
+        this.setVariationPattern(owner.variationPattern);
+        this.setType(owner.type);
+        this.setUsed(false);
+        this.setId(owner.id);
+        this.orientation = orientation;
+    }
+
+    /**
+     * constructor for a parcel placed in the container. The components are the cells of the orientation on the
+     * placed coordinates and the parcel gets the id of its owner.
+     * @param owner                     the parcel the placement belongs to
+     * @param orientation               the placed orientation
+     * @param i                         X coordinate of the minimum corner
+     * @param j                         Y coordinate of the minimum corner
+     * @param k                         Z coordinate of the minimum corner
+     * @since 1.0
+     */
+    public Parcel(Parcel owner, Orientation orientation, int i, int j, int k){
+        this(owner, orientation);
+
+        for(int cell = 0; cell < orientation.getVolume(); cell++){
+            ParcelComponent component = this.components.get(cell);
+            component.setX(orientation.getX(cell) + i);
+            component.setY(orientation.getY(cell) + j);
+            component.setZ(orientation.getZ(cell) + k);
+        }
     }
 
     /**
@@ -114,6 +165,19 @@ public class Parcel {
 
     private void setType(char type) {
         this.type = type;
+        this.parcelType = ParcelType.fromSymbol(type);
+    }
+
+    public ParcelType getParcelType() {
+        return this.parcelType;
+    }
+
+    public Orientation getOrientation() {
+        return this.orientation;
+    }
+
+    public int getOrientationId() {
+        return this.orientation == null ? Constants.NOT_INDEXED_ORIENTATION_ID : this.orientation.getId();
     }
 
     public int getValue() {
@@ -225,10 +289,27 @@ public class Parcel {
         }
     }
 
+    /**
+     * Returns the variations of the parcel. The orientations come from the OrientationCache, which computes them
+     * only once per parcel type, so this parcel itself is not rotated.
+     * @see OrientationCache
+     * @return  returns a new list with one variation per distinct orientation of the parcel type
+     * @since 1.0
+     */
+    public List<Parcel> getAllVariations(){
+        List<Parcel> variations = new ArrayList<>();
+        for(Orientation orientation : OrientationCache.getOrientations(this.type)){
+            variations.add(new Parcel(this, orientation));
+        }
+
+        return variations;
+    }
+
     /**
      * makes the array list for all the possible variations the parcels can have.
      * this is done by assigning characters to the rotation methods, which connect to the variation pattern
-     * given to the parcels in the ParcelFactory class.
+     * given to the parcels in the ParcelFactory class. The list can contain the same orientation more than once
+     * and the parcel itself is rotated, it is therefore only used by the OrientationCache.
      *
      * e.g. the variationPattern for the type 'l'parcel is yzxyzxabcyzxacyzxyzxabcyzxzxzc.
      *      therefore it will first rotateY(), then rotateZ() etc.
@@ -243,8 +324,8 @@ public class Parcel {
      * @return  returns the full array list of the variation patterns of the desired type
      * @since 1.0
      */
-    public List<Parcel> getAllVariations(){
-        this.allVariations.put(this.type, new ArrayList<>());
+    public List<Parcel> generateVariations(){
+        List<Parcel> variations = new ArrayList<>();
 
         for(String step : this.variationPattern.split("")){
             boolean flipping = false;
@@ -259,9 +340,9 @@ public class Parcel {
                 case "f": this.flip(); flipping = true; break;
             }
 
-            if(!flipping) this.allVariations.get(this.type).add(new Parcel(this));
+            if(!flipping) variations.add(new Parcel(this));
         }
 
-        return this.allVariations.get(this.type);
+        return variations;
     }
 }
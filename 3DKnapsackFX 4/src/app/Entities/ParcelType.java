@@ -0,0 +1,90 @@
+package app.Entities;
+
+import app.Utilities.Constants;
+
+/**
+ * The enum ParcelType lists the parcel types together with their symbol, volume, default score and colour. The
+ * ordinal of a type is its id in the ParcelFactory, so an inventory of parcels is an int[] indexed by ordinal().
+ * @see app.Factories.ParcelFactory
+ * @see app.Factories.ColorFactory
+ * @since 1.0
+ */
+public enum ParcelType {
+    L('l', Constants.VOLUME_OF_PENTOMINO, Constants.PARCEL_L_INITIAL_SCORE, "#55ffe1"),
+    P('p', Constants.VOLUME_OF_PENTOMINO, Constants.PARCEL_P_INITIAL_SCORE, "#a6fd29"),
+    T('t', Constants.VOLUME_OF_PENTOMINO, Constants.PARCEL_T_INITIAL_SCORE, "#ff3b94"),
+    A('a', Constants.VOLUME_OF_PARCEL_A, Constants.PARCEL_A_INITIAL_SCORE, "#099FFF"),
+    B('b', Constants.VOLUME_OF_PARCEL_B, Constants.PARCEL_B_INITIAL_SCORE, "#FF6600"),
+    C('c', Constants.VOLUME_OF_PARCEL_C, Constants.PARCEL_C_INITIAL_SCORE, "#F2EA02");
+
+    /**
+     * @param symbol                    the character of the type in the container, e.g. 'l'
+     * @param volume                    the number of cells a parcel of the type fills
+     * @param defaultScore              the score of a parcel of the type if the user does not change it
+     * @param color                     the colour the GUI draws the type with
+     * @param TYPES                     all types, indexed by ordinal
+     * @since 1.0
+     */
+    private final char symbol;
+    private final int volume;
+    private final int defaultScore;
+    private final String color;
+
+    private static final ParcelType[] TYPES = values();
+
+    /**
+     * Constructor for the ParcelType enum.
+     * @since 1.0
+     */
+    ParcelType(char symbol, int volume, int defaultScore, String color) {
+        this.symbol = symbol;
+        this.volume = volume;
+        this.defaultScore = defaultScore;
+        this.color = color;
+    }
+
+    /**
+     * getters for the ParcelType enum.
+     * @since 1.0
+     */
+    public char getSymbol() {
+        return this.symbol;
+    }
+
+    public int getVolume() {
+        return this.volume;
+    }
+
+    public int getDefaultScore() {
+        return this.defaultScore;
+    }
+
+    public String getColor() {
+        return this.color;
+    }
+
+    public int getFactoryId() {
+        return this.ordinal();
+    }
+
+    /**
+     * Returns the type with the given factory id.
+     * @since 1.0
+     */
+    public static ParcelType fromFactoryId(int id) {
+        return TYPES[id];
+    }
+
+    /**
+     * Returns the type with the given symbol.
+     * @return                          the type, or null if no type has the symbol
+     * @since 1.0
+     */
+    public static ParcelType fromSymbol(char symbol) {
+        for (ParcelType type : TYPES) {
+            if (type.symbol == symbol) return type;
+        }
+
+        return null;
+    }
+}
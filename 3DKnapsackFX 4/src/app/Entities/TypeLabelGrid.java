@@ -0,0 +1,103 @@
+package app.Entities;
+
+import app.Utilities.Constants;
+
+/**
+ * Side structure of the OccupancyGrid which remembers which parcel type fills a cell. Every parcel type has its own
+ * bit-packed plane with one long per Z-slice, so marking a parcel is as cheap as placing it in the grid. The
+ * char[][][] representation used by the GUI is only filled when a result is needed.
+ * @see OccupancyGrid
+ * @since 1.0
+ */
+public class TypeLabelGrid {
+
+    /**
+     * @param spec                      the shape of the container
+     * @param planes                    one bit-packed plane per parcel type, indexed by [ordinal][z]
+     * @since 1.0
+     */
+    private final ContainerSpec spec;
+    private final long[][] planes;
+
+    /**
+     * Constructor for the TypeLabelGrid class.
+     * @param spec                      the shape of the container
+     * @since 1.0
+     */
+    public TypeLabelGrid(ContainerSpec spec) {
+        this.spec = spec;
+        this.planes = new long[Constants.SIZE_OF_PARCEL_TYPES][spec.getLength()];
+    }
+
+    /**
+     * Marks the cells of the mask inside Z-slice k with the given parcel type.
+     * @since 1.0
+     */
+    public void mark(ParcelType type, int k, long mask) {
+        this.planes[type.ordinal()][k] |= mask;
+    }
+
+    /**
+     * Removes the parcel type from the cells of the mask inside Z-slice k.
+     * @since 1.0
+     */
+    public void unmark(ParcelType type, int k, long mask) {
+        this.planes[type.ordinal()][k] &= ~mask;
+    }
+
+    /**
+     * Copies the labels of another TypeLabelGrid into this one.
+     * @since 1.0
+     */
+    public void copyFrom(TypeLabelGrid other) {
+        for (int t = 0; t < Constants.SIZE_OF_PARCEL_TYPES; t++) {
+            System.arraycopy(other.planes[t], 0, this.planes[t], 0, this.spec.getLength());
+        }
+    }
+
+    /**
+     * Removes all labels.
+     * @since 1.0
+     */
+    public void clear() {
+        for (int t = 0; t < Constants.SIZE_OF_PARCEL_TYPES; t++) {
+            for (int k = 0; k < this.spec.getLength(); k++) this.planes[t][k] = 0L;
+        }
+    }
+
+    /**
+     * Builds the char[][][] representation of the cargo space. Labeled cells get the type of their parcel, taken
+     * cells without a label get the ALREADY_TRAVERSED_SYMBOL and free cells the NOT_TRAVERSED_EMPTY_SYMBOL.
+     * @param occupancy                 the grid the labels belong to
+     * @return                          the container indexed by [x][y][z]
+     * @since 1.0
+     */
+    public char[][][] toCharContainer(OccupancyGrid occupancy) {
+        char[][][] container = new char[this.spec.getWidth()][this.spec.getHeight()][this.spec.getLength()];
+
+        for (int k = 0; k < this.spec.getLength(); k++) {
+            for (int j = 0; j < this.spec.getHeight(); j++) {
+                for (int i = 0; i < this.spec.getWidth(); i++) {
+                    container[i][j][k] = occupancy.isEmpty(i, j, k)
+                            ? Constants.NOT_TRAVERSED_EMPTY_SYMBOL
+                            : this.getType(i, j, k);
+                }
+            }
+        }
+
+        return container;
+    }
+
+    /**
+     * Returns the type of the parcel on the given cell, or the ALREADY_TRAVERSED_SYMBOL if the cell has no label.
+     * @since 1.0
+     */
+    private char getType(int i, int j, int k) {
+        long mask = this.spec.cellMask(i, j);
+        for (int t = 0; t < Constants.SIZE_OF_PARCEL_TYPES; t++) {
+            if ((this.planes[t][k] & mask) != 0) return ParcelType.fromFactoryId(t).getSymbol();
+        }
+
+        return Constants.ALREADY_TRAVERSED_SYMBOL;
+    }
+}
@@ -1,6 +1,7 @@
 package app.Factories;
 
 
+import app.Entities.ParcelType;
 import app.Utilities.Constants;
 import javafx.scene.paint.Color;
 
@@ -17,16 +18,12 @@ public class ColorFactory {
      * @since 1.0
      */
     public static Color getColorByParcelType(char type){
-        switch (type){
-            case 'a': return Color.valueOf("#099FFF");
-            case 'b': return Color.valueOf("#FF6600");
-            case 'c': return Color.valueOf("#F2EA02");
-            case 'l': return Color.valueOf("#55ffe1");
-            case 'p': return Color.valueOf("#a6fd29");
-            case 't': return Color.valueOf("#ff3b94");
-            default:
-                System.out.println(Constants.NO_APPROPRIATE_COLOR_MSG);
-                return Color.WHITE;
+        ParcelType parcelType = ParcelType.fromSymbol(type);
+        if (parcelType == null) {
+            System.out.println(Constants.NO_APPROPRIATE_COLOR_MSG);
+            return Color.WHITE;
         }
+
+        return Color.valueOf(parcelType.getColor());
     }
 }
@@ -0,0 +1,28 @@
+package app.Factories;
+
+import app.Entities.BitPackedOccupancyGrid;
+import app.Entities.CharOccupancyGrid;
+import app.Entities.ContainerSpec;
+import app.Entities.OccupancyGrid;
+import app.Utilities.Constants;
+
+/**
+ * The class OccupancyGridFactory creates the grids the algorithms use to represent the cargo space. Which backend is
+ * used is decided by Constants.BIT_PACKED_OCCUPANCY_GRID.
+ * @since 1.0
+ */
+public class OccupancyGridFactory {
+
+    /**
+     * Creates a new, empty occupancy grid.
+     * @param spec                      the shape of the container
+     * @return                          a BitPackedOccupancyGrid, or a CharOccupancyGrid if the bit-packed backend
+     *                                  is switched off
+     * @since 1.0
+     */
+    public static OccupancyGrid createGrid(ContainerSpec spec) {
+        if (Constants.BIT_PACKED_OCCUPANCY_GRID) return new BitPackedOccupancyGrid(spec);
+
+        return new CharOccupancyGrid(spec);
+    }
+}
@@ -0,0 +1,198 @@
+package app.Factories;
+
+import app.Entities.Orientation;
+import app.Entities.Parcel;
+import app.Entities.ParcelComponent;
+import app.Entities.ParcelType;
+import app.Utilities.Constants;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The class OrientationCache computes the orientations of every parcel type exactly once. The rotation pattern of
+ * the ParcelFactory is replayed on a prototype parcel, every result is normalized so that its minimum corner is the
+ * origin and duplicates are removed. The unrotated prototype is added last, because the pattern of the 'a' box
+ * never produces it. The resulting orientations are immutable and shared by all solvers.
+ *
+ * For every orientation the cache also knows its mirror images along the axes, which the solvers use to skip
+ * packings that are mirror images of each other.
+ * @see Orientation
+ * @see ParcelFactory
+ * @since 1.0
+ */
+public final class OrientationCache {
+
+    /**
+     * @param orientationsByType        the orientations per parcel type, indexed by the id of the ParcelFactory
+     * @param allOrientations           all orientations, the position in the list is the id of the orientation
+     * @param mirrors                   per orientation and mirror the id of the mirrored orientation, or
+     *                                  NO_MIRRORED_ORIENTATION if the type has no orientation of that shape
+     * @since 1.0
+     */
+    private static final List<List<Orientation>> orientationsByType;
+    private static final List<Orientation> allOrientations;
+    private static final int[][] mirrors;
+
+    static {
+        List<List<Orientation>> byType = new ArrayList<>();
+        List<Orientation> all = new ArrayList<>();
+
+        for (int id = 0; id < Constants.SIZE_OF_PARCEL_TYPES; id++) {
+            Parcel prototype = ParcelFactory.getParcelByIdAndValue(id, 0);
+            List<Orientation> orientations = new ArrayList<>();
+            Set<String> seen = new HashSet<>();
+
+            List<Parcel> variations = prototype.generateVariations();
+            variations.add(ParcelFactory.getParcelByIdAndValue(id, 0));
+
+            for (Parcel variation : variations) {
+                int[] offsets = normalize(variation.getComponents());
+                if (!seen.add(Arrays.toString(offsets))) continue;
+
+                Orientation orientation = new Orientation(all.size(), prototype.getType(), offsets);
+                orientations.add(orientation);
+                all.add(orientation);
+            }
+
+            byType.add(Collections.unmodifiableList(orientations));
+        }
+
+        orientationsByType = Collections.unmodifiableList(byType);
+        allOrientations = Collections.unmodifiableList(all);
+        mirrors = buildMirrors(all);
+    }
+
+    private OrientationCache() {
+    }
+
+    /**
+     * Moves the components so that the minimum corner is the origin and sorts them in traversal order, Z first,
+     * then Y, then X.
+     * @return                          the packed (x, y, z) offsets
+     * @since 1.0
+     */
+    private static int[] normalize(List<ParcelComponent> components) {
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        for (ParcelComponent component : components) {
+            minX = Math.min(minX, component.getX());
+            minY = Math.min(minY, component.getY());
+            minZ = Math.min(minZ, component.getZ());
+        }
+
+        List<int[]> cells = new ArrayList<>();
+        for (ParcelComponent component : components) {
+            cells.add(new int[]{component.getX() - minX, component.getY() - minY, component.getZ() - minZ});
+        }
+
+        return pack(cells);
+    }
+
+    /**
+     * Sorts the normalized cells in traversal order, Z first, then Y, then X.
+     * @return                          the packed (x, y, z) offsets
+     * @since 1.0
+     */
+    private static int[] pack(List<int[]> cells) {
+        cells.sort((p, q) -> p[2] != q[2] ? Integer.compare(p[2], q[2])
+                : p[1] != q[1] ? Integer.compare(p[1], q[1])
+                : Integer.compare(p[0], q[0]));
+
+        int[] offsets = new int[3 * cells.size()];
+        for (int n = 0; n < cells.size(); n++) System.arraycopy(cells.get(n), 0, offsets, 3 * n, 3);
+
+        return offsets;
+    }
+
+    /**
+     * Finds the mirror images of every orientation. An orientation is mirrored along an axis by turning its
+     * offsets around inside its bounding box, which keeps the minimum corner at the origin.
+     * @since 1.0
+     */
+    private static int[][] buildMirrors(List<Orientation> orientations) {
+        Map<String, Integer> ids = new HashMap<>();
+        for (Orientation orientation : orientations) {
+            ids.put(orientation.getType() + Arrays.toString(getOffsets(orientation, 0)), orientation.getId());
+        }
+
+        int[][] result = new int[orientations.size()][Constants.NUMBER_OF_MIRRORS];
+        for (Orientation orientation : orientations) {
+            for (int mirror = 0; mirror < Constants.NUMBER_OF_MIRRORS; mirror++) {
+                String key = orientation.getType() + Arrays.toString(getOffsets(orientation, mirror));
+                result[orientation.getId()][mirror] = ids.getOrDefault(key, Constants.NO_MIRRORED_ORIENTATION);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the packed offsets of the orientation mirrored along the given axes.
+     * @param mirror                    the axes that are mirrored, bit 0 for X, bit 1 for Y and bit 2 for Z
+     * @since 1.0
+     */
+    private static int[] getOffsets(Orientation orientation, int mirror) {
+        List<int[]> cells = new ArrayList<>();
+        for (int n = 0; n < orientation.getVolume(); n++) {
+            int x = orientation.getX(n), y = orientation.getY(n), z = orientation.getZ(n);
+            cells.add(new int[]{
+                    (mirror & 1) != 0 ? orientation.getSizeX() - 1 - x : x,
+                    (mirror & 2) != 0 ? orientation.getSizeY() - 1 - y : y,
+                    (mirror & 4) != 0 ? orientation.getSizeZ() - 1 - z : z});
+        }
+
+        return pack(cells);
+    }
+
+    /**
+     * Returns the distinct orientations of a parcel type.
+     * @param type                      the type of the parcel, e.g. 'l'
+     * @return                          an unmodifiable list of the orientations
+     * @since 1.0
+     */
+    public static List<Orientation> getOrientations(char type) {
+        return getOrientations(ParcelType.fromSymbol(type));
+    }
+
+    /**
+     * Returns the distinct orientations of a parcel type.
+     * @return                          an unmodifiable list of the orientations
+     * @since 1.0
+     */
+    public static List<Orientation> getOrientations(ParcelType type) {
+        return orientationsByType.get(type.ordinal());
+    }
+
+    /**
+     * Returns the orientations of all parcel types, the position in the list is the id of the orientation.
+     * @since 1.0
+     */
+    public static List<Orientation> getAllOrientations() {
+        return allOrientations;
+    }
+
+    /**
+     * Returns the orientation with the given id.
+     * @since 1.0
+     */
+    public static Orientation getOrientation(int id) {
+        return allOrientations.get(id);
+    }
+
+    /**
+     * Returns the id of the orientation of the same type that is the mirror image of the given one.
+     * @param id                        the id of the orientation
+     * @param mirror                    the axes that are mirrored, bit 0 for X, bit 1 for Y and bit 2 for Z
+     * @return                          the id of the mirrored orientation, or NO_MIRRORED_ORIENTATION
+     * @since 1.0
+     */
+    public static int getMirroredOrientation(int id, int mirror) {
+        return mirrors[id][mirror];
+    }
+}
@@ -2,6 +2,7 @@ package app.Factories;
 
 import app.Entities.Parcel;
 import app.Entities.ParcelComponent;
+import app.Entities.ParcelType;
 import app.Utilities.Constants;
 
 /**
@@ -22,25 +23,25 @@ public class ParcelFactory {
      */
     public static Parcel getParcelByIdAndValue(int id, int value){
         switch (id){
-            case 0: return new Parcel(0, 0, 0, value, 'l', "xyzxyzxyzxyzfxyzxyzxyzxyz")
+            case 0: return new Parcel(0, 0, 0, value, ParcelType.L.getSymbol(), "xyzxyzxyzxyzfxyzxyzxyzxyz")
                     .add(new ParcelComponent(0, 0, 0))
                     .add(new ParcelComponent(0, 0, 1))
                     .add(new ParcelComponent(0, 0, 2))
                     .add(new ParcelComponent(0, 0, 3))
                     .add(new ParcelComponent(1, 0, 0));
-            case 1: return new Parcel(0, 0, 0, value, 'p', "xyzxyzxyzxyzfxyzxyzxyzxyz")
+            case 1: return new Parcel(0, 0, 0, value, ParcelType.P.getSymbol(), "xyzxyzxyzxyzfxyzxyzxyzxyz")
                     .add(new ParcelComponent(0, 0, 1))
                     .add(new ParcelComponent(0, 0, 0))
                     .add(new ParcelComponent(0, 0, 2))
                     .add(new ParcelComponent(1, 0, 0))
                     .add(new ParcelComponent(1, 0, 1));
-            case 2: return new Parcel(0, 0, 0, value, 't', "xyzxyzxyzxyz")
+            case 2: return new Parcel(0, 0, 0, value, ParcelType.T.getSymbol(), "xyzxyzxyzxyz")
                     .add(new ParcelComponent(0, 0, 0))
                     .add(new ParcelComponent(1, 0, 1))
                     .add(new ParcelComponent(1, 0, 2))
                     .add(new ParcelComponent(1, 0, 0))
                     .add(new ParcelComponent(2, 0, 0));
-            case 3: return new Parcel(0, 0, 0, value, 'a', "abc")
+            case 3: return new Parcel(0, 0, 0, value, ParcelType.A.getSymbol(), "abc")
                     .add(new ParcelComponent(0, 0, 0))
                     .add(new ParcelComponent(0, 0, 3))
                     .add(new ParcelComponent(0, 0, 1))
@@ -57,7 +58,7 @@ public class ParcelFactory {
                     .add(new ParcelComponent(1, 1, 0))
                     .add(new ParcelComponent(1, 1, 1))
                     .add(new ParcelComponent(1, 1, 2));
-            case 4: return new Parcel(0, 0, 0, value, 'b', "abcabc")
+            case 4: return new Parcel(0, 0, 0, value, ParcelType.B.getSymbol(), "abcabc")
                     .add(new ParcelComponent(0, 0, 0))
                     .add(new ParcelComponent(0, 1, 3))
                     .add(new ParcelComponent(0, 1, 0))
@@ -82,7 +83,7 @@ public class ParcelFactory {
                     .add(new ParcelComponent(1, 2, 0))
                     .add(new ParcelComponent(1, 2, 1))
                     .add(new ParcelComponent(1, 2, 2)); // 24
-            case 5: return new Parcel(0, 0, 0, value, 'c', "a")
+            case 5: return new Parcel(0, 0, 0, value, ParcelType.C.getSymbol(), "a")
                     .add(new ParcelComponent(1, 1, 2))
                     .add(new ParcelComponent(1, 1, 0))
                     .add(new ParcelComponent(1, 1, 1)) // 3
@@ -115,4 +116,15 @@ public class ParcelFactory {
                 return null;
         }
     }
+
+    /**
+     * Constructs a parcel of the given type, the id is the factory id of the type.
+     * @param type                      the type of the parcel
+     * @param value                     Connects the parcel with its inserted value
+     * @see #getParcelByIdAndValue(int, int)
+     * @since 1.0
+     */
+    public static Parcel getParcel(ParcelType type, int value){
+        return getParcelByIdAndValue(type.getFactoryId(), value);
+    }
 }
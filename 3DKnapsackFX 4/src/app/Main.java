@@ -19,21 +19,29 @@ import javafx.scene.text.TextAlignment;
 import javafx.scene.transform.Rotate;
 import javafx.scene.transform.Translate;
 import javafx.stage.Stage;
-import javafx.util.Duration;
 import javafx.util.Pair;
 import app.Algorithms.*;
 import app.Algorithms.Backtracking.DivideAndConquerBacktracking;
 import app.Algorithms.Backtracking.FastBacktracking;
 import app.Algorithms.Backtracking.TracedBacktracking;
+import app.Algorithms.BeamSearch.BeamSearch;
+import app.Algorithms.DancingLinks.DancingLinks;
 import app.Algorithms.DynamicProgramming.DynamicProgramming;
+import app.Algorithms.DynamicProgramming.FrontierDynamicProgramming;
+import app.Algorithms.DynamicProgramming.SlabComposition;
+import app.Algorithms.Genetic.GeneticAlgorithm;
+import app.Algorithms.LocalSearch.LargeNeighbourhoodSearch;
+import app.Algorithms.LocalSearch.SimulatedAnnealing;
 import app.Algorithms.Greedy.GreedyFirstFit;
 import app.Algorithms.Greedy.GreedyNextFit;
 import app.Entities.Parcel;
 import app.Entities.ParcelComponent;
+import app.Entities.ParcelType;
 import app.Factories.ColorFactory;
 import app.Factories.ParcelFactory;
 import app.Utilities.Constants;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -133,6 +141,7 @@ public class Main extends Application {
 
         this.maxScoreLabel = new Label();
         this.maxScoreLabel.setPrefWidth(200);
+        this.maxScoreLabel.setWrapText(true);
         this.maxScoreLabel.setLayoutX(680);
         this.maxScoreLabel.setLayoutY(50);
         this.maxScoreLabel.setFont(Font.font ("Verdana", FontWeight.BOLD, 16));
@@ -191,6 +200,11 @@ public class Main extends Application {
         this.algorithmChoices.add("Dynamic Programming");
         this.algorithmChoices.add("Genetic Algorithm");
         this.algorithmChoices.add("Algorithm X - Dancing Links");
+        this.algorithmChoices.add("Frontier Dynamic Programming");
+        this.algorithmChoices.add("Slab Composition");
+        this.algorithmChoices.add("Simulated Annealing");
+        this.algorithmChoices.add("Beam Search");
+        this.algorithmChoices.add("Large Neighbourhood Search");
 
         this.algorithmLabel = new Label("Algorithm: Greedy Next-Fit");
         this.algorithmLabel.setLayoutX(400);
@@ -429,11 +443,11 @@ public class Main extends Application {
     private void initAnimation() {
         this.timeline = new Timeline(
                 new KeyFrame(
-                        Duration.seconds(0),
+                        javafx.util.Duration.seconds(0),
                         new KeyValue(this.rotate.angleProperty(), 0)
                 ),
                 new KeyFrame(
-                        Duration.seconds(Constants.ANIMATION_SPEED),
+                        javafx.util.Duration.seconds(Constants.ANIMATION_SPEED),
                         new KeyValue(this.rotate.angleProperty(), 360)
                 )
         );
@@ -554,8 +568,13 @@ public class Main extends Application {
             case "Traceable Backtracking": this.startBacktrackingAnimationAlgorithm(); break;
             case "Greedy First-Fit": this.startGreedyAlgorithm(true); break;
             case "Dynamic Programming": this.startDPAlgorithm(); break;
-            case "Genetic Algorithm": break;
-            case "Algorithm X - Dancing Links": break;
+            case "Genetic Algorithm": this.startGeneticAlgorithm(); break;
+            case "Algorithm X - Dancing Links": this.startDancingLinksAlgorithm(); break;
+            case "Frontier Dynamic Programming": this.startFrontierDPAlgorithm(); break;
+            case "Slab Composition": this.startSlabCompositionAlgorithm(); break;
+            case "Simulated Annealing": this.startSimulatedAnnealingAlgorithm(); break;
+            case "Beam Search": this.startBeamSearchAlgorithm(); break;
+            case "Large Neighbourhood Search": this.startLargeNeighbourhoodSearchAlgorithm(); break;
         }
     }
 
@@ -683,7 +702,8 @@ public class Main extends Application {
     }
 
     /**
-     * Starts the dynamic programming algorithm.
+     * Starts the dynamic programming algorithm. The selected parcels are not placed in the container, so the
+     * number of parcels of every type is shown next to the score instead of drawing them.
      */
     private void startDPAlgorithm(){
         List<Parcel> inputParcels = new ArrayList<>();
@@ -695,10 +715,154 @@ public class Main extends Application {
         }
 
         DynamicProgramming dynamicProgramming = new DynamicProgramming(inputParcels, this.countParcels);
-        List<Parcel> solutionParcels = dynamicProgramming.solve();
+        dynamicProgramming.solve();
+
+        StringBuilder selection = new StringBuilder(Constants.PRINT_SELECTION_STRING);
+        int[] selectedCounts = dynamicProgramming.getSelectedCounts();
+        for(ParcelType type : ParcelType.values()){
+            if(selectedCounts[type.ordinal()] > 0) selection.append(type).append(" x")
+                    .append(selectedCounts[type.ordinal()]).append(' ');
+        }
+
+        this.maxScoreLabel.setText(Constants.PRINT_MAX_SCORE_STRING + dynamicProgramming.getMaxScore() + "\n"
+                + selection.toString().trim());
+    }
+
+    /**
+     * Starts the Algorithm X - Dancing Links algorithm.
+     */
+    private void startDancingLinksAlgorithm(){
+        List<Parcel> inputParcels = new ArrayList<>();
+
+        for(int i=0;i<Constants.SIZE_OF_PARCEL_TYPES;i++){
+            if(this.countParcels[i] > 0){
+                inputParcels.add(ParcelFactory.getParcelByIdAndValue(i, this.valuesParcels[i]));
+            }
+        }
+
+        DancingLinks dancingLinks = new DancingLinks(inputParcels, this.countParcels);
+        List<Parcel> solutionParcels = dancingLinks.solve();
+
+        this.animatedAlgorithmStart(solutionParcels);
+        this.maxScoreLabel.setText(Constants.PRINT_MAX_SCORE_STRING + dancingLinks.getMaxScore());
+    }
+
+    /**
+     * Starts the broken-profile dynamic programming algorithm.
+     */
+    private void startFrontierDPAlgorithm(){
+        List<Parcel> inputParcels = new ArrayList<>();
+
+        for(int i=0;i<Constants.SIZE_OF_PARCEL_TYPES;i++){
+            if(this.countParcels[i] > 0){
+                inputParcels.add(ParcelFactory.getParcelByIdAndValue(i, this.valuesParcels[i]));
+            }
+        }
+
+        FrontierDynamicProgramming frontierDynamicProgramming =
+                new FrontierDynamicProgramming(inputParcels, this.countParcels);
+        List<Parcel> solutionParcels = frontierDynamicProgramming.solve();
+
+        this.animatedAlgorithmStart(solutionParcels);
+        this.maxScoreLabel.setText(Constants.PRINT_MAX_SCORE_STRING + frontierDynamicProgramming.getMaxScore());
+    }
+
+    /**
+     * Starts the composition of cached slabs.
+     */
+    private void startSlabCompositionAlgorithm(){
+        List<Parcel> inputParcels = new ArrayList<>();
+
+        for(int i=0;i<Constants.SIZE_OF_PARCEL_TYPES;i++){
+            if(this.countParcels[i] > 0){
+                inputParcels.add(ParcelFactory.getParcelByIdAndValue(i, this.valuesParcels[i]));
+            }
+        }
+
+        SlabComposition slabComposition = new SlabComposition(inputParcels, this.countParcels);
+        List<Parcel> solutionParcels = slabComposition.solve();
+
+        this.animatedAlgorithmStart(solutionParcels);
+        this.maxScoreLabel.setText(Constants.PRINT_MAX_SCORE_STRING + slabComposition.getMaxScore());
+    }
+
+    /**
+     * Starts the genetic algorithm, which evolves for GENETIC_TIME_BUDGET_MILLIS.
+     */
+    private void startGeneticAlgorithm(){
+        List<Parcel> inputParcels = new ArrayList<>();
+
+        for(int i=0;i<Constants.SIZE_OF_PARCEL_TYPES;i++){
+            if(this.countParcels[i] > 0){
+                inputParcels.add(ParcelFactory.getParcelByIdAndValue(i, this.valuesParcels[i]));
+            }
+        }
+
+        GeneticAlgorithm geneticAlgorithm = new GeneticAlgorithm(inputParcels, this.countParcels);
+        List<Parcel> solutionParcels = geneticAlgorithm.solve(Duration.ofMillis(Constants.GENETIC_TIME_BUDGET_MILLIS));
+
+        this.animatedAlgorithmStart(solutionParcels);
+        this.maxScoreLabel.setText(Constants.PRINT_MAX_SCORE_STRING + geneticAlgorithm.getMaxScore());
+    }
+
+    /**
+     * Starts the simulated annealing, which anneals for SA_TIME_BUDGET_MILLIS.
+     */
+    private void startSimulatedAnnealingAlgorithm(){
+        List<Parcel> inputParcels = new ArrayList<>();
+
+        for(int i=0;i<Constants.SIZE_OF_PARCEL_TYPES;i++){
+            if(this.countParcels[i] > 0){
+                inputParcels.add(ParcelFactory.getParcelByIdAndValue(i, this.valuesParcels[i]));
+            }
+        }
+
+        SimulatedAnnealing simulatedAnnealing = new SimulatedAnnealing(inputParcels, this.countParcels);
+        List<Parcel> solutionParcels = simulatedAnnealing.solve(Duration.ofMillis(Constants.SA_TIME_BUDGET_MILLIS));
+
+        this.animatedAlgorithmStart(solutionParcels);
+        this.maxScoreLabel.setText(Constants.PRINT_MAX_SCORE_STRING + simulatedAnnealing.getMaxScore());
+    }
+
+    /**
+     * Starts the beam search, which narrows to a greedy search after BEAM_TIME_BUDGET_MILLIS.
+     */
+    private void startBeamSearchAlgorithm(){
+        List<Parcel> inputParcels = new ArrayList<>();
+
+        for(int i=0;i<Constants.SIZE_OF_PARCEL_TYPES;i++){
+            if(this.countParcels[i] > 0){
+                inputParcels.add(ParcelFactory.getParcelByIdAndValue(i, this.valuesParcels[i]));
+            }
+        }
+
+        BeamSearch beamSearch = new BeamSearch(inputParcels, this.countParcels);
+        List<Parcel> solutionParcels = beamSearch.solve(Duration.ofMillis(Constants.BEAM_TIME_BUDGET_MILLIS));
+
+        this.animatedAlgorithmStart(solutionParcels);
+        this.maxScoreLabel.setText(Constants.PRINT_MAX_SCORE_STRING + beamSearch.getMaxScore());
+    }
+
+    /**
+     * Starts the large neighbourhood search, which repairs the container of Greedy First-Fit for
+     * LNS_TIME_BUDGET_MILLIS.
+     */
+    private void startLargeNeighbourhoodSearchAlgorithm(){
+        List<Parcel> inputParcels = new ArrayList<>();
+
+        for(int i=0;i<Constants.SIZE_OF_PARCEL_TYPES;i++){
+            if(this.countParcels[i] > 0){
+                inputParcels.add(ParcelFactory.getParcelByIdAndValue(i, this.valuesParcels[i]));
+            }
+        }
+
+        LargeNeighbourhoodSearch largeNeighbourhoodSearch = new LargeNeighbourhoodSearch(inputParcels,
+                this.countParcels);
+        List<Parcel> solutionParcels = largeNeighbourhoodSearch.solve(
+                Duration.ofMillis(Constants.LNS_TIME_BUDGET_MILLIS));
 
         this.animatedAlgorithmStart(solutionParcels);
-        this.maxScoreLabel.setText(Constants.PRINT_MAX_SCORE_STRING + dynamicProgramming.getMaxScore());
+        this.maxScoreLabel.setText(Constants.PRINT_MAX_SCORE_STRING + largeNeighbourhoodSearch.getMaxScore());
     }
 
     /**
@@ -709,7 +873,7 @@ public class Main extends Application {
         final int[] parcelId = {0};
         Timeline animation = new Timeline(
                 new KeyFrame(
-                        Duration.seconds(0),
+                        javafx.util.Duration.seconds(0),
                         event -> {
                             if(parcelId[0] < solutionParcels.size()){
                                 for(ParcelComponent component : solutionParcels.get(parcelId[0]).getComponents()){
@@ -728,7 +892,7 @@ public class Main extends Application {
                             }
                         }
                 ),
-                new KeyFrame(Duration.seconds(Constants.ANIMATION_DURATION_PER_PARCEL))
+                new KeyFrame(javafx.util.Duration.seconds(Constants.ANIMATION_DURATION_PER_PARCEL))
         );
         animation.setCycleCount(Timeline.INDEFINITE);
         animation.play();
@@ -1,5 +1,7 @@
 package app.Utilities;
 
+import app.Entities.ParcelType;
+
 /**
  * Declares and sets global constants used in the program.
  *  These respectively are:
@@ -24,17 +26,114 @@ public class Constants {
 
     public static final int FAST_BACKTRACKING_DEPTH = 15;
 
+    public static final int FAST_BACKTRACKING_SPLIT_DEPTH = 2;          // LEVELS SPLIT INTO PARALLEL TASKS
+
     public static final int TRACEABLE_BACKTRACKING_DEPTH = 3;
 
+    public static final long DANCING_LINKS_PASS_NODE_LIMIT = 100_000;   // ROWS TRIED PER WASTE BUDGET
+
+    public static final int DEADLINE_CHECK_INTERVAL = 1024;             // NODES BETWEEN TWO READS OF THE CLOCK
+
+    public static final int TRANSPOSITION_TABLE_SIZE = 1 << 17;         // ENTRIES OF 16 BYTES
+
+    public static final int TRANSPOSITION_MIN_LEVELS = 2;               // SHALLOWER BRANCHES ARE NOT LOOKED UP
+
+    public static final long ZOBRIST_SEED = 0x3D4B5F2C1A096E87L;
+
+    public static final int FRONTIER_MAP_INITIAL_ENTRIES = 1 << 12;
+
+    public static final int FRONTIER_MAP_MAX_ENTRIES = 1 << 20;         // STATES OF ABOUT 60 BYTES
+
+    public static final int NUMBER_OF_MIRRORS = 8;                      // BIT 0 MIRRORS X, BIT 1 Y AND BIT 2 Z
+
+    public static final int NO_MIRRORED_ORIENTATION = -1;
+
+    public static final int SLAB_MAX_LENGTH = 6;                        // LONGEST SLAB THAT IS SOLVED ON ITS OWN
+
+    public static final long SLAB_SOLVE_BUDGET_MILLIS = 2000;           // ONLY SPENT ON SLABS THAT ARE NOT CACHED
+
+    public static final String SLAB_CACHE_FILE_NAME = ".knapsack3d-slabs";
+
+    public static final String SLAB_CACHE_PROPERTY = "knapsack3d.slabCache";    // OTHER FILE FOR THE SHARED CACHE
+
+    public static final int[][] COLOURINGS = {{1, 1, 1, 2}, {1, 1, 1, 3},   // WEIGHTS OF I, J, K AND NUMBER OF COLOURS
+            {1, 0, 0, 2}, {0, 1, 0, 2}, {0, 0, 1, 2}};
+
+    public static final int GENETIC_ISLANDS = 4;                        // POPULATIONS THAT EVOLVE SIDE BY SIDE
+
+    public static final int GENETIC_POPULATION = 40;                    // CHROMOSOMES PER ISLAND
+
+    public static final int GENETIC_GENERATIONS = 300;
+
+    public static final int GENETIC_MIGRATION_INTERVAL = 10;            // GENERATIONS BETWEEN TWO MIGRATIONS
+
+    public static final int GENETIC_TOURNAMENT_SIZE = 3;
+
+    public static final double GENETIC_MUTATION_RATE = 0.3;
+
+    public static final long GENETIC_SEED = 0x5EEDC0DE2D4B1L;
+
+    public static final long GENETIC_TIME_BUDGET_MILLIS = 5000;         // TIME THE GUI GIVES THE GENETIC ALGORITHM
+
+    public static final int SA_ITERATIONS = 100_000;                    // STEPS OF ONE COOLING FROM START TO END
+
+    public static final double SA_INITIAL_TEMPERATURE = 2.0;            // IN POINTS OF SCORE
+
+    public static final double SA_FINAL_TEMPERATURE = 0.05;
+
+    public static final long SA_SEED = 0x5A17C0011E5L;
+
+    public static final long SA_TIME_BUDGET_MILLIS = 5000;              // TIME THE GUI GIVES THE SIMULATED ANNEALING
+
+    public static final int BEAM_WIDTH = 1024;                          // STATES KEPT PER LEVEL, ABOUT 300 BYTES EACH
+
+    public static final int BEAM_CHUNK_STATES = 64;                     // STATES PER PARALLEL TASK
+
+    public static final long BEAM_TIME_BUDGET_MILLIS = 10000;           // TIME THE GUI GIVES THE BEAM SEARCH
+
+    public static final int LNS_WINDOW_SLICES = 3;                      // Z-SLICES DESTROYED PER REGION
+
+    public static final int LNS_REPAIR_NODE_LIMIT = 20_000;             // NODES OF ONE REPAIR
+
+    public static final int LNS_ROUNDS = 200;
+
+    public static final long LNS_TIME_BUDGET_MILLIS = 5000;             // TIME THE GUI GIVES THE LNS
+
+    public static final int ALL_PARCEL_TYPES = -1;
+
     public static final int INITIAL_DEPTH = 0;
 
     public static final char ALREADY_TRAVERSED_SYMBOL = 'i';
 
     public static final char NOT_TRAVERSED_EMPTY_SYMBOL = ' ';
 
+    public static final boolean BIT_PACKED_OCCUPANCY_GRID = true;
+
     public static final String PRINT_MAX_SCORE_STRING = "Max score is: ";
 
-    public static final int MAX_VOLUME_OF_CONTAINER = 1320;
+    public static final String PRINT_PRUNED_NODES_STRING = "Pruned nodes: ";
+
+    public static final String PRINT_SELECTION_STRING = "Selection: ";
+
+    public static final String PRINT_TRANSPOSITION_HITS_STRING = "Transposition table hits: ";
+
+    public static final String PRINT_FRONTIER_STATES_STRING = "Frontier states: ";
+
+    public static final String PRINT_SYMMETRIC_ROWS_STRING = "Symmetric placements skipped: ";
+
+    public static final String PRINT_SLAB_FILLINGS_STRING = "Slab fillings: ";
+
+    public static final String PRINT_GENERATIONS_STRING = "Generations: ";
+
+    public static final String PRINT_ACCEPTED_MOVES_STRING = "Accepted moves: ";
+
+    public static final String PRINT_BEAM_STATES_STRING = "Expanded states: ";
+
+    public static final String PRINT_DUPLICATE_STATES_STRING = "Duplicate states: ";
+
+    public static final String PRINT_IMPROVEMENTS_STRING = "Improving repairs: ";
+
+    public static final int MAX_VOLUME_OF_CONTAINER = CONTAINER_WIDTH * CONTAINER_HEIGHT * CONTAINER_LENGTH;
 
     public static final int VOLUME_OF_PARCEL_A = 16;
 
@@ -58,14 +157,30 @@ public class Constants {
 
     public static final int PLACED_PARCEL_SUCCESS_CODE = 1;
 
-    public static final int SIZE_OF_PARCEL_TYPES = 6;
+    public static final int SIZE_OF_PARCEL_TYPES = ParcelType.values().length;
 
     public static final int INITIAL_PARCEL_ID = 0;
 
+    public static final int NOT_INDEXED_ORIENTATION_ID = -1;
+
+    public static final int NO_EMPTY_CELL = -1;
+
+    public static final int NO_FITTING_ANCHOR = -1;
+
     public static final String NO_APPROPRIATE_COLOR_MSG = "No appropriate color found!";
 
     public static final String NO_APPROPRIATE_PARCEL_MSG = "No appropriate parcel found!";
 
+    public static final String INVALID_CONTAINER_SIZE_MSG = "The sizes of the container have to be positive!";
+
+    public static final String SLAB_CACHE_NOT_SAVED_MSG = "The slab cache could not be saved to ";
+
+    public static final String CROSS_SECTION_TOO_LARGE_MSG =
+            "The cross-section of the container does not fit in a long!";
+
+    public static final String UNKNOWN_PARCEL_TYPE_MSG =
+            "The starting packing contains a parcel of a type that is not given: ";
+
     public static final String APPLICATION_TITLE = "Knapsack 3D";
 
     public static final int ANIMATION_ROTATION_ANGLE = -20;
@@ -85,5 +200,9 @@ public class Constants {
     public static final double BLOCK_SIZE = 1;
 
     public static final double ANIMATION_DURATION_PER_PARCEL = 0.2;
+
+    public static final int BENCHMARK_WARMUP_RUNS = 5;
+
+    public static final int BENCHMARK_MEASURED_RUNS = 20;
 }
 